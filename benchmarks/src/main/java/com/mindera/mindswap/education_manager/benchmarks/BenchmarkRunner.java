@@ -0,0 +1,52 @@
+package com.mindera.mindswap.education_manager.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of benchmarks.jar.
+ * 
+ * Accepts the regular JMH command line (benchmark regexps, -f, -wi, -i, -p ...)
+ * and defaults to what regression tracking needs: the GC profiler, so that the
+ * allocated bytes per operation are reported next to the timings, and a JSON
+ * result file, jmh-result.json, that can be diffed or fed to a JMH visualiser.
+ * Passing -prof, -rf or -rff overrides these defaults.
+ * 
+ * The class cannot be instantiated as it only contains the main method.
+ */
+public class BenchmarkRunner {
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     * 
+     * @throws IllegalStateException if an attempt is made to instantiate the class
+     */
+    private BenchmarkRunner() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Runs the selected benchmarks.
+     * 
+     * @param args JMH command line arguments
+     * @throws Exception if the command line is invalid or a benchmark fails
+     */
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if (commandLine.getProfilers().isEmpty()) {
+            options.addProfiler(GCProfiler.class);
+        }
+        if (!commandLine.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLine.getResult().hasValue()) {
+            options.result("jmh-result.json");
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,84 @@
+package com.mindera.mindswap.education_manager.benchmarks;
+
+import com.mindera.mindswap.education_manager.converter.CourseConverter;
+import com.mindera.mindswap.education_manager.converter.StudentConverter;
+import com.mindera.mindswap.education_manager.converter.StudentCourseConverter;
+import com.mindera.mindswap.education_manager.dto.CourseDTO;
+import com.mindera.mindswap.education_manager.dto.StudentCourseDTO;
+import com.mindera.mindswap.education_manager.dto.StudentDTO;
+import com.mindera.mindswap.education_manager.model.Course;
+import com.mindera.mindswap.education_manager.model.Student;
+import com.mindera.mindswap.education_manager.model.StudentCourse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of converting one entity to its DTO, the per-element work
+ * of every list endpoint that still goes through the converters.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConverterBenchmark {
+
+    private Student student;
+    private Course course;
+    private StudentCourse enrollment;
+
+    /**
+     * Builds one fully populated entity of each kind.
+     */
+    @Setup
+    public void setUp() {
+        student = new Student();
+        student.setId(42L);
+        student.setFirstName("Ada");
+        student.setLastName("Lovelace");
+        student.setEmail("ada.lovelace@example.com");
+        student.setVersion(3L);
+        student.setUpdatedAt(Instant.now());
+
+        course = new Course();
+        course.setId(7L);
+        course.setName("Analytical Engines");
+        course.setDescription("Programming the first general purpose computer");
+        course.setCapacity(120);
+        course.setEnrolledCount(87L);
+        course.setVersion(5L);
+        course.setUpdatedAt(Instant.now());
+
+        enrollment = new StudentCourse();
+        enrollment.setId(1001L);
+        enrollment.setStudent(student);
+        enrollment.setCourse(course);
+    }
+
+    @Benchmark
+    public StudentDTO studentToDto() {
+        return StudentConverter.toDto(student);
+    }
+
+    @Benchmark
+    public CourseDTO courseToDto() {
+        return CourseConverter.toDto(course);
+    }
+
+    @Benchmark
+    public StudentCourseDTO studentCourseToDto() {
+        return StudentCourseConverter.toDto(enrollment);
+    }
+}
@@ -0,0 +1,94 @@
+package com.mindera.mindswap.education_manager.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.mindera.mindswap.education_manager.dto.CourseDTO;
+import com.mindera.mindswap.education_manager.dto.StudentDTO;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures Jackson serialisation of DTO lists, as written by the list endpoints.
+ * 
+ * The mapper is built with the same builder Spring Boot uses for HTTP responses,
+ * and the JSON is written to a discarding stream so only serialisation is timed.
+ * Besides the time per list, the "elements" secondary result reports the time per
+ * serialised element, which should stay flat from 1k to 1M elements; the GC
+ * profiler's gc.alloc.rate.norm divided by the size gives the bytes per element.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    private ObjectWriter writer;
+    private List<StudentDTO> students;
+    private List<CourseDTO> courses;
+
+    /**
+     * Counts the serialised elements, so JMH also reports the time per element.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Elements {
+
+        public long elements;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            elements = 0;
+        }
+    }
+
+    /**
+     * Builds the mapper and the lists of the benchmarked size.
+     */
+    @Setup
+    public void setUp() {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = mapper.writer();
+        students = new ArrayList<>(size);
+        courses = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            long id = i + 1L;
+            students.add(new StudentDTO(id, "First" + i, "Last" + i, "student" + i + "@example.com"));
+            courses.add(new CourseDTO(id, "Course " + i, "Description of course " + i, 30, (long) (i % 30)));
+        }
+    }
+
+    @Benchmark
+    public void serializeStudents(Elements counter) throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), students);
+        counter.elements += size;
+    }
+
+    @Benchmark
+    public void serializeCourses(Elements counter) throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), courses);
+        counter.elements += size;
+    }
+}
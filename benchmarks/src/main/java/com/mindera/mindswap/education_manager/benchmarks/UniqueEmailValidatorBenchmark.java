@@ -0,0 +1,112 @@
+package com.mindera.mindswap.education_manager.benchmarks;
+
+import com.mindera.mindswap.education_manager.repository.StudentRepository;
+import com.mindera.mindswap.education_manager.service.EmailMembershipFilter;
+import com.mindera.mindswap.education_manager.validation.UniqueEmailValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures UniqueEmailValidator.isValid without a database.
+ * 
+ * The StudentRepository is a stub backed by an in-memory set, so the numbers
+ * cover the validator and the EmailMembershipFilter lookup only: an unknown
+ * email is rejected by the filter alone, while a registered one goes through
+ * the filter, the repository and the building of the constraint violation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UniqueEmailValidatorBenchmark {
+
+    @Param({"100000"})
+    private int registeredEmails;
+
+    private UniqueEmailValidator validator;
+    private ConstraintValidatorContext context;
+    private String[] unknown;
+    private String[] registered;
+    private int next;
+
+    /**
+     * Builds the validator around a stubbed repository and a filter rebuilt from it.
+     */
+    @Setup
+    public void setUp() {
+        Set<String> emails = new HashSet<>();
+        registered = new String[1024];
+        unknown = new String[1024];
+        for (int i = 0; i < registeredEmails; i++) {
+            emails.add("student" + i + "@example.com");
+        }
+        for (int i = 0; i < registered.length; i++) {
+            registered[i] = "student" + (i * 97 % registeredEmails) + "@example.com";
+            unknown[i] = "applicant" + i + "@example.com";
+        }
+
+        StudentRepository repository = stubRepository(emails);
+        EmailMembershipFilter filter = new EmailMembershipFilter(repository, registeredEmails, 0.01);
+        filter.rebuild();
+
+        validator = new UniqueEmailValidator(repository, filter);
+        context = stub(ConstraintValidatorContext.class);
+    }
+
+    @Benchmark
+    public boolean unknownEmail() {
+        return validator.isValid(unknown[next++ & (unknown.length - 1)], context);
+    }
+
+    @Benchmark
+    public boolean registeredEmail() {
+        return validator.isValid(registered[next++ & (registered.length - 1)], context);
+    }
+
+    /**
+     * Stubs the two repository methods the validator and the filter call.
+     */
+    private static StudentRepository stubRepository(Set<String> emails) {
+        InvocationHandler handler = (proxy, method, args) -> switch (method.getName()) {
+            case "existsByEmail" -> emails.contains((String) args[0]);
+            case "streamAllEmails" -> emails.stream();
+            default -> throw new UnsupportedOperationException(method.getName());
+        };
+        return (StudentRepository) Proxy.newProxyInstance(StudentRepository.class.getClassLoader(),
+                new Class<?>[] {StudentRepository.class}, handler);
+    }
+
+    /**
+     * Stubs a fluent interface: methods returning an interface return a stub of it,
+     * booleans return false and everything else null.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            Class<?> returnType = method.getReturnType();
+            if (returnType.isInterface()) {
+                return returnType.isInstance(proxy) ? proxy : stub(returnType);
+            }
+            return returnType == boolean.class ? Boolean.FALSE : null;
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+}
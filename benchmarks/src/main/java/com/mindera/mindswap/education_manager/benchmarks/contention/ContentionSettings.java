@@ -0,0 +1,86 @@
+package com.mindera.mindswap.education_manager.benchmarks.contention;
+
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Settings of a seat contention run, read from {@code --contention.*} command line options.
+ *
+ * @param jdbcUrl Database the application runs against; it is dropped and recreated on every run
+ * @param username Database user, also used to recreate the database
+ * @param password Database password
+ * @param threads Number of threads enrolling at the same time
+ * @param students Number of students enrolling, split evenly over the threads
+ * @param capacity Seat capacity of the hot course
+ * @param stripes Stripe counts measured, in order; the seats are split over that many rows
+ * @param pairs Number of students every thread enrolls in the same-pair and replay rounds
+ * @param warmups Unmeasured rounds before each measured one
+ * @param result File the per-round results are written to, as CSV
+ */
+record ContentionSettings(
+        String jdbcUrl,
+        String username,
+        String password,
+        int threads,
+        int students,
+        int capacity,
+        List<Integer> stripes,
+        int pairs,
+        int warmups,
+        Path result
+) {
+
+    /**
+     * Reads the settings, falling back to a default for every missing option.
+     *
+     * @param args Command line arguments of the benchmark
+     * @return The settings of the run
+     */
+    static ContentionSettings from(String[] args) {
+        SimpleCommandLinePropertySource options = new SimpleCommandLinePropertySource(args);
+        return new ContentionSettings(
+                option(options, "contention.jdbc-url", "jdbc:postgresql://localhost:5432/education_manager_contention"),
+                option(options, "contention.username", "postgres"),
+                option(options, "contention.password", "postgres"),
+                Integer.parseInt(option(options, "contention.threads", "32")),
+                Integer.parseInt(option(options, "contention.students", "2000")),
+                Integer.parseInt(option(options, "contention.capacity", "1000")),
+                Arrays.stream(option(options, "contention.stripes", "1,16").split(","))
+                        .map(String::trim).map(Integer::valueOf).toList(),
+                Integer.parseInt(option(options, "contention.pairs", "100")),
+                Integer.parseInt(option(options, "contention.warmups", "1")),
+                Path.of(option(options, "contention.result", "contention-result.csv"))
+        );
+    }
+
+    /**
+     * R2DBC URL of the same database, for the reactive connection factory.
+     */
+    String r2dbcUrl() {
+        return "r2dbc:" + jdbcUrl.substring("jdbc:".length());
+    }
+
+    /**
+     * URL of the maintenance database on the same server, used to recreate the run database.
+     */
+    String maintenanceUrl() {
+        return jdbcUrl.substring(0, jdbcUrl.lastIndexOf('/') + 1) + "postgres";
+    }
+
+    /**
+     * Name of the run database.
+     */
+    String database() {
+        String name = jdbcUrl.substring(jdbcUrl.lastIndexOf('/') + 1);
+        int parameters = name.indexOf('?');
+        return parameters < 0 ? name : name.substring(0, parameters);
+    }
+
+    private static String option(SimpleCommandLinePropertySource options, String name, String defaultValue) {
+        String value = options.getProperty(name);
+        return value == null ? defaultValue : value;
+    }
+}
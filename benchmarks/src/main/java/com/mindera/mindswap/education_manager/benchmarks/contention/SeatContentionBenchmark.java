@@ -0,0 +1,330 @@
+package com.mindera.mindswap.education_manager.benchmarks.contention;
+
+import com.mindera.mindswap.education_manager.EducationManagerApplication;
+import com.mindera.mindswap.education_manager.dto.CourseDTO;
+import com.mindera.mindswap.education_manager.dto.CreateCourseDTO;
+import com.mindera.mindswap.education_manager.dto.CreateStudentDTO;
+import com.mindera.mindswap.education_manager.repository.EnrollmentIdempotencyKeyRepository;
+import com.mindera.mindswap.education_manager.repository.StudentCourseRepository;
+import com.mindera.mindswap.education_manager.service.CourseService;
+import com.mindera.mindswap.education_manager.service.EnrollmentCounter;
+import com.mindera.mindswap.education_manager.service.StudentService;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+
+/**
+ * Seat contention benchmark: many threads enrolling different students in one
+ * hot course with limited seats, as when registration opens, and many threads
+ * racing to enroll the same students.
+ *
+ * A run:
+ * - Recreates a dedicated database (contention.jdbc-url) and starts the application against it
+ * - Seeds contention.students students and one course of contention.capacity seats
+ * - For every stripe count of contention.stripes, splits the seats over that many rows,
+ *   then has contention.threads threads enroll every student over HTTP at the same time
+ * - Has every thread enroll the same contention.pairs students in a second course, once
+ *   without a key (one request per pair wins, the others get 409 Conflict) and once
+ *   retrying each pair under the same Idempotency-Key (every request replays the enrollment)
+ * - Runs every round contention.warmups times unmeasured and once measured, prints the
+ *   throughput and the p50, p99 and max latencies of each measured round and writes them
+ *   to contention.result
+ *
+ * Other arguments are passed to the application. The process exits with status 1 if
+ * a hot course round enrolled more students than seats, a same-pair round did not enroll
+ * every pair exactly once, or a request failed with another status than 200 OK or 409 Conflict.
+ *
+ * The class cannot be instantiated as it only contains the main method.
+ */
+public class SeatContentionBenchmark {
+
+    private static final long HIGHEST_LATENCY_MICROS = 60_000_000;
+    private static final String FORMAT = "%-10s %8s %9s %9s %9s %9s %9s  %s%n";
+
+    private static final HttpClient CLIENT = HttpClient.newHttpClient();
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     *
+     * @throws IllegalStateException if an attempt is made to instantiate the class
+     */
+    private SeatContentionBenchmark() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * One enrollment request of a round.
+     */
+    @FunctionalInterface
+    private interface Request {
+
+        /**
+         * Sends the request.
+         *
+         * @return The HTTP status, or -1 if the request got no response
+         */
+        int send() throws InterruptedException;
+    }
+
+    /**
+     * Results of a measured round.
+     *
+     * @param name Round name: the stripe count of a hot course round, same-pair or replay
+     * @param elapsedMillis Wall clock time until every thread finished
+     * @param latencies Latency of every request, in microseconds
+     * @param statuses Number of responses per HTTP status, -1 for requests that got no response
+     * @param enrollments Number of enrollment rows after the round
+     */
+    private record Round(String name, long elapsedMillis, Histogram latencies, Map<Integer, Long> statuses,
+                         long enrollments) {
+
+        long succeeded() {
+            return statuses.getOrDefault(200, 0L);
+        }
+
+        long errors() {
+            return statuses.entrySet().stream()
+                    .filter(entry -> entry.getKey() != 200 && entry.getKey() != 409)
+                    .mapToLong(Map.Entry::getValue)
+                    .sum();
+        }
+
+        double throughput() {
+            return latencies.getTotalCount() * 1000.0 / Math.max(elapsedMillis, 1);
+        }
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args contention.* options and application arguments
+     * @throws Exception if the database cannot be recreated or the results cannot be written
+     */
+    public static void main(String[] args) throws Exception {
+        ContentionSettings settings = ContentionSettings.from(args);
+        recreateDatabase(settings);
+
+        List<String> applicationArgs = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.main.web-application-type=servlet",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.com.mindera.mindswap=WARN",
+                "--spring.datasource.url=" + settings.jdbcUrl(),
+                "--spring.datasource.username=" + settings.username(),
+                "--spring.datasource.password=" + settings.password(),
+                "--spring.r2dbc.url=" + settings.r2dbcUrl(),
+                "--spring.r2dbc.username=" + settings.username(),
+                "--spring.r2dbc.password=" + settings.password()));
+        Arrays.stream(args).filter(arg -> !arg.startsWith("--contention.")).forEach(applicationArgs::add);
+
+        List<Round> rounds = new ArrayList<>();
+        int pairCount = Math.min(settings.pairs(), settings.students());
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(EducationManagerApplication.class)
+                .run(applicationArgs.toArray(new String[0]))) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            StudentCourseRepository studentCourseRepository = context.getBean(StudentCourseRepository.class);
+            EnrollmentIdempotencyKeyRepository idempotencyKeyRepository =
+                    context.getBean(EnrollmentIdempotencyKeyRepository.class);
+            EnrollmentCounter enrollmentCounter = context.getBean(EnrollmentCounter.class);
+            List<Long> studentIds = seedStudents(context.getBean(StudentService.class), settings.students());
+            CourseService courseService = context.getBean(CourseService.class);
+            Long courseId = seedCourse(courseService, "Hot Course", settings.capacity());
+            Long pairCourseId = seedCourse(courseService, "Pair Course", settings.pairs());
+            int threads = settings.threads();
+
+            for (int stripes : settings.stripes()) {
+                Round round = null;
+                for (int i = 0; i <= settings.warmups(); i++) {
+                    studentCourseRepository.deleteAll();
+                    enrollmentCounter.initialize(courseId, settings.capacity(), stripes);
+                    round = measure(String.valueOf(stripes), threads, studentCourseRepository, thread -> {
+                        List<Request> requests = new ArrayList<>();
+                        for (int s = thread; s < studentIds.size(); s += threads) {
+                            Long studentId = studentIds.get(s);
+                            requests.add(() -> enroll(port, studentId, courseId, null));
+                        }
+                        return requests;
+                    });
+                }
+                rounds.add(round);
+                System.out.printf("Measured %d enrollments with %d stripe(s)%n", studentIds.size(), stripes);
+            }
+
+            List<Long> pairs = studentIds.subList(0, pairCount);
+            for (String name : List.of("same-pair", "replay")) {
+                Round round = null;
+                for (int i = 0; i <= settings.warmups(); i++) {
+                    idempotencyKeyRepository.deleteAll();
+                    studentCourseRepository.deleteAll();
+                    enrollmentCounter.initialize(pairCourseId, pairCount);
+                    round = measure(name, threads, studentCourseRepository, thread -> pairs.stream()
+                            .<Request>map(studentId -> () -> enroll(port, studentId, pairCourseId,
+                                    "replay".equals(name) ? "replay-" + studentId : null))
+                            .toList());
+                }
+                rounds.add(round);
+                System.out.printf("Measured %d %s enrollments of %d pairs%n", pairs.size() * threads, name,
+                        pairs.size());
+            }
+
+        }
+
+        System.out.printf(FORMAT, "round", "count", "req/s", "p50 ms", "p99 ms", "max ms", "succeeded", "statuses");
+        rounds.forEach(round -> System.out.printf(FORMAT, round.name(), round.latencies().getTotalCount(),
+                format(round.throughput()), millis(round.latencies(), 50), millis(round.latencies(), 99),
+                format(round.latencies().getMaxValue() / 1000.0), round.succeeded(), round.statuses()));
+        writeCsv(settings, rounds);
+        System.out.printf("Results written to %s%n", settings.result().toAbsolutePath());
+
+        boolean consistent = true;
+        for (Round round : rounds) {
+            boolean hotCourse = settings.stripes().stream().map(String::valueOf).anyMatch(round.name()::equals);
+            if (hotCourse ? round.enrollments() > settings.capacity() : round.enrollments() != pairCount) {
+                System.out.printf("Round %s left %d enrollments%n", round.name(), round.enrollments());
+                consistent = false;
+            }
+        }
+        System.exit(consistent && rounds.stream().allMatch(round -> round.errors() == 0) ? 0 : 1);
+    }
+
+    /**
+     * Sends the requests of every thread from that many threads released at the same
+     * time, each thread going through its own requests in order.
+     *
+     * @param requestsOfThread Requests sent by the given thread
+     */
+    private static Round measure(String name, int threads, StudentCourseRepository studentCourseRepository,
+                                 IntFunction<List<Request>> requestsOfThread) throws Exception {
+        Histogram latencies = new ConcurrentHistogram(HIGHEST_LATENCY_MICROS, 3);
+        Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                List<Request> requests = requestsOfThread.apply(t);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (Request request : requests) {
+                        long begin = System.nanoTime();
+                        int status = request.send();
+                        latencies.recordValue(Math.min((System.nanoTime() - begin) / 1000, HIGHEST_LATENCY_MICROS));
+                        statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+                    }
+                    return null;
+                }));
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            long elapsedMillis = (System.nanoTime() - begin) / 1_000_000;
+
+            Map<Integer, Long> counts = new TreeMap<>();
+            statuses.forEach((status, count) -> counts.put(status, count.sum()));
+            return new Round(name, elapsedMillis, latencies, counts, studentCourseRepository.count());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Sends one enrollment request.
+     *
+     * @param idempotencyKey Idempotency-Key header of the request, or null to send none
+     * @return The HTTP status, or -1 if the request got no response
+     */
+    private static int enroll(int port, Long studentId, Long courseId, String idempotencyKey)
+            throws InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(
+                        "http://localhost:" + port + "/api/v1/students/" + studentId + "/courses/" + courseId))
+                .POST(HttpRequest.BodyPublishers.noBody());
+        if (idempotencyKey != null) {
+            request.header("Idempotency-Key", idempotencyKey);
+        }
+        try {
+            return CLIENT.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static List<Long> seedStudents(StudentService studentService, int count) {
+        List<Long> studentIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            CreateStudentDTO dto = new CreateStudentDTO();
+            dto.setFirstName("Student" + i);
+            dto.setLastName("Contended");
+            dto.setEmail("contended" + i + "@example.com");
+            studentIds.add(studentService.createStudent(dto).getId());
+        }
+        return studentIds;
+    }
+
+    private static Long seedCourse(CourseService courseService, String name, int capacity) {
+        CreateCourseDTO dto = new CreateCourseDTO();
+        dto.setName(name);
+        dto.setDescription(name + " Description");
+        dto.setCapacity(capacity);
+        CourseDTO course = courseService.createCourse(dto);
+        return course.getId();
+    }
+
+    private static void writeCsv(ContentionSettings settings, List<Round> rounds) throws IOException {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(settings.result()))) {
+            writer.println("round,count,throughput,p50_ms,p99_ms,max_ms,succeeded,enrollments,errors");
+            rounds.forEach(round -> writer.printf("%s,%d,%s,%s,%s,%s,%d,%d,%d%n", round.name(),
+                    round.latencies().getTotalCount(), format(round.throughput()), millis(round.latencies(), 50),
+                    millis(round.latencies(), 99), format(round.latencies().getMaxValue() / 1000.0),
+                    round.succeeded(), round.enrollments(), round.errors()));
+        }
+    }
+
+    private static String millis(Histogram latencies, double percentile) {
+        return format(latencies.getValueAtPercentile(percentile) / 1000.0);
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+
+    /**
+     * Drops and creates the run database, so every run starts from the same state.
+     */
+    private static void recreateDatabase(ContentionSettings settings) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(settings.maintenanceUrl(), settings.username(),
+                settings.password());
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP DATABASE IF EXISTS \"" + settings.database() + "\" WITH (FORCE)");
+            statement.execute("CREATE DATABASE \"" + settings.database() + "\"");
+        }
+    }
+}
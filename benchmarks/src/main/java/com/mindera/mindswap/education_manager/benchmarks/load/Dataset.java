@@ -0,0 +1,14 @@
+package com.mindera.mindswap.education_manager.benchmarks.load;
+
+import java.util.List;
+
+/**
+ * Identifiers of the seeded students and courses. Courses are listed by
+ * popularity, the most enrolled first.
+ * 
+ * @param studentIds Identifiers of the seeded students
+ * @param courseIds Identifiers of the seeded courses, by popularity
+ * @param enrollments Number of seeded enrollments
+ */
+record Dataset(List<Long> studentIds, List<Long> courseIds, int enrollments) {
+}
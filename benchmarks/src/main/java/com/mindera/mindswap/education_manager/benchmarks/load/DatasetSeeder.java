@@ -0,0 +1,105 @@
+package com.mindera.mindswap.education_manager.benchmarks.load;
+
+import com.mindera.mindswap.education_manager.dto.BulkItemResultDTO;
+import com.mindera.mindswap.education_manager.dto.BulkResultDTO;
+import com.mindera.mindswap.education_manager.dto.CreateCourseDTO;
+import com.mindera.mindswap.education_manager.dto.CreateStudentDTO;
+import com.mindera.mindswap.education_manager.dto.EnrollmentRequestDTO;
+import com.mindera.mindswap.education_manager.service.CourseService;
+import com.mindera.mindswap.education_manager.service.StudentService;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Seeds the synthetic dataset through the application services, so seat
+ * counters, the email filter and the caches see the same writes as in
+ * production.
+ * 
+ * Every student is enrolled in between 1 and 2 * coursesPerStudent - 1
+ * distinct courses, drawn from a Zipf distribution of course popularity.
+ * Course names and descriptions mention a few of the {@link #TOPICS}, so
+ * keyword searches match a realistic share of the catalog.
+ */
+final class DatasetSeeder {
+
+    /**
+     * Words the seeded courses are about, also used as search keywords by the workload.
+     */
+    static final List<String> TOPICS = List.of(
+            "algebra", "anatomy", "architecture", "astronomy", "biology", "calculus", "chemistry",
+            "compilers", "databases", "design", "ecology", "economics", "electronics", "ethics",
+            "finance", "genetics", "geography", "geology", "geometry", "history", "journalism",
+            "law", "linguistics", "literature", "logic", "marketing", "mechanics", "music",
+            "networks", "neuroscience", "nutrition", "optics", "painting", "philosophy",
+            "photography", "physics", "poetry", "politics", "psychology", "robotics", "security",
+            "sociology", "statistics", "theatre", "thermodynamics", "topology", "typography");
+
+    private final StudentService studentService;
+    private final CourseService courseService;
+    private final LoadSettings settings;
+
+    DatasetSeeder(StudentService studentService, CourseService courseService, LoadSettings settings) {
+        this.studentService = studentService;
+        this.courseService = courseService;
+        this.settings = settings;
+    }
+
+    /**
+     * Creates the courses, the students and their enrollments.
+     * 
+     * @return The identifiers of what was created
+     */
+    Dataset seed() {
+        List<Long> courseIds = new ArrayList<>(settings.courses());
+        for (int i = 0; i < settings.courses(); i++) {
+            CreateCourseDTO course = new CreateCourseDTO();
+            String topic = TOPICS.get(i % TOPICS.size());
+            String related = TOPICS.get((i * 7 + 3) % TOPICS.size());
+            course.setName("Course " + i + " " + topic);
+            course.setDescription("Synthetic course " + i + " on " + topic + " and " + related
+                    + " of the load dataset");
+            courseIds.add(courseService.createCourse(course).getId());
+        }
+
+        BulkResultDTO students = studentService.createStudents(IntStream.range(0, settings.students())
+                .mapToObj(DatasetSeeder::student)
+                .iterator());
+        List<Long> studentIds = createdIds(students);
+
+        Random random = new Random(settings.seed());
+        ZipfDistribution popularity = new ZipfDistribution(courseIds.size(), settings.popularitySkew());
+        int maxCourses = Math.min(2 * settings.coursesPerStudent() - 1, courseIds.size());
+        List<EnrollmentRequestDTO> enrollments = new ArrayList<>();
+        for (Long studentId : studentIds) {
+            int count = 1 + random.nextInt(maxCourses);
+            Set<Long> courses = new LinkedHashSet<>();
+            while (courses.size() < count) {
+                courses.add(courseIds.get(popularity.sample(random)));
+            }
+            courses.forEach(courseId -> enrollments.add(new EnrollmentRequestDTO(studentId, courseId)));
+        }
+        BulkResultDTO enrolled = studentService.enrollStudentsInCourses(enrollments.iterator());
+
+        return new Dataset(studentIds, courseIds, enrolled.getCreated());
+    }
+
+    private static CreateStudentDTO student(int i) {
+        CreateStudentDTO student = new CreateStudentDTO();
+        student.setFirstName("Student" + i);
+        student.setLastName("Seeded" + (char) ('A' + i % 26));
+        student.setEmail("seeded" + i + "@example.com");
+        return student;
+    }
+
+    private static List<Long> createdIds(BulkResultDTO result) {
+        return result.getItems().stream()
+                .filter(item -> item.getStatus() == BulkItemResultDTO.Status.CREATED)
+                .map(BulkItemResultDTO::getId)
+                .toList();
+    }
+}
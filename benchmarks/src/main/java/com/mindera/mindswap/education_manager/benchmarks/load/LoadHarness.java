@@ -0,0 +1,105 @@
+package com.mindera.mindswap.education_manager.benchmarks.load;
+
+import com.mindera.mindswap.education_manager.EducationManagerApplication;
+import com.mindera.mindswap.education_manager.service.CourseService;
+import com.mindera.mindswap.education_manager.service.StudentService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * End-to-end load harness for the REST API.
+ * 
+ * A run:
+ * - Recreates a dedicated database (load.jdbc-url) on the local PostgreSQL server
+ * - Starts the application against it on a random port
+ * - Seeds load.students students, load.courses courses and their enrollments
+ * - Sends the Workload mix at load.rate requests per second, first for load.warmup, then for load.duration
+ * - Prints the throughput and the p50, p99 and p999 latencies of the measured phase and writes them to load.result
+ * 
+ * The same seed gives the same dataset and request mix, so two runs differ only by
+ * the build under test. Other arguments are passed to the application, e.g.
+ * --spring.threads.virtual.enabled=true. The process exits with status 1 if any
+ * request failed with a 5xx status or got no response.
+ * 
+ * The class cannot be instantiated as it only contains the main method.
+ */
+public class LoadHarness {
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     * 
+     * @throws IllegalStateException if an attempt is made to instantiate the class
+     */
+    private LoadHarness() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Runs the harness.
+     * 
+     * @param args load.* options and application arguments
+     * @throws Exception if the database cannot be recreated or the results cannot be written
+     */
+    public static void main(String[] args) throws Exception {
+        LoadSettings settings = LoadSettings.from(args);
+        recreateDatabase(settings);
+
+        List<String> applicationArgs = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.main.web-application-type=servlet",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.com.mindera.mindswap=WARN",
+                "--spring.datasource.url=" + settings.jdbcUrl(),
+                "--spring.datasource.username=" + settings.username(),
+                "--spring.datasource.password=" + settings.password(),
+                "--spring.r2dbc.url=" + settings.r2dbcUrl(),
+                "--spring.r2dbc.username=" + settings.username(),
+                "--spring.r2dbc.password=" + settings.password()));
+        Arrays.stream(args).filter(arg -> !arg.startsWith("--load.")).forEach(applicationArgs::add);
+
+        LoadReport report;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(EducationManagerApplication.class)
+                .run(applicationArgs.toArray(new String[0]))) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            long seeding = System.nanoTime();
+            Dataset dataset = new DatasetSeeder(context.getBean(StudentService.class),
+                    context.getBean(CourseService.class), settings).seed();
+            System.out.printf("Seeded %d students, %d courses and %d enrollments in %d ms%n",
+                    dataset.studentIds().size(), dataset.courseIds().size(), dataset.enrollments(),
+                    (System.nanoTime() - seeding) / 1_000_000);
+
+            Workload workload = new Workload("http://localhost:" + port + "/api/v1", dataset,
+                    settings.popularitySkew(), settings.seed());
+            OpenLoopGenerator generator = new OpenLoopGenerator();
+            generator.run(workload, settings.rate(), settings.warmup());
+            report = generator.run(workload, settings.rate(), settings.duration());
+        }
+
+        report.print(System.out);
+        report.writeCsv(settings.result());
+        System.out.printf("Results written to %s%n", settings.result().toAbsolutePath());
+        System.exit(report.errors() == 0 ? 0 : 1);
+    }
+
+    /**
+     * Drops and creates the run database, so every run starts from the same state.
+     */
+    private static void recreateDatabase(LoadSettings settings) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(settings.maintenanceUrl(), settings.username(),
+                settings.password());
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP DATABASE IF EXISTS \"" + settings.database() + "\" WITH (FORCE)");
+            statement.execute("CREATE DATABASE \"" + settings.database() + "\"");
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.mindera.mindswap.education_manager.benchmarks.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Results of a measured run: throughput and latency percentiles of every
+ * operation and of the whole mix.
+ * 
+ * Latencies are reported in milliseconds. A status of -1 counts requests that
+ * got no response (connection failure or timeout).
+ */
+final class LoadReport {
+
+    private static final String FORMAT = "%-36s %8s %9s %9s %9s %9s %9s  %s%n";
+
+    private final double targetRate;
+    private final Duration elapsed;
+    private final Map<String, OpenLoopGenerator.OperationStats> operations;
+    private final OpenLoopGenerator.OperationStats total = new OpenLoopGenerator.OperationStats();
+
+    LoadReport(double targetRate, Duration elapsed, Map<String, OpenLoopGenerator.OperationStats> operations) {
+        this.targetRate = targetRate;
+        this.elapsed = elapsed;
+        this.operations = operations;
+        operations.values().forEach(stats -> {
+            total.latencies.add(stats.latencies);
+            stats.statuses.forEach((status, count) ->
+                    total.statuses.computeIfAbsent(status, s -> new LongAdder()).add(count.sum()));
+        });
+    }
+
+    /**
+     * Number of requests that failed with a 5xx status or got no response.
+     */
+    long errors() {
+        return errors(total);
+    }
+
+    /**
+     * Prints one line per operation and a total line.
+     * 
+     * @param out Stream to print to
+     */
+    void print(PrintStream out) {
+        out.printf("Target %.0f req/s, achieved %.1f req/s over %d s, %d errors%n",
+                targetRate, throughput(total.latencies), elapsed.toSeconds(), errors());
+        out.printf(FORMAT, "operation", "count", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "statuses");
+        operations.forEach((name, stats) -> print(out, name, stats));
+        print(out, "total", total);
+    }
+
+    /**
+     * Writes one CSV row per operation and a total row.
+     * 
+     * @param file File to write
+     * @throws IOException if the file cannot be written
+     */
+    void writeCsv(Path file) throws IOException {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(file))) {
+            writer.println("operation,count,throughput,p50_ms,p99_ms,p999_ms,max_ms,errors");
+            operations.forEach((name, stats) -> writeCsv(writer, name, stats));
+            writeCsv(writer, "total", total);
+        }
+    }
+
+    private void print(PrintStream out, String name, OpenLoopGenerator.OperationStats stats) {
+        Histogram latencies = stats.latencies;
+        out.printf(FORMAT, name, latencies.getTotalCount(), format(throughput(latencies)),
+                format(percentile(latencies, 50)), format(percentile(latencies, 99)),
+                format(percentile(latencies, 99.9)), format(latencies.getMaxValue() / 1000.0),
+                new TreeMap<>(stats.statuses));
+    }
+
+    private void writeCsv(PrintWriter writer, String name, OpenLoopGenerator.OperationStats stats) {
+        Histogram latencies = stats.latencies;
+        writer.printf("\"%s\",%d,%s,%s,%s,%s,%s,%d%n", name, latencies.getTotalCount(),
+                format(throughput(latencies)), format(percentile(latencies, 50)), format(percentile(latencies, 99)),
+                format(percentile(latencies, 99.9)), format(latencies.getMaxValue() / 1000.0), errors(stats));
+    }
+
+    private static long errors(OpenLoopGenerator.OperationStats stats) {
+        return stats.statuses.entrySet().stream()
+                .filter(entry -> entry.getKey() < 0 || entry.getKey() >= 500)
+                .mapToLong(entry -> entry.getValue().sum())
+                .sum();
+    }
+
+    private double throughput(Histogram latencies) {
+        return latencies.getTotalCount() * 1000.0 / Math.max(elapsed.toMillis(), 1);
+    }
+
+    private static double percentile(Histogram latencies, double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+}
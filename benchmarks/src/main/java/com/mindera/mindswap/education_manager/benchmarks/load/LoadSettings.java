@@ -0,0 +1,91 @@
+package com.mindera.mindswap.education_manager.benchmarks.load;
+
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings of a load run, read from {@code --load.*} command line options.
+ * 
+ * @param jdbcUrl Database the application runs against; it is dropped and recreated on every run
+ * @param username Database user, also used to recreate the database
+ * @param password Database password
+ * @param students Number of students seeded
+ * @param courses Number of courses seeded
+ * @param coursesPerStudent Average number of courses a seeded student is enrolled in
+ * @param popularitySkew Zipf exponent of course popularity; 0 spreads enrollments evenly
+ * @param rate Requests per second sent by the open-loop generator
+ * @param warmup How long the workload runs before measuring starts
+ * @param duration How long the workload is measured
+ * @param seed Seed of the dataset and of the request mix, so runs are repeatable
+ * @param result File the per-operation results are written to, as CSV
+ */
+record LoadSettings(
+        String jdbcUrl,
+        String username,
+        String password,
+        int students,
+        int courses,
+        int coursesPerStudent,
+        double popularitySkew,
+        double rate,
+        Duration warmup,
+        Duration duration,
+        long seed,
+        Path result
+) {
+
+    /**
+     * Reads the settings, falling back to a default for every missing option.
+     * 
+     * @param args Command line arguments of the harness
+     * @return The settings of the run
+     */
+    static LoadSettings from(String[] args) {
+        SimpleCommandLinePropertySource options = new SimpleCommandLinePropertySource(args);
+        return new LoadSettings(
+                option(options, "load.jdbc-url", "jdbc:postgresql://localhost:5432/education_manager_load"),
+                option(options, "load.username", "postgres"),
+                option(options, "load.password", "postgres"),
+                Integer.parseInt(option(options, "load.students", "10000")),
+                Integer.parseInt(option(options, "load.courses", "200")),
+                Integer.parseInt(option(options, "load.courses-per-student", "4")),
+                Double.parseDouble(option(options, "load.popularity-skew", "1.0")),
+                Double.parseDouble(option(options, "load.rate", "200")),
+                DurationStyle.detectAndParse(option(options, "load.warmup", "30s")),
+                DurationStyle.detectAndParse(option(options, "load.duration", "60s")),
+                Long.parseLong(option(options, "load.seed", "42")),
+                Path.of(option(options, "load.result", "load-result.csv"))
+        );
+    }
+
+    /**
+     * R2DBC URL of the same database, for the reactive connection factory.
+     */
+    String r2dbcUrl() {
+        return "r2dbc:" + jdbcUrl.substring("jdbc:".length());
+    }
+
+    /**
+     * URL of the maintenance database on the same server, used to recreate the run database.
+     */
+    String maintenanceUrl() {
+        return jdbcUrl.substring(0, jdbcUrl.lastIndexOf('/') + 1) + "postgres";
+    }
+
+    /**
+     * Name of the run database.
+     */
+    String database() {
+        String name = jdbcUrl.substring(jdbcUrl.lastIndexOf('/') + 1);
+        int parameters = name.indexOf('?');
+        return parameters < 0 ? name : name.substring(0, parameters);
+    }
+
+    private static String option(SimpleCommandLinePropertySource options, String name, String defaultValue) {
+        String value = options.getProperty(name);
+        return value == null ? defaultValue : value;
+    }
+}
@@ -0,0 +1,97 @@
+package com.mindera.mindswap.education_manager.benchmarks.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator: requests are sent on a fixed schedule, whether or
+ * not earlier responses have arrived.
+ * 
+ * Every latency is measured from the time the request was scheduled to be sent,
+ * not from the time it actually was. If the server stalls, the requests that
+ * queue up behind the stall are charged for the wait. A closed-loop client
+ * would just send fewer of them and hide the stall. This is the coordinated
+ * omission correction.
+ */
+final class OpenLoopGenerator {
+
+    private static final long HIGHEST_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    /**
+     * Latencies and response statuses of one operation.
+     */
+    static final class OperationStats {
+
+        final Histogram latencies = new ConcurrentHistogram(HIGHEST_LATENCY_MICROS, 3);
+        final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+        void record(long latencyMicros, int status) {
+            latencies.recordValue(Math.min(latencyMicros, HIGHEST_LATENCY_MICROS));
+            statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Runs the workload at the given rate and waits for every response.
+     * 
+     * @param workload The request mix
+     * @param rate Requests per second
+     * @param duration How long requests are sent
+     * @return The statistics of every operation, in the workload's order
+         */
+    LoadReport run(Workload workload, double rate, Duration duration) {
+        Map<String, OperationStats> stats = new LinkedHashMap<>();
+        workload.operationNames().forEach(name -> stats.put(name, new OperationStats()));
+        List<CompletableFuture<Void>> responses = new ArrayList<>();
+
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long sent = 0;
+        for (long intended = start; intended < end; intended = start + ++sent * interval) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Workload.Request request = workload.next();
+            OperationStats operation = stats.get(request.operation());
+            long scheduled = intended;
+            responses.add(httpClient.sendAsync(request.request(), HttpResponse.BodyHandlers.ofByteArray())
+                    .handle((response, failure) -> {
+                        long latency = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduled);
+                        int status = failure == null ? response.statusCode() : -1;
+                        operation.record(latency, status);
+                        if (status >= 200 && status < 300) {
+                            request.onSuccess().accept(response);
+                        }
+                        return null;
+                    }));
+        }
+        long sendingEnded = System.nanoTime();
+        try {
+            CompletableFuture.allOf(responses.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Could not process a response", e.getCause());
+        }
+        return new LoadReport(rate, Duration.ofNanos(sendingEnded - start), stats);
+    }
+}
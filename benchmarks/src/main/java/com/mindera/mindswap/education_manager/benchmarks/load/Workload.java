@@ -0,0 +1,244 @@
+package com.mindera.mindswap.education_manager.benchmarks.load;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mindera.mindswap.education_manager.dto.CreateCourseDTO;
+import com.mindera.mindswap.education_manager.dto.CreateStudentDTO;
+import com.mindera.mindswap.education_manager.dto.EnrollmentRequestDTO;
+import com.mindera.mindswap.education_manager.dto.UpdateCourseDTO;
+import com.mindera.mindswap.education_manager.dto.UpdateStudentDTO;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Weighted mix of requests over every endpoint of the servlet API.
+ * 
+ * Reads dominate, as they do in production. Reads pick students uniformly and
+ * courses by popularity. Deletes and unenrollments only target students,
+ * courses and enrollments created during the run, so the seeded dataset keeps
+ * its shape however long the run is. When there is nothing to delete yet,
+ * another operation is drawn.
+ * 
+ * {@link #next()} is only called by the generator thread; response callbacks
+ * run on the HTTP client threads and only touch the concurrent queues.
+ */
+final class Workload {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+    private static final int BULK_SIZE = 20;
+
+    private final String baseUrl;
+    private final Dataset dataset;
+    private final Random random;
+    private final ZipfDistribution popularity;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Operation> operations = new ArrayList<>();
+    private final double totalWeight;
+
+    private final ConcurrentLinkedDeque<Long> createdStudents = new ConcurrentLinkedDeque<>();
+    private final ConcurrentLinkedDeque<Long> createdCourses = new ConcurrentLinkedDeque<>();
+    private final ConcurrentLinkedDeque<long[]> createdEnrollments = new ConcurrentLinkedDeque<>();
+    private long sequence;
+
+    /**
+     * One request ready to be sent.
+     * 
+     * @param operation Name the result is reported under
+     * @param request The HTTP request
+     * @param onSuccess Called with 2xx responses, to remember what was created
+     */
+    record Request(String operation, HttpRequest request, Consumer<HttpResponse<byte[]>> onSuccess) {
+    }
+
+    private record Operation(String name, double weight, Supplier<Request> builder) {
+    }
+
+    Workload(String baseUrl, Dataset dataset, double popularitySkew, long seed) {
+        this.baseUrl = baseUrl;
+        this.dataset = dataset;
+        this.random = new Random(seed);
+        this.popularity = new ZipfDistribution(dataset.courseIds().size(), popularitySkew);
+
+        add("GET /students", 8, () -> get("GET /students", random.nextBoolean()
+                ? "/students?limit=50"
+                : "/students?limit=50&sort=lastName&lastName=Seeded" + (char) ('A' + random.nextInt(26))));
+        add("GET /students/search", 4, () -> get("GET /students/search", random.nextBoolean()
+                ? "/students/search?email=Seeded" + random.nextInt(dataset.studentIds().size()) + "@Example.com"
+                : "/students/search?limit=20&contains=dent" + random.nextInt(1000)));
+        add("GET /students/{id}", 20, () -> get("GET /students/{id}", "/students/" + anyStudent()));
+        add("GET /students/{id}/courses", 12, () -> get("GET /students/{id}/courses",
+                "/students/" + anyStudent() + "/courses"));
+        add("GET /students/export", 0.2, () -> get("GET /students/export", "/students/export"));
+        add("POST /students", 4, () -> send("POST /students", "POST", "/students", newStudent(),
+                response -> createdStudents.add(id(response))));
+        add("POST /students/bulk", 0.5, () -> {
+            List<CreateStudentDTO> students = new ArrayList<>();
+            for (int i = 0; i < BULK_SIZE; i++) {
+                students.add(newStudent());
+            }
+            return send("POST /students/bulk", "POST", "/students/bulk", students, response -> {
+                for (JsonNode item : json(response).get("items")) {
+                    if (item.hasNonNull("id")) {
+                        createdStudents.add(item.get("id").asLong());
+                    }
+                }
+            });
+        });
+        add("PUT /students/{id}", 3, () -> {
+            UpdateStudentDTO update = new UpdateStudentDTO();
+            update.setFirstName("Updated" + random.nextInt(1000));
+            return send("PUT /students/{id}", "PUT", "/students/" + anyStudent(), update, response -> { });
+        });
+        add("DELETE /students/{id}", 2, () -> {
+            Long id = createdStudents.pollFirst();
+            return id == null ? null : send("DELETE /students/{id}", "DELETE", "/students/" + id, null,
+                    response -> { });
+        });
+        add("POST /students/{id}/courses/{id}", 5, () -> {
+            long studentId = random.nextBoolean() && !createdStudents.isEmpty()
+                    ? createdStudents.peekLast()
+                    : anyStudent();
+            long courseId = anyCourse();
+            return send("POST /students/{id}/courses/{id}", "POST",
+                    "/students/" + studentId + "/courses/" + courseId, null,
+                    response -> createdEnrollments.add(new long[] {studentId, courseId}));
+        });
+        add("DELETE /students/{id}/courses/{id}", 2, () -> {
+            long[] enrollment = createdEnrollments.pollFirst();
+            return enrollment == null ? null : send("DELETE /students/{id}/courses/{id}", "DELETE",
+                    "/students/" + enrollment[0] + "/courses/" + enrollment[1], null, response -> { });
+        });
+        add("POST /students/enrollments/bulk", 0.5, () -> {
+            List<EnrollmentRequestDTO> enrollments = new ArrayList<>();
+            for (int i = 0; i < BULK_SIZE; i++) {
+                enrollments.add(new EnrollmentRequestDTO(anyStudent(), anyCourse()));
+            }
+            return send("POST /students/enrollments/bulk", "POST", "/students/enrollments/bulk", enrollments,
+                    response -> { });
+        });
+        add("GET /courses", 8, () -> get("GET /courses", random.nextBoolean()
+                ? "/courses?limit=50"
+                : "/courses?limit=50&name=Course%20" + random.nextInt(10)));
+        add("GET /courses/search", 6, () -> get("GET /courses/search", "/courses/search?limit=20&q="
+                + anyTopic() + (random.nextBoolean() ? "" : "%20" + anyTopic())));
+        add("GET /courses/{id}", 15, () -> get("GET /courses/{id}", "/courses/" + anyCourse()));
+        add("GET /courses/{id}/students", 8, () -> get("GET /courses/{id}/students",
+                "/courses/" + anyCourse() + "/students?limit=50"));
+        add("POST /courses", 0.3, () -> {
+            CreateCourseDTO course = new CreateCourseDTO();
+            course.setName("Load course " + ++sequence);
+            course.setDescription("Course created by the load harness");
+            return send("POST /courses", "POST", "/courses", course, response -> createdCourses.add(id(response)));
+        });
+        add("PUT /courses/{id}", 0.5, () -> {
+            UpdateCourseDTO update = new UpdateCourseDTO();
+            update.setDescription("Updated by the load harness " + random.nextInt(1000));
+            return send("PUT /courses/{id}", "PUT", "/courses/" + anyCourse(), update, response -> { });
+        });
+        add("DELETE /courses/{id}", 0.3, () -> {
+            Long id = createdCourses.pollFirst();
+            return id == null ? null : send("DELETE /courses/{id}", "DELETE", "/courses/" + id, null,
+                    response -> { });
+        });
+        add("GET /cache/statistics", 0.2, () -> get("GET /cache/statistics", "/cache/statistics"));
+
+        totalWeight = operations.stream().mapToDouble(Operation::weight).sum();
+    }
+
+    /**
+     * Draws the next request of the mix.
+     * 
+     * @return The request to send
+     */
+    Request next() {
+        while (true) {
+            double pick = random.nextDouble() * totalWeight;
+            for (Operation operation : operations) {
+                pick -= operation.weight();
+                if (pick < 0) {
+                    Request request = operation.builder().get();
+                    if (request != null) {
+                        return request;
+                    }
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Names of every operation of the mix, in declaration order.
+     */
+    List<String> operationNames() {
+        return operations.stream().map(Operation::name).toList();
+    }
+
+    private void add(String name, double weight, Supplier<Request> builder) {
+        operations.add(new Operation(name, weight, builder));
+    }
+
+    private long anyStudent() {
+        return dataset.studentIds().get(random.nextInt(dataset.studentIds().size()));
+    }
+
+    private long anyCourse() {
+        return dataset.courseIds().get(popularity.sample(random));
+    }
+
+    private String anyTopic() {
+        return DatasetSeeder.TOPICS.get(random.nextInt(DatasetSeeder.TOPICS.size()));
+    }
+
+    private CreateStudentDTO newStudent() {
+        long n = ++sequence;
+        CreateStudentDTO student = new CreateStudentDTO();
+        student.setFirstName("Load" + n);
+        student.setLastName("Generated");
+        student.setEmail("load" + n + "@example.com");
+        return student;
+    }
+
+    private Request get(String operation, String path) {
+        return send(operation, "GET", path, null, response -> { });
+    }
+
+    private Request send(String operation, String method, String path, Object body,
+                         Consumer<HttpResponse<byte[]>> onSuccess) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT);
+        if (body == null) {
+            builder.method(method, HttpRequest.BodyPublishers.noBody());
+        } else {
+            try {
+                builder.header("Content-Type", "application/json")
+                        .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return new Request(operation, builder.build(), onSuccess);
+    }
+
+    private long id(HttpResponse<byte[]> response) {
+        return json(response).get("id").asLong();
+    }
+
+    private JsonNode json(HttpResponse<byte[]> response) {
+        try {
+            return objectMapper.readTree(response.body());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
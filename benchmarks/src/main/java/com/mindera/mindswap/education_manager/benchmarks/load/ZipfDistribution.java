@@ -0,0 +1,43 @@
+package com.mindera.mindswap.education_manager.benchmarks.load;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Zipf distribution over the ranks 0 to size - 1: rank k is drawn with a
+ * probability proportional to 1 / (k + 1)^exponent, so a few courses are
+ * popular and most have a handful of students.
+ */
+final class ZipfDistribution {
+
+    private final double[] cumulative;
+
+    /**
+     * Precomputes the cumulative probabilities of every rank.
+     * 
+     * @param size Number of ranks
+     * @param exponent Skew of the distribution; 0 makes it uniform
+     */
+    ZipfDistribution(int size, double exponent) {
+        cumulative = new double[size];
+        double total = 0;
+        for (int k = 0; k < size; k++) {
+            total += 1 / Math.pow(k + 1, exponent);
+            cumulative[k] = total;
+        }
+        for (int k = 0; k < size; k++) {
+            cumulative[k] /= total;
+        }
+    }
+
+    /**
+     * Draws a rank.
+     * 
+     * @param random Source of randomness
+     * @return A rank between 0 and size - 1
+     */
+    int sample(Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(index < 0 ? -index - 1 : index, cumulative.length - 1);
+    }
+}
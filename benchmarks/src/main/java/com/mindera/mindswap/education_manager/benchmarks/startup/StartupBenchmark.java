@@ -0,0 +1,259 @@
+package com.mindera.mindswap.education_manager.benchmarks.startup;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Startup benchmark of the application: time to first request and resident set
+ * size, launched as a plain JVM, as a JVM with a CDS archive, and as a native image.
+ *
+ * A run:
+ * - Recreates a dedicated database (startup.jdbc-url), migrated by the first launch
+ * - For the cds mode, extracts startup.jar and records a CDS archive with a training
+ *   run that stops once the application context is refreshed
+ * - Launches the application startup.warmups times per mode, then startup.runs times,
+ *   each time as a new process on a free port
+ * - Measures each launch from starting the process to the first successful response of
+ *   GET /api/v1/courses, then reads the resident set size of the process and stops it
+ * - Prints the median, minimum and maximum per mode and writes them to startup.result
+ *
+ * Modes whose jar or native executable does not exist are skipped. Other arguments
+ * are passed to the application. Resident set sizes are read from /proc, or from
+ * ps where /proc is not available.
+ *
+ * The class cannot be instantiated as it only contains the main method.
+ */
+public class StartupBenchmark {
+
+    private static final String FIRST_REQUEST = "/api/v1/courses?limit=1";
+    private static final long POLL_INTERVAL_MILLIS = 5;
+
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     *
+     * @throws IllegalStateException if an attempt is made to instantiate the class
+     */
+    private StartupBenchmark() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args startup.* options and application arguments
+     * @throws Exception if the database cannot be recreated, a launch fails or the results cannot be written
+     */
+    public static void main(String[] args) throws Exception {
+        StartupSettings settings = StartupSettings.from(args);
+        recreateDatabase(settings);
+        Files.createDirectories(settings.workDirectory());
+
+        List<String> applicationArgs = new ArrayList<>(List.of(
+                "--spring.main.web-application-type=servlet",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.com.mindera.mindswap=WARN",
+                "--spring.datasource.url=" + settings.jdbcUrl(),
+                "--spring.datasource.username=" + settings.username(),
+                "--spring.datasource.password=" + settings.password(),
+                "--spring.r2dbc.url=" + settings.r2dbcUrl(),
+                "--spring.r2dbc.username=" + settings.username(),
+                "--spring.r2dbc.password=" + settings.password()));
+        for (String arg : args) {
+            if (!arg.startsWith("--startup.")) {
+                applicationArgs.add(arg);
+            }
+        }
+
+        StartupReport report = new StartupReport();
+        for (String mode : settings.modes()) {
+            List<String> command = command(mode, settings, applicationArgs);
+            if (command == null) {
+                continue;
+            }
+            Path log = settings.workDirectory().resolve(mode + ".log");
+            for (int i = 0; i < settings.warmups(); i++) {
+                launch(command, applicationArgs, settings.timeout(), log);
+            }
+            for (int i = 0; i < settings.runs(); i++) {
+                report.add(mode, launch(command, applicationArgs, settings.timeout(), log));
+            }
+            System.out.printf("Measured %d launches in %s mode%n", settings.runs(), mode);
+        }
+
+        report.print(System.out);
+        report.writeCsv(settings.result());
+        System.out.printf("Results written to %s%n", settings.result().toAbsolutePath());
+    }
+
+    /**
+     * Builds the command launching the application in a mode, preparing the CDS
+     * archive first for the cds mode.
+     *
+     * @return The command, without application arguments, or null if the mode cannot run
+     */
+    private static List<String> command(String mode, StartupSettings settings, List<String> applicationArgs)
+            throws IOException, InterruptedException {
+        Path executable = "native".equals(mode) ? settings.nativeImage() : settings.jar();
+        if (!Files.isRegularFile(executable)) {
+            System.out.printf("Skipping %s mode: %s does not exist%n", mode, executable.toAbsolutePath());
+            return null;
+        }
+        List<String> command = new ArrayList<>();
+        switch (mode) {
+            case "jvm" -> {
+                command.add(settings.java().toString());
+                command.addAll(settings.jvmArgs());
+                command.addAll(List.of("-jar", settings.jar().toString()));
+            }
+            case "cds" -> {
+                Path extracted = settings.workDirectory().resolve("cds");
+                Path jar = extracted.resolve(settings.jar().getFileName());
+                Path archive = extracted.resolve("application.jsa");
+                deleteRecursively(extracted);
+                run(List.of(settings.java().toString(), "-Djarmode=tools", "-jar", settings.jar().toString(),
+                        "extract", "--destination", extracted.toString()), settings.workDirectory().resolve("cds-extract.log"));
+
+                List<String> training = new ArrayList<>();
+                training.add(settings.java().toString());
+                training.addAll(settings.jvmArgs());
+                training.addAll(List.of("-XX:ArchiveClassesAtExit=" + archive, "-Dspring.context.exit=onRefresh",
+                        "-jar", jar.toString()));
+                training.addAll(applicationArgs);
+                run(training, settings.workDirectory().resolve("cds-training.log"));
+
+                command.add(settings.java().toString());
+                command.addAll(settings.jvmArgs());
+                command.addAll(List.of("-XX:SharedArchiveFile=" + archive, "-jar", jar.toString()));
+            }
+            case "native" -> command.add(settings.nativeImage().toAbsolutePath().toString());
+            default -> throw new IllegalArgumentException("Unknown startup mode: " + mode);
+        }
+        return command;
+    }
+
+    /**
+     * Launches the application on a free port, waits for its first successful
+     * response and stops it.
+     */
+    private static StartupReport.Launch launch(List<String> command, List<String> applicationArgs, Duration timeout,
+                                               Path log) throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> launch = new ArrayList<>(command);
+        launch.addAll(applicationArgs);
+        launch.add("--server.port=" + port);
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + FIRST_REQUEST))
+                .timeout(timeout)
+                .build();
+
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(launch).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        try {
+            while (true) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("The application exited with status " + process.exitValue()
+                            + ", see " + log.toAbsolutePath());
+                }
+                try {
+                    if (CLIENT.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        break;
+                    }
+                } catch (IOException e) {
+                    // Not listening yet
+                }
+                if (System.nanoTime() - started > timeout.toNanos()) {
+                    throw new IllegalStateException("No response within " + timeout + ", see " + log.toAbsolutePath());
+                }
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            }
+            Duration timeToFirstRequest = Duration.ofNanos(System.nanoTime() - started);
+            return new StartupReport.Launch(timeToFirstRequest, residentKilobytes(process.pid()));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    /**
+     * Reads the resident set size of a process, in kilobytes.
+     *
+     * @return The resident set size, or -1 if it cannot be read
+     */
+    private static long residentKilobytes(long pid) throws IOException, InterruptedException {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (Files.isReadable(status)) {
+            try (Stream<String> lines = Files.lines(status)) {
+                return lines.filter(line -> line.startsWith("VmRSS:"))
+                        .map(line -> line.replaceAll("\\D", ""))
+                        .mapToLong(Long::parseLong)
+                        .findFirst()
+                        .orElse(-1);
+            }
+        }
+        Process ps = new ProcessBuilder("ps", "-o", "rss=", "-p", Long.toString(pid)).start();
+        String output = new String(ps.getInputStream().readAllBytes()).trim();
+        return ps.waitFor() == 0 && !output.isEmpty() ? Long.parseLong(output) : -1;
+    }
+
+    /**
+     * Runs a preparation command to completion.
+     */
+    private static void run(List<String> command, Path log) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        int status = process.waitFor();
+        if (status != 0) {
+            throw new IllegalStateException(String.join(" ", command.subList(0, Math.min(4, command.size())))
+                    + " exited with status " + status + ", see " + log.toAbsolutePath());
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        if (!Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    /**
+     * Drops and creates the run database, so every run starts from the same state.
+     */
+    private static void recreateDatabase(StartupSettings settings) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(settings.maintenanceUrl(), settings.username(),
+                settings.password());
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP DATABASE IF EXISTS \"" + settings.database() + "\" WITH (FORCE)");
+            statement.execute("CREATE DATABASE \"" + settings.database() + "\"");
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.mindera.mindswap.education_manager.benchmarks.startup;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Results of a startup run: time to first request and resident set size of
+ * every measured launch, summarised per mode.
+ *
+ * Times are reported in milliseconds and memory in megabytes.
+ */
+final class StartupReport {
+
+    private static final String FORMAT = "%-8s %5s %9s %9s %9s %9s %9s%n";
+
+    private final Map<String, List<Launch>> launches = new LinkedHashMap<>();
+
+    /**
+     * A measured launch.
+     *
+     * @param timeToFirstRequest From starting the process to the first successful response
+     * @param residentKilobytes Resident set size of the process right after that response, or -1 if unknown
+     */
+    record Launch(Duration timeToFirstRequest, long residentKilobytes) {
+    }
+
+    /**
+     * Records a measured launch.
+     *
+     * @param mode Launch mode
+     * @param launch The measurements
+     */
+    void add(String mode, Launch launch) {
+        launches.computeIfAbsent(mode, m -> new ArrayList<>()).add(launch);
+    }
+
+    /**
+     * Prints one line per mode.
+     *
+     * @param out Stream to print to
+     */
+    void print(PrintStream out) {
+        out.printf(FORMAT, "mode", "runs", "p50 ms", "min ms", "max ms", "p50 MB", "max MB");
+        launches.forEach((mode, runs) -> out.printf(FORMAT, mode, runs.size(),
+                format(median(runs, StartupReport::millis)), format(min(runs, StartupReport::millis)),
+                format(max(runs, StartupReport::millis)), format(median(runs, StartupReport::megabytes)),
+                format(max(runs, StartupReport::megabytes))));
+    }
+
+    /**
+     * Writes one CSV row per mode.
+     *
+     * @param file File to write
+     * @throws IOException if the file cannot be written
+     */
+    void writeCsv(Path file) throws IOException {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(file))) {
+            writer.println("mode,runs,ttfr_p50_ms,ttfr_min_ms,ttfr_max_ms,rss_p50_mb,rss_max_mb");
+            launches.forEach((mode, runs) -> writer.printf("\"%s\",%d,%s,%s,%s,%s,%s%n", mode, runs.size(),
+                    format(median(runs, StartupReport::millis)), format(min(runs, StartupReport::millis)),
+                    format(max(runs, StartupReport::millis)), format(median(runs, StartupReport::megabytes)),
+                    format(max(runs, StartupReport::megabytes))));
+        }
+    }
+
+    private static double millis(Launch launch) {
+        return launch.timeToFirstRequest().toNanos() / 1_000_000.0;
+    }
+
+    private static double megabytes(Launch launch) {
+        return launch.residentKilobytes() < 0 ? Double.NaN : launch.residentKilobytes() / 1024.0;
+    }
+
+    private static double median(List<Launch> runs, ToDoubleFunction<Launch> metric) {
+        double[] values = runs.stream().mapToDouble(metric).sorted().toArray();
+        int middle = values.length / 2;
+        return values.length % 2 == 1 ? values[middle] : (values[middle - 1] + values[middle]) / 2;
+    }
+
+    private static double min(List<Launch> runs, ToDoubleFunction<Launch> metric) {
+        return metric.applyAsDouble(runs.stream().min(Comparator.comparingDouble(metric)).orElseThrow());
+    }
+
+    private static double max(List<Launch> runs, ToDoubleFunction<Launch> metric) {
+        return metric.applyAsDouble(runs.stream().max(Comparator.comparingDouble(metric)).orElseThrow());
+    }
+
+    private static String format(double value) {
+        return Double.isNaN(value) ? "n/a" : String.format(Locale.ROOT, "%.1f", value);
+    }
+}
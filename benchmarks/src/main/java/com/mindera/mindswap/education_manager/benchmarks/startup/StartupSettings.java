@@ -0,0 +1,100 @@
+package com.mindera.mindswap.education_manager.benchmarks.startup;
+
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Settings of a startup run, read from {@code --startup.*} command line options.
+ *
+ * @param modes Launch modes measured, in order: jvm, cds and/or native
+ * @param jar Executable application jar, launched by the jvm and cds modes
+ * @param nativeImage Native executable of the application, launched by the native mode
+ * @param java Java launcher of the jvm and cds modes
+ * @param jvmArgs Extra JVM options of the jvm and cds modes, e.g. -Dspring.aot.enabled=true
+ * @param runs Measured launches per mode
+ * @param warmups Launches per mode before measuring starts, warming the file system cache
+ * @param timeout How long a launch may take to answer its first request
+ * @param jdbcUrl Database the application runs against; it is dropped and recreated once per run
+ * @param username Database user, also used to recreate the database
+ * @param password Database password
+ * @param workDirectory Directory holding the extracted jar, the CDS archive and the application logs
+ * @param result File the per-mode results are written to, as CSV
+ */
+record StartupSettings(
+        List<String> modes,
+        Path jar,
+        Path nativeImage,
+        Path java,
+        List<String> jvmArgs,
+        int runs,
+        int warmups,
+        Duration timeout,
+        String jdbcUrl,
+        String username,
+        String password,
+        Path workDirectory,
+        Path result
+) {
+
+    /**
+     * Reads the settings, falling back to a default for every missing option.
+     *
+     * @param args Command line arguments of the benchmark
+     * @return The settings of the run
+     */
+    static StartupSettings from(String[] args) {
+        SimpleCommandLinePropertySource options = new SimpleCommandLinePropertySource(args);
+        return new StartupSettings(
+                list(option(options, "startup.modes", "jvm,cds,native")),
+                Path.of(option(options, "startup.jar", "target/education-manager-0.0.1-SNAPSHOT-exec.jar")),
+                Path.of(option(options, "startup.native-image", "target/education-manager")),
+                Path.of(option(options, "startup.java", Path.of(System.getProperty("java.home"), "bin", "java").toString())),
+                list(option(options, "startup.jvm-args", "")),
+                Integer.parseInt(option(options, "startup.runs", "10")),
+                Integer.parseInt(option(options, "startup.warmups", "2")),
+                DurationStyle.detectAndParse(option(options, "startup.timeout", "120s")),
+                option(options, "startup.jdbc-url", "jdbc:postgresql://localhost:5432/education_manager_startup"),
+                option(options, "startup.username", "postgres"),
+                option(options, "startup.password", "postgres"),
+                Path.of(option(options, "startup.work-directory", "target/startup")),
+                Path.of(option(options, "startup.result", "startup-result.csv"))
+        );
+    }
+
+    /**
+     * R2DBC URL of the same database, for the reactive connection factory.
+     */
+    String r2dbcUrl() {
+        return "r2dbc:" + jdbcUrl.substring("jdbc:".length());
+    }
+
+    /**
+     * URL of the maintenance database on the same server, used to recreate the run database.
+     */
+    String maintenanceUrl() {
+        return jdbcUrl.substring(0, jdbcUrl.lastIndexOf('/') + 1) + "postgres";
+    }
+
+    /**
+     * Name of the run database.
+     */
+    String database() {
+        String name = jdbcUrl.substring(jdbcUrl.lastIndexOf('/') + 1);
+        int parameters = name.indexOf('?');
+        return parameters < 0 ? name : name.substring(0, parameters);
+    }
+
+    private static List<String> list(String value) {
+        return Arrays.stream(value.split(",")).map(String::trim).filter(item -> !item.isEmpty()).toList();
+    }
+
+    private static String option(SimpleCommandLinePropertySource options, String name, String defaultValue) {
+        String value = options.getProperty(name);
+        return value == null ? defaultValue : value;
+    }
+}
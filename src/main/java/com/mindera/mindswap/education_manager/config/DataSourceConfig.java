@@ -0,0 +1,120 @@
+package com.mindera.mindswap.education_manager.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration class declaring the JDBC DataSource used by JPA.
+ * 
+ * Spring Boot skips its DataSource auto-configuration as soon as an R2DBC
+ * ConnectionFactory exists, which the reactive read path adds. The pooled
+ * DataSource is therefore declared here, still configured from the
+ * {@code spring.datasource.*} and {@code spring.datasource.hikari.*} properties.
+ * 
+ * When {@code education-manager.replicas.urls} lists read replicas, connections
+ * are routed by ReplicaRouting behind a LazyConnectionDataSourceProxy, which only
+ * fetches a physical connection at the first statement of a transaction, once the
+ * transaction is known to be read-only. Replica pools share the credentials and
+ * pool settings of the primary.
+ * 
+ * The pool is wrapped in a datasource-proxy DataSource reporting every statement
+ * to SqlStatementAccounting. The primary HikariDataSource stays reachable through
+ * {@link DataSource#unwrap(Class)}.
+ */
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class DataSourceConfig {
+
+    /**
+     * Creates the pools of the read replicas and the routing between them.
+     * 
+     * @param properties The spring.datasource properties
+     * @param environment Environment the spring.datasource.hikari properties are bound from
+     * @param urls JDBC URLs of the replicas, empty to send every transaction to the primary
+     * @param maxLag Staleness bound: replicas further behind the primary are skipped
+     * @param pinAfterWrite How long the reads of a client go to the primary after it writes
+     * @return ReplicaRouting over the configured replicas, possibly none
+     */
+    @Bean
+    public ReplicaRouting replicaRouting(
+        DataSourceProperties properties,
+        Environment environment,
+        @Value("${education-manager.replicas.urls:}") List<String> urls,
+        @Value("${education-manager.replicas.max-lag:PT10S}") Duration maxLag,
+        @Value("${education-manager.replicas.pin-after-write:PT5S}") Duration pinAfterWrite
+    ) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            HikariDataSource pool = pool(properties, environment);
+            pool.setJdbcUrl(url);
+            pool.setPoolName("replica-" + (replicas.size() + 1));
+            replicas.add(pool);
+        }
+        return new ReplicaRouting(replicas, maxLag, pinAfterWrite);
+    }
+
+    /**
+     * Creates the HikariCP pooled DataSource, routed to the replicas if any and
+     * wrapped for statement accounting.
+     * 
+     * @param properties The spring.datasource properties
+     * @param environment Environment the spring.datasource.hikari properties are bound from
+     * @param accounting Listener counting the statements of each request
+     * @param routing Routing of read-only transactions to the replicas
+     * @return Proxied HikariDataSource
+     */
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, Environment environment,
+                                 SqlStatementAccounting accounting, ReplicaRouting routing) {
+        HikariDataSource pool = pool(properties, environment);
+        DataSource target = pool;
+        if (routing.isEnabled()) {
+            target = new LazyConnectionDataSourceProxy(routing.routingDataSource(pool));
+        }
+        return ProxyDataSourceBuilder.create(target)
+                .listener(accounting)
+                .build();
+    }
+
+    /**
+     * Makes Hibernate give its connection back after each transaction when replicas
+     * are configured. By default a session holds on to its first connection until it
+     * closes, and with open-in-view a request would then run a write transaction
+     * following a read-only one on the replica connection.
+     * 
+     * @param routing Routing of read-only transactions to the replicas
+     * @return Customizer of the Hibernate properties
+     */
+    @Bean
+    public HibernatePropertiesCustomizer replicaConnectionHandling(ReplicaRouting routing) {
+        return hibernateProperties -> {
+            if (routing.isEnabled()) {
+                hibernateProperties.put(AvailableSettings.CONNECTION_HANDLING,
+                        PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+            }
+        };
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, Environment environment) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        return pool;
+    }
+}
@@ -0,0 +1,15 @@
+package com.mindera.mindswap.education_manager.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Configuration class contributing the hints of NativeImageHints to the
+ * ahead-of-time processing of the application (the native Maven profile).
+ *
+ * It declares no beans and has no effect on a regular JVM run.
+ */
+@Configuration
+@ImportRuntimeHints(NativeImageHints.class)
+public class NativeImageConfig {
+}
@@ -0,0 +1,84 @@
+package com.mindera.mindswap.education_manager.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.mindera.mindswap.education_manager.validation.UniqueEmailValidator;
+import net.ttddyy.dsproxy.proxy.ProxyJdbcObject;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.util.ClassUtils;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Reflection, proxy and resource hints the native image needs on top of the ones
+ * contributed by Spring AOT and the GraalVM reachability metadata.
+ *
+ * - DTOs: Jackson and springdoc go through their accessors, Hibernate Validator
+ *   reads their constrained fields, query parameter objects are bound by setter
+ *   and Hibernate calls the constructors used in {@code select new} queries.
+ *   Spring's own controller hints only cover request and response bodies.
+ * - UniqueEmailValidator: created by reflection through Spring's
+ *   ConstraintValidatorFactory, outside of the AOT-generated bean definitions.
+ * - JDBC proxies: datasource-proxy wraps connections and statements in JDK proxies
+ *   for SQL accounting, and LazyConnectionDataSourceProxy wraps connections when
+ *   read replicas are configured.
+ * - Second-level cache: the JCache region factory and the Caffeine provider are
+ *   loaded by name, and their configuration files are read from the classpath.
+ */
+public class NativeImageHints implements RuntimeHintsRegistrar {
+
+    private static final String DTO_PACKAGE = "com.mindera.mindswap.education_manager.dto";
+
+    /**
+     * Interfaces datasource-proxy proxies, next to its ProxyJdbcObject marker.
+     */
+    private static final List<Class<?>> PROXIED_JDBC_TYPES = List.of(
+            Connection.class, Statement.class, PreparedStatement.class, CallableStatement.class);
+
+    private final BindingReflectionHintsRegistrar bindingHints = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> dto : dtoClasses(classLoader)) {
+            bindingHints.registerReflectionHints(hints.reflection(), dto);
+            hints.reflection().registerType(dto,
+                    MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+        }
+        hints.reflection().registerType(UniqueEmailValidator.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+
+        for (Class<?> type : PROXIED_JDBC_TYPES) {
+            hints.proxies().registerJdkProxy(ProxyJdbcObject.class, type);
+        }
+        hints.proxies().registerJdkProxy(ConnectionProxy.class);
+
+        hints.reflection().registerType(TypeReference.of("org.hibernate.cache.jcache.internal.JCacheRegionFactory"),
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.reflection().registerType(CaffeineCachingProvider.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.resources().registerPattern("caffeine.conf");
+        hints.resources().registerPattern("reference.conf");
+    }
+
+    /**
+     * Finds the classes of the DTO package, so a new DTO cannot be left out of the image.
+     */
+    private static List<Class<?>> dtoClasses(ClassLoader classLoader) {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.setResourceLoader(new DefaultResourceLoader(classLoader));
+        scanner.addIncludeFilter((reader, readerFactory) -> true);
+        return scanner.findCandidateComponents(DTO_PACKAGE).stream()
+                .map(BeanDefinition::getBeanClassName)
+                .<Class<?>>map(name -> ClassUtils.resolveClassName(name, classLoader))
+                .toList();
+    }
+}
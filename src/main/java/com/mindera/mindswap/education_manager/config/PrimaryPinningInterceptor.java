@@ -0,0 +1,94 @@
+package com.mindera.mindswap.education_manager.config;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+
+/**
+ * Interceptor pinning the reads of a client to the primary right after it writes.
+ *
+ * Every request other than GET, HEAD and OPTIONS counts as a write: before it is
+ * handled, its response gets a cookie telling until when the client's reads must go
+ * to the primary. Requests carrying a cookie that has not expired yet, and writes
+ * themselves, run pinned to the primary, so a client reads its own writes however
+ * far behind the replicas are. Clients that do not send cookies back are not pinned.
+ */
+public class PrimaryPinningInterceptor implements AsyncHandlerInterceptor {
+
+    /**
+     * Name of the cookie holding the time (epoch milliseconds) the pinning ends.
+     */
+    public static final String COOKIE = "EM_PRIMARY_UNTIL";
+
+    private final Duration pinAfterWrite;
+
+    /**
+     * Constructs a new PrimaryPinningInterceptor.
+     *
+     * @param pinAfterWrite How long the reads of a client go to the primary after it writes
+     */
+    public PrimaryPinningInterceptor(Duration pinAfterWrite) {
+        this.pinAfterWrite = pinAfterWrite;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        if (isWrite(request.getMethod())) {
+            Cookie cookie = new Cookie(COOKIE, Long.toString(now + pinAfterWrite.toMillis()));
+            cookie.setMaxAge((int) Math.max(1, pinAfterWrite.toSeconds()));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            response.addCookie(cookie);
+            ReplicaRouting.pinToPrimary();
+        } else if (isPinned(pinnedUntil(request), now)) {
+            ReplicaRouting.pinToPrimary();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        ReplicaRouting.unpin();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        ReplicaRouting.unpin();
+    }
+
+    private boolean isPinned(long until, long now) {
+        // Cookies set further ahead than this instance would have are ignored
+        return until > now && until <= now + pinAfterWrite.toMillis();
+    }
+
+    private static boolean isWrite(String method) {
+        return !(HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)
+                || HttpMethod.OPTIONS.matches(method));
+    }
+
+    private static long pinnedUntil(HttpServletRequest request) {
+        if (request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if (COOKIE.equals(cookie.getName())) {
+                    try {
+                        return Long.parseLong(cookie.getValue());
+                    } catch (NumberFormatException e) {
+                        return 0;
+                    }
+                }
+            }
+        }
+        return 0;
+    }
+}
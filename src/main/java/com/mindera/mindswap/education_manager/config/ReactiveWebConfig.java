@@ -0,0 +1,29 @@
+package com.mindera.mindswap.education_manager.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for reactive deployments.
+ * 
+ * Applies when the application runs with {@code spring.main.web-application-type=reactive}.
+ * Tomcat is on the classpath for the servlet stack and would otherwise be picked to
+ * host WebFlux too; the reactive read path runs on Reactor Netty instead, so its
+ * event-loop throughput can be compared with the servlet stack on the same hardware.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveWebConfig {
+
+    /**
+     * Creates the Reactor Netty web server factory.
+     * 
+     * @return Netty web server factory, configured from the server.* properties
+     */
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -0,0 +1,192 @@
+package com.mindera.mindswap.education_manager.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routing of read-only transactions to a set of PostgreSQL read replicas.
+ *
+ * Connections requested within a read-only transaction are handed out round-robin
+ * over the replicas that passed their last health check: reachable, and replaying
+ * the primary's changes no more than the staleness bound behind. When none does,
+ * or while the current thread is pinned to the primary, they come from the primary
+ * instead, so reads never fail because of a replica. All other connections come
+ * from the primary.
+ *
+ * A thread is pinned to the primary for the requests of a client that wrote within
+ * the last {@code pin-after-write}, see PrimaryPinningInterceptor, so clients read
+ * their own writes.
+ *
+ * The replica pools are owned by this object and closed with it.
+ */
+public class ReplicaRouting implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaRouting.class);
+
+    /**
+     * Seconds the replica lags behind the primary: 0 on a primary, or on a replica
+     * that has replayed everything it received, otherwise the age of the last
+     * transaction replayed.
+     */
+    private static final String LAG_QUERY = "SELECT CASE"
+            + " WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0"
+            + " ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final Duration pinAfterWrite;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * Pools of the replicas that passed their last health check.
+     */
+    private volatile List<HikariDataSource> rotation = List.of();
+
+    /**
+     * Constructs a new ReplicaRouting.
+     *
+     * @param replicas Connection pools of the replicas, in routing order
+     * @param maxLag Staleness bound: replicas further behind the primary are skipped
+     * @param pinAfterWrite How long the reads of a client go to the primary after it writes
+     */
+    public ReplicaRouting(List<HikariDataSource> replicas, Duration maxLag, Duration pinAfterWrite) {
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.maxLag = maxLag;
+        this.pinAfterWrite = pinAfterWrite;
+    }
+
+    /**
+     * Tells whether any replica is configured.
+     *
+     * @return true if read-only transactions may be routed to a replica
+     */
+    public boolean isEnabled() {
+        return !replicas.isEmpty();
+    }
+
+    /**
+     * Returns how long the reads of a client go to the primary after it writes.
+     *
+     * @return The pinning duration, zero if clients are never pinned
+     */
+    public Duration getPinAfterWrite() {
+        return pinAfterWrite;
+    }
+
+    /**
+     * Pins the current thread to the primary until {@link #unpin()}.
+     */
+    public static void pinToPrimary() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    /**
+     * Lets the read-only transactions of the current thread go to the replicas again.
+     */
+    public static void unpin() {
+        PINNED.remove();
+    }
+
+    /**
+     * Creates the DataSource routing each connection request: to a replica within a
+     * read-only transaction, to the primary otherwise.
+     *
+     * @param primary The primary pool, also used when no replica can serve
+     * @return DataSource routing each connection request to a replica or the primary
+     */
+    public DataSource routingDataSource(DataSource primary) {
+        return new DelegatingDataSource(primary) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return select(primary).getConnection();
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return select(primary).getConnection(username, password);
+            }
+        };
+    }
+
+    /**
+     * Checks whether every replica is reachable and within the staleness bound.
+     * Runs at startup, before any replica is used, and every
+     * {@code education-manager.replicas.health-check-interval}.
+     */
+    @PostConstruct
+    @Scheduled(initialDelayString = "${education-manager.replicas.health-check-interval:PT5S}",
+            fixedDelayString = "${education-manager.replicas.health-check-interval:PT5S}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            String reason;
+            try (Connection connection = replica.pool.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet result = statement.executeQuery(LAG_QUERY)) {
+                result.next();
+                double lag = result.getDouble(1);
+                healthy = lag * 1000 <= maxLag.toMillis();
+                reason = "lag of " + lag + "s";
+            } catch (SQLException | RuntimeException e) {
+                healthy = false;
+                reason = e.getMessage();
+            }
+            if (replica.healthy == null || healthy != replica.healthy) {
+                if (healthy) {
+                    logger.info("Replica {} is back in the read rotation ({})", replica.pool.getPoolName(), reason);
+                } else {
+                    logger.warn("Replica {} is out of the read rotation: {}", replica.pool.getPoolName(), reason);
+                }
+                replica.healthy = healthy;
+            }
+        }
+        rotation = replicas.stream().filter(replica -> Boolean.TRUE.equals(replica.healthy)).map(replica -> replica.pool).toList();
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private DataSource select(DataSource primary) {
+        List<HikariDataSource> pools = rotation;
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || PINNED.get() != null || pools.isEmpty()) {
+            return primary;
+        }
+        return pools.get(Math.floorMod(next.getAndIncrement(), pools.size()));
+    }
+
+    /**
+     * A replica pool and the outcome of its last health check.
+     */
+    private static final class Replica {
+
+        private final HikariDataSource pool;
+
+        /**
+         * Whether the replica passed its last health check, or null before the first one.
+         */
+        private Boolean healthy;
+
+        private Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.mindera.mindswap.education_manager.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuration class registering the pinning of clients to the primary after
+ * they write, on the servlet API.
+ * 
+ * Nothing is registered without replicas, or with a zero
+ * {@code education-manager.replicas.pin-after-write}.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ReplicaRoutingConfig implements WebMvcConfigurer {
+
+    private final ReplicaRouting routing;
+
+    /**
+     * Constructs a new ReplicaRoutingConfig.
+     * 
+     * @param routing The routing of read-only transactions to the replicas
+     */
+    @Autowired
+    public ReplicaRoutingConfig(ReplicaRouting routing) {
+        this.routing = routing;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (routing.isEnabled() && !routing.getPinAfterWrite().isZero()) {
+            registry.addInterceptor(new PrimaryPinningInterceptor(routing.getPinAfterWrite()))
+                    .addPathPatterns("/api/**");
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.mindera.mindswap.education_manager.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SQL statements executed while handling one HTTP request.
+ * 
+ * A statement is one round trip to the database: a JDBC batch counts once.
+ * Statements are grouped by shape, their SQL with literals and IN lists
+ * collapsed, so the same query run for every row of a result (an N+1) shows
+ * up as one shape with a high count.
+ */
+public class RequestSqlStatistics {
+
+    private final String endpoint;
+    private final Map<String, Integer> shapes = new HashMap<>();
+    private int statements;
+    private long databaseNanos;
+    private long statementStarted;
+
+    RequestSqlStatistics(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Endpoint that handled the request, as its HTTP method and route pattern,
+     * e.g. "GET /api/v1/students/{id}/courses".
+     * 
+     * @return The endpoint
+     */
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * @return Number of statements executed
+     */
+    public int getStatements() {
+        return statements;
+    }
+
+    /**
+     * @return Time spent executing statements
+     */
+    public Duration getDatabaseTime() {
+        return Duration.ofNanos(databaseNanos);
+    }
+
+    /**
+     * @return Highest number of times a single statement shape was executed
+     */
+    public int getMaxRepeats() {
+        return shapes.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+    }
+
+    /**
+     * @return The statement shape executed most often, or null if none was executed
+     */
+    public String getMostRepeatedShape() {
+        return shapes.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .orElse(null);
+    }
+
+    /**
+     * Counts a statement about to be executed.
+     * 
+     * @param shape The normalised SQL of the statement
+     * @return Number of times the shape has now been executed in this request
+     */
+    int statementStarted(String shape) {
+        statements++;
+        statementStarted = System.nanoTime();
+        return shapes.merge(shape, 1, Integer::sum);
+    }
+
+    void statementFinished() {
+        databaseNanos += System.nanoTime() - statementStarted;
+    }
+
+    @Override
+    public String toString() {
+        return endpoint + ": " + statements + " statements in " + getDatabaseTime().toMillis() + " ms";
+    }
+}
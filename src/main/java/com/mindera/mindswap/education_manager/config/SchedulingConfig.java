@@ -0,0 +1,16 @@
+package com.mindera.mindswap.education_manager.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration class enabling scheduled maintenance tasks.
+ * 
+ * The tasks themselves are declared with {@code @Scheduled} on the services
+ * owning the data they maintain, for example the purge of expired
+ * enrollment idempotency keys in StudentService.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
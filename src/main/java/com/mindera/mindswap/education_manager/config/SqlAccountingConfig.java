@@ -0,0 +1,36 @@
+package com.mindera.mindswap.education_manager.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuration class registering the per-request SQL statement accounting
+ * on the servlet API.
+ * 
+ * The reactive read path runs on R2DBC, not on the proxied JDBC DataSource,
+ * so it is not accounted.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class SqlAccountingConfig implements WebMvcConfigurer {
+
+    private final SqlStatementAccounting accounting;
+
+    /**
+     * Constructs a new SqlAccountingConfig.
+     * 
+     * @param accounting The accounting requests are reported to
+     */
+    @Autowired
+    public SqlAccountingConfig(SqlStatementAccounting accounting) {
+        this.accounting = accounting;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new SqlAccountingInterceptor(accounting)).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,51 @@
+package com.mindera.mindswap.education_manager.config;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Interceptor delimiting the SQL statement accounting of each request.
+ * 
+ * The endpoint is identified by the HTTP method and the matched route pattern,
+ * so all requests to the same route share their metrics. Streaming responses
+ * are accounted up to the point the handler returns; statements run by the
+ * asynchronous writer, on another thread, are not accounted.
+ */
+public class SqlAccountingInterceptor implements AsyncHandlerInterceptor {
+
+    private final SqlStatementAccounting accounting;
+
+    /**
+     * Constructs a new SqlAccountingInterceptor.
+     * 
+     * @param accounting The accounting the requests are reported to
+     */
+    public SqlAccountingInterceptor(SqlStatementAccounting accounting) {
+        this.accounting = accounting;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        accounting.begin(request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI()));
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        accounting.end();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        accounting.end();
+    }
+}
@@ -0,0 +1,234 @@
+package com.mindera.mindswap.education_manager.config;
+
+import com.mindera.mindswap.education_manager.exception.SqlBudgetExceededException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+
+/**
+ * Counts the SQL statements and database time of every HTTP request.
+ * 
+ * Registered as a listener of the proxied DataSource (see DataSourceConfig),
+ * it attributes every statement run on the request thread between
+ * {@link #begin(String)} and {@link #end()} to that request. At the end of the
+ * request, the counts are recorded per endpoint as the metrics
+ * education-manager.sql.statements and education-manager.sql.time.
+ * 
+ * A request is over budget when it runs more than
+ * {@code education-manager.sql-budget.max-statements} statements, or the same
+ * statement shape more than {@code education-manager.sql-budget.max-repeated-statements}
+ * times, the usual sign of an N+1. Depending on
+ * {@code education-manager.sql-budget.mode}, such requests are ignored (off),
+ * logged (warn) or failed before the offending statement runs (fail).
+ * 
+ * The endpoints listed in {@code education-manager.sql-budget.exempt-endpoints},
+ * as "METHOD /route" like the endpoint tag of the metrics, have no budget. Bulk
+ * endpoints run the same few statements for every chunk of their request, so
+ * their statement count grows with the request by design; they are still counted.
+ * 
+ * Tests can {@link #capture()} the statistics of the requests they send.
+ */
+@Component
+public class SqlStatementAccounting implements QueryExecutionListener {
+
+    /**
+     * What to do when a request goes over its statement budget.
+     */
+    public enum Mode {
+        OFF,
+        WARN,
+        FAIL
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatementAccounting.class);
+    private static final Pattern LITERALS = Pattern.compile("'(?:[^']|'')*'|\\b\\d+\\b");
+    private static final Pattern IN_LISTS = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final ThreadLocal<RequestSqlStatistics> current = new ThreadLocal<>();
+    private final List<Capture> captures = new CopyOnWriteArrayList<>();
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final Mode mode;
+    private final int maxStatements;
+    private final int maxRepeatedStatements;
+    private final Set<String> exemptEndpoints;
+
+    /**
+     * Constructs a new SqlStatementAccounting.
+     * 
+     * @param meterRegistry Registry the per-endpoint metrics are recorded in, if any
+     * @param mode What to do with requests over budget
+     * @param maxStatements Statements a request may run
+     * @param maxRepeatedStatements Times a request may run the same statement shape
+     * @param exemptEndpoints Endpoints without a budget, as HTTP method and route pattern
+     */
+    public SqlStatementAccounting(
+        ObjectProvider<MeterRegistry> meterRegistry,
+        @Value("${education-manager.sql-budget.mode:warn}") Mode mode,
+        @Value("${education-manager.sql-budget.max-statements:20}") int maxStatements,
+        @Value("${education-manager.sql-budget.max-repeated-statements:5}") int maxRepeatedStatements,
+        @Value("${education-manager.sql-budget.exempt-endpoints:}") List<String> exemptEndpoints
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.mode = mode;
+        this.maxStatements = maxStatements;
+        this.maxRepeatedStatements = maxRepeatedStatements;
+        this.exemptEndpoints = Set.copyOf(exemptEndpoints);
+    }
+
+    /**
+     * Starts accounting the statements of a request on the current thread.
+     * 
+     * @param endpoint HTTP method and route pattern of the request
+     */
+    public void begin(String endpoint) {
+        current.set(new RequestSqlStatistics(endpoint));
+    }
+
+    /**
+     * Stops accounting on the current thread, records the metrics of the request
+     * and logs it if it went over budget in warn mode.
+     * 
+     * @return The statistics of the request, or null if none was being accounted
+     */
+    public RequestSqlStatistics end() {
+        RequestSqlStatistics statistics = current.get();
+        if (statistics == null) {
+            return null;
+        }
+        current.remove();
+
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            DistributionSummary.builder("education-manager.sql.statements")
+                    .description("SQL statements executed per HTTP request")
+                    .tag("endpoint", statistics.getEndpoint())
+                    .register(registry)
+                    .record(statistics.getStatements());
+            Timer.builder("education-manager.sql.time")
+                    .description("Time spent executing SQL statements per HTTP request")
+                    .tag("endpoint", statistics.getEndpoint())
+                    .register(registry)
+                    .record(statistics.getDatabaseTime());
+        }
+        if (mode == Mode.WARN && overBudget(statistics, statistics.getMaxRepeats())) {
+            logger.warn("{} is over its SQL budget ({} statements, at most {}; most repeated {} times, at most {}): {}",
+                    statistics.getEndpoint(), statistics.getStatements(), maxStatements,
+                    statistics.getMaxRepeats(), maxRepeatedStatements, statistics.getMostRepeatedShape());
+        }
+        captures.forEach(capture -> capture.add(statistics));
+        return statistics;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestSqlStatistics statistics = current.get();
+        if (statistics == null || queryInfoList.isEmpty()) {
+            return;
+        }
+        String shape = shape(queryInfoList.get(0).getQuery());
+        int repeats = statistics.statementStarted(shape);
+        if (mode == Mode.FAIL && overBudget(statistics, repeats)) {
+            throw new SqlBudgetExceededException(statistics.getEndpoint() + " exceeded its SQL budget at statement "
+                    + statistics.getStatements() + " (run " + repeats + " times): " + shape);
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestSqlStatistics statistics = current.get();
+        if (statistics != null) {
+            statistics.statementFinished();
+        }
+    }
+
+    /**
+     * Starts collecting the statistics of every request that completes until
+     * the capture is closed.
+     * 
+     * @return The open capture
+     */
+    public Capture capture() {
+        Capture capture = new Capture();
+        captures.add(capture);
+        return capture;
+    }
+
+    /**
+     * Statistics of the requests completed while it is open.
+     */
+    public final class Capture implements AutoCloseable {
+
+        private final List<RequestSqlStatistics> requests = new ArrayList<>();
+
+        private Capture() {
+        }
+
+        private synchronized void add(RequestSqlStatistics statistics) {
+            requests.add(statistics);
+            notifyAll();
+        }
+
+        /**
+         * Waits for the first captured request to an endpoint. Statistics are
+         * published once the response is complete, which can be shortly after
+         * the client has read it.
+         * 
+         * @param endpoint HTTP method and route pattern, e.g. "GET /api/v1/students/{id}"
+         * @param timeout How long to wait
+         * @return The statistics of the request
+         * @throws IllegalStateException if no such request completes in time
+         * @throws InterruptedException if interrupted while waiting
+         */
+        public synchronized RequestSqlStatistics await(String endpoint, Duration timeout) throws InterruptedException {
+            long deadline = System.nanoTime() + timeout.toNanos();
+            while (true) {
+                for (RequestSqlStatistics statistics : requests) {
+                    if (statistics.getEndpoint().equals(endpoint)) {
+                        return statistics;
+                    }
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new IllegalStateException("No request to " + endpoint + " was captured, only " + requests);
+                }
+                wait(Math.max(1, remaining / 1_000_000));
+            }
+        }
+
+        @Override
+        public void close() {
+            captures.remove(this);
+        }
+    }
+
+    private boolean overBudget(RequestSqlStatistics statistics, int repeats) {
+        return !exemptEndpoints.contains(statistics.getEndpoint())
+                && (statistics.getStatements() > maxStatements || repeats > maxRepeatedStatements);
+    }
+
+    /**
+     * Normalises a statement to its shape: literals become ?, IN lists of any
+     * length become (?) and whitespace is collapsed.
+     */
+    private static String shape(String sql) {
+        String shape = LITERALS.matcher(sql).replaceAll("?");
+        shape = IN_LISTS.matcher(shape).replaceAll("(?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,44 @@
+package com.mindera.mindswap.education_manager.controller;
+
+import com.mindera.mindswap.education_manager.dto.CacheRegionStatisticsDTO;
+import com.mindera.mindswap.education_manager.service.CacheStatisticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST Controller exposing second-level cache statistics.
+ * 
+ * All endpoints are under the base path '/api/v1/cache'
+ */
+@RestController
+@RequestMapping("/api/v1/cache")
+@Tag(name = "Cache", description = "Second-level cache statistics endpoints")
+public class CacheStatisticsController {
+
+    private final CacheStatisticsService cacheStatisticsService;
+
+    /**
+     * Constructs a new CacheStatisticsController with required dependencies.
+     * 
+     * @param cacheStatisticsService Service reading the cache statistics
+     */
+    public CacheStatisticsController(CacheStatisticsService cacheStatisticsService) {
+        this.cacheStatisticsService = cacheStatisticsService;
+    }
+
+    /**
+     * Retrieves the hit, miss and put counters of every cache region.
+     * 
+     * @return List of CacheRegionStatisticsDTO, one per region
+     */
+    @Operation(summary = "Get second-level cache statistics per region")
+    @GetMapping("/statistics")
+    public List<CacheRegionStatisticsDTO> getCacheStatistics() {
+        return cacheStatisticsService.findRegionStatistics();
+    }
+}
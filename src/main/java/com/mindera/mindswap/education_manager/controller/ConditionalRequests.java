@@ -0,0 +1,58 @@
+package com.mindera.mindswap.education_manager.controller;
+
+import com.mindera.mindswap.education_manager.service.NotModifiedCheck;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Utility class adapting HTTP conditional requests to service level not-modified checks.
+ * 
+ * The returned check validates the If-None-Match and If-Modified-Since headers of
+ * the request, sets the ETag and Last-Modified response headers and, when the
+ * client's copy is current, the 304 Not Modified status. Handlers then return
+ * null so that no body is written. Writes use a check that only sets the ETag
+ * and Last-Modified headers of the written resource.
+ * 
+ * The class cannot be instantiated as it only contains static utility methods.
+ */
+final class ConditionalRequests {
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     * 
+     * @throws IllegalStateException if an attempt is made to instantiate the class
+     */
+    private ConditionalRequests() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Creates the not-modified check of a request.
+     * 
+     * @param request The current request
+     * @return NotModifiedCheck validating the request's conditional headers
+     */
+    static NotModifiedCheck notModifiedCheck(WebRequest request) {
+        return (etag, lastModified) -> lastModified == null
+                ? request.checkNotModified(etag)
+                : request.checkNotModified(etag, lastModified.toEpochMilli());
+    }
+
+    /**
+     * Creates a check that never skips the body, but sets the ETag and
+     * Last-Modified response headers of the resource it is called with.
+     * 
+     * @param response The current response
+     * @return NotModifiedCheck reporting the validators of a written resource
+     */
+    static NotModifiedCheck validators(HttpServletResponse response) {
+        return (etag, lastModified) -> {
+            response.setHeader(HttpHeaders.ETAG, etag);
+            if (lastModified != null) {
+                response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified.toEpochMilli());
+            }
+            return false;
+        };
+    }
+}
@@ -1,14 +1,27 @@
 package com.mindera.mindswap.education_manager.controller;
 
+import com.mindera.mindswap.education_manager.converter.ETagConverter;
+import com.mindera.mindswap.education_manager.dto.BulkDeleteResultDTO;
 import com.mindera.mindswap.education_manager.dto.CourseDTO;
+import com.mindera.mindswap.education_manager.dto.CourseQueryDTO;
+import com.mindera.mindswap.education_manager.dto.CourseSearchQueryDTO;
 import com.mindera.mindswap.education_manager.dto.CreateCourseDTO;
+import com.mindera.mindswap.education_manager.dto.CursorPageDTO;
+import com.mindera.mindswap.education_manager.dto.RosterQueryDTO;
+import com.mindera.mindswap.education_manager.dto.StudentDTO;
 import com.mindera.mindswap.education_manager.dto.UpdateCourseDTO;
 import com.mindera.mindswap.education_manager.service.CourseService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -17,13 +30,17 @@ import java.util.List;
  * 
  * This controller provides endpoints for:
  * - Creating new courses
- * - Retrieving course information (single or all)
+ * - Retrieving course information (single or keyset paginated pages)
+ * - Retrieving the roster of students enrolled in a course
  * - Updating existing courses
  * - Deleting courses
  * 
- * All endpoints are under the base path '/api/v1/courses'
+ * All endpoints are under the base path '/api/v1/courses'. Registered when the
+ * application runs on the servlet stack (the default); reactive deployments serve
+ * the reads through ReactiveCourseController instead.
  */
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/v1/courses")
 @Tag(name = "Courses", description = "Course management endpoints")
 public class CourseController {
@@ -53,39 +70,106 @@ public class CourseController {
     }
 
     /**
-     * Retrieves all courses.
+     * Retrieves one page of courses.
+     * The cursor of the next page, if any, is returned in the X-Next-Cursor header.
+     * The page carries an ETag; a matching If-None-Match gets 304 Not Modified.
      * 
-     * @return ResponseEntity containing a list of all CourseDTOs
+     * @param query DTO containing the filters, sort and cursor of the page
+     * @param request The current request, holding its conditional headers
+     * @return ResponseEntity containing a page of CourseDTOs, or null if not modified
      */
-    @Operation(summary = "Get all courses")
+    @Operation(summary = "Get courses, keyset paginated")
     @GetMapping
-    public List<CourseDTO> getAllCourses() {
-        return courseService.findAllCourses();
+    public ResponseEntity<List<CourseDTO>> getAllCourses(@Valid @ParameterObject CourseQueryDTO query,
+                                                         WebRequest request) {
+        CursorPageDTO<CourseDTO> page = courseService
+                .findCourses(query, ConditionalRequests.notModifiedCheck(request))
+                .orElse(null);
+        if (page == null) {
+            return null;
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(CursorPageDTO.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
     }
 
     /**
      * Retrieves a specific course by ID.
+     * The course carries an ETag and Last-Modified; a matching If-None-Match
+     * or If-Modified-Since gets 304 Not Modified.
      * 
      * @param id The ID of the course to retrieve
-     * @return ResponseEntity containing the found CourseDTO
+     * @param request The current request, holding its conditional headers
+     * @return ResponseEntity containing the found CourseDTO, or null if not modified
      */
     @Operation(summary = "Get course by ID")
     @GetMapping("/{id}")
-    public CourseDTO getCourseById(@PathVariable Long id) {
-        return courseService.findCourseById(id);
+    public CourseDTO getCourseById(@PathVariable Long id, WebRequest request) {
+        return courseService.findCourseById(id, ConditionalRequests.notModifiedCheck(request))
+                .orElse(null);
     }
 
     /**
-     * Updates an existing course.
+     * Searches courses by keyword in their name and description, most relevant first.
+     * The cursor of the next page, if any, is returned in the X-Next-Cursor header.
+     * 
+     * @param query DTO containing the search words, cursor and size of the page
+     * @return ResponseEntity containing a page of CourseDTOs
+     */
+    @Operation(summary = "Search courses by keyword, ranked by relevance")
+    @GetMapping("/search")
+    public ResponseEntity<List<CourseDTO>> searchCourses(@Valid @ParameterObject CourseSearchQueryDTO query) {
+        CursorPageDTO<CourseDTO> page = courseService.searchCourses(query);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(CursorPageDTO.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+
+    /**
+     * Retrieves one page of the students enrolled in a course, ordered by student id.
+     * The cursor of the next page, if any, is returned in the X-Next-Cursor header
+     * and the number of enrolled students in the X-Total-Count header.
+     * 
+     * @param id The ID of the course
+     * @param query DTO containing the cursor and size of the page
+     * @return ResponseEntity containing a page of StudentDTOs
+     */
+    @Operation(summary = "Get the students enrolled in a course, keyset paginated")
+    @GetMapping("/{id}/students")
+    public ResponseEntity<List<StudentDTO>> getCourseStudents(@PathVariable Long id,
+                                                              @Valid @ParameterObject RosterQueryDTO query) {
+        CursorPageDTO<StudentDTO> page = courseService.findCourseStudents(id, query);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(CursorPageDTO.TOTAL_COUNT_HEADER, String.valueOf(page.getTotalCount()));
+        if (page.getNextCursor() != null) {
+            response.header(CursorPageDTO.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+
+    /**
+     * Updates the given fields of an existing course (PUT and PATCH alike).
+     * With an If-Match header, the update only applies if the course still has that ETag.
+     * The new ETag of the course is returned as a header.
      * 
      * @param id              The ID of the course to update
+     * @param ifMatch         The ETag the client last read, or null to update any version
      * @param updateCourseDTO DTO containing the updated course information
+     * @param response        The HTTP response receiving the new ETag
      * @return ResponseEntity containing the updated CourseDTO
      */
-    @Operation(summary = "Update course")
-    @PutMapping("/{id}")
-    public CourseDTO updateCourse(@PathVariable Long id, @Valid @RequestBody UpdateCourseDTO updateCourseDTO) {
-        return courseService.updateCourse(id, updateCourseDTO);
+    @Operation(summary = "Update course fields, optionally only if unchanged since read (If-Match)")
+    @RequestMapping(value = "/{id}", method = {RequestMethod.PUT, RequestMethod.PATCH})
+    public CourseDTO updateCourse(@PathVariable Long id,
+                                  @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                  @Valid @RequestBody UpdateCourseDTO updateCourseDTO,
+                                  HttpServletResponse response) {
+        return courseService.updateCourse(id, ETagConverter.toVersion(ifMatch), updateCourseDTO,
+                ConditionalRequests.validators(response));
     }
 
     /**
@@ -100,4 +184,17 @@ public class CourseController {
     public void deleteCourse(@PathVariable Long id) {
         courseService.deleteCourse(id);
     }
+
+    /**
+     * Deletes many courses by their IDs, together with their enrollments.
+     * Unknown IDs are reported in the result without preventing the others from being deleted.
+     * 
+     * @param ids The IDs of the courses to delete
+     * @return BulkDeleteResultDTO with the number deleted and the IDs not found
+     */
+    @Operation(summary = "Delete courses in bulk")
+    @DeleteMapping("/bulk")
+    public BulkDeleteResultDTO deleteCourses(@RequestBody List<Long> ids) {
+        return courseService.deleteCourses(ids);
+    }
 }
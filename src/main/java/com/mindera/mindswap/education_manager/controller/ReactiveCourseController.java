@@ -0,0 +1,86 @@
+package com.mindera.mindswap.education_manager.controller;
+
+import com.mindera.mindswap.education_manager.dto.CourseDTO;
+import com.mindera.mindswap.education_manager.dto.StudentDTO;
+import com.mindera.mindswap.education_manager.service.ReactiveCourseService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive REST Controller serving course reads on the WebFlux event loop.
+ * 
+ * Only registered when the application runs as a reactive web application
+ * ({@code spring.main.web-application-type=reactive}), in place of CourseController.
+ * 
+ * This controller provides endpoints for:
+ * - Streaming the course catalog
+ * - Retrieving a single course
+ * - Streaming the roster of students enrolled in a course
+ * 
+ * Lists are written as they are read from the database, as a JSON array or,
+ * when asked for, as newline delimited JSON; they are never buffered whole.
+ * 
+ * All endpoints are under the base path '/api/v1/courses'
+ */
+@RestController
+@RequestMapping("/api/v1/courses")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Tag(name = "Courses", description = "Course management endpoints")
+public class ReactiveCourseController {
+
+    private final ReactiveCourseService courseService;
+
+    /**
+     * Constructs a new ReactiveCourseController with required dependencies.
+     * 
+     * @param courseService Service for non-blocking course reads
+     */
+    public ReactiveCourseController(ReactiveCourseService courseService) {
+        this.courseService = courseService;
+    }
+
+    /**
+     * Streams the courses, ordered by id.
+     * 
+     * @param name Name prefix to filter by, optional
+     * @return Flux of CourseDTOs
+     */
+    @Operation(summary = "Stream courses")
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<CourseDTO> getAllCourses(@RequestParam(required = false) String name) {
+        return courseService.streamCourses(name);
+    }
+
+    /**
+     * Retrieves a specific course by ID.
+     * 
+     * @param id The ID of the course to retrieve
+     * @return Mono of the CourseDTO
+     */
+    @Operation(summary = "Get course by ID")
+    @GetMapping("/{id}")
+    public Mono<CourseDTO> getCourseById(@PathVariable Long id) {
+        return courseService.findCourseById(id);
+    }
+
+    /**
+     * Streams the students enrolled in a course, ordered by id.
+     * 
+     * @param id The ID of the course
+     * @return Flux of StudentDTOs
+     */
+    @Operation(summary = "Stream the students enrolled in a course")
+    @GetMapping(value = "/{id}/students", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<StudentDTO> getCourseStudents(@PathVariable Long id) {
+        return courseService.streamCourseStudents(id);
+    }
+}
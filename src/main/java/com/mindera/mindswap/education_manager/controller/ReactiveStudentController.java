@@ -0,0 +1,84 @@
+package com.mindera.mindswap.education_manager.controller;
+
+import com.mindera.mindswap.education_manager.dto.CourseDTO;
+import com.mindera.mindswap.education_manager.dto.StudentDTO;
+import com.mindera.mindswap.education_manager.service.ReactiveStudentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive REST Controller serving student reads on the WebFlux event loop.
+ * 
+ * Only registered when the application runs as a reactive web application
+ * ({@code spring.main.web-application-type=reactive}), in place of StudentController.
+ * 
+ * This controller provides endpoints for:
+ * - Streaming all students
+ * - Retrieving a single student
+ * - Streaming the courses a student is enrolled in
+ * 
+ * All endpoints are under the base path '/api/v1/students'
+ */
+@RestController
+@RequestMapping("/api/v1/students")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Tag(name = "Students Controller", description = "Student management endpoints")
+public class ReactiveStudentController {
+
+    private final ReactiveStudentService studentService;
+
+    /**
+     * Constructs a new ReactiveStudentController with required dependencies.
+     * 
+     * @param studentService Service for non-blocking student reads
+     */
+    public ReactiveStudentController(ReactiveStudentService studentService) {
+        this.studentService = studentService;
+    }
+
+    /**
+     * Streams every student, ordered by id.
+     * 
+     * @return Flux of StudentDTOs
+     */
+    @Operation(summary = "Stream students")
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<StudentDTO> getAllStudents() {
+        return studentService.streamStudents();
+    }
+
+    /**
+     * Retrieves a specific student by ID.
+     * 
+     * @param id The ID of the student to retrieve
+     * @return Mono of the StudentDTO
+     */
+    @Operation(summary = "Get student by ID")
+    @GetMapping("/{id}")
+    public Mono<StudentDTO> getStudentById(@PathVariable Long id) {
+        return studentService.findStudentById(id);
+    }
+
+    /**
+     * Streams the courses a student is enrolled in, ordered by name.
+     * 
+     * @param id The ID of the student
+     * @param includeDescription Whether to include the course descriptions
+     * @return Flux of CourseDTOs
+     */
+    @Operation(summary = "Stream the courses a student is enrolled in")
+    @GetMapping(value = "/{id}/courses", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<CourseDTO> getStudentCourses(@PathVariable Long id,
+                                             @RequestParam(defaultValue = "true") boolean includeDescription) {
+        return studentService.streamStudentCourses(id, includeDescription);
+    }
+}
@@ -1,46 +1,81 @@
 package com.mindera.mindswap.education_manager.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mindera.mindswap.education_manager.converter.ETagConverter;
+import com.mindera.mindswap.education_manager.dto.BulkDeleteResultDTO;
+import com.mindera.mindswap.education_manager.dto.BulkResultDTO;
+import com.mindera.mindswap.education_manager.dto.CourseDTO;
 import com.mindera.mindswap.education_manager.dto.CreateStudentDTO;
+import com.mindera.mindswap.education_manager.dto.CursorPageDTO;
+import com.mindera.mindswap.education_manager.dto.EnrollmentRequestDTO;
 import com.mindera.mindswap.education_manager.dto.StudentCourseDTO;
 import com.mindera.mindswap.education_manager.dto.StudentDTO;
+import com.mindera.mindswap.education_manager.dto.StudentQueryDTO;
+import com.mindera.mindswap.education_manager.dto.StudentSearchQueryDTO;
 import com.mindera.mindswap.education_manager.dto.UpdateStudentDTO;
 import com.mindera.mindswap.education_manager.service.StudentService;
+import com.mindera.mindswap.education_manager.validation.UniquenessChecks;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.groups.Default;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.util.List;
 
 /**
  * REST Controller for managing student operations.
  * 
  * This controller provides endpoints for:
- * - Creating new students
- * - Retrieving student information (single or all)
+ * - Creating new students (single or in bulk)
+ * - Retrieving student information (single or keyset paginated pages)
+ * - Retrieving the courses a student is enrolled in
+ * - Exporting all students as NDJSON
  * - Updating existing students
  * - Deleting students
- * - Managing course enrollments
+ * - Managing course enrollments (single or in bulk)
  * 
- * All endpoints are under the base path '/api/v1/students'
+ * All endpoints are under the base path '/api/v1/students'. Registered when the
+ * application runs on the servlet stack (the default); reactive deployments serve
+ * the reads through ReactiveStudentController instead.
  */
 @RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/api/v1/students")
 @Tag(name = "Students Controller", description = "Student management endpoints")
 public class StudentController {
 
+        private static final String NDJSON = "application/x-ndjson";
+        private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
         private final StudentService studentService;
+        private final ObjectMapper objectMapper;
 
         /**
          * Constructs a new StudentController with required dependencies.
          * 
          * @param studentService Service for handling student business logic
+         * @param objectMapper Jackson mapper used to read NDJSON request bodies
          */
         @Autowired
-        public StudentController(StudentService studentService) {
+        public StudentController(StudentService studentService, ObjectMapper objectMapper) {
                 this.studentService = studentService;
+                this.objectMapper = objectMapper;
         }
 
         /**
@@ -52,44 +87,155 @@ public class StudentController {
         @Operation(summary = "Create a new student")
         @PostMapping
         @ResponseStatus(HttpStatus.CREATED)
-        public StudentDTO createStudent(@Valid @RequestBody CreateStudentDTO createStudentDTO) {
+        public StudentDTO createStudent(
+                        @Validated({Default.class, UniquenessChecks.class}) @RequestBody CreateStudentDTO createStudentDTO) {
                 return studentService.createStudent(createStudentDTO);
         }
 
         /**
-         * Retrieves all students.
+         * Creates many students from a JSON array.
+         * Items are validated one by one; invalid or duplicate items are reported
+         * in the result without preventing the others from being created.
+         * 
+         * @param students The students to create
+         * @return BulkResultDTO with the outcome of every item
+         */
+        @Operation(summary = "Create students in bulk from a JSON array")
+        @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+        public BulkResultDTO createStudents(@RequestBody List<CreateStudentDTO> students) {
+                return studentService.createStudents(students.iterator());
+        }
+
+        /**
+         * Creates many students from newline delimited JSON (one CreateStudentDTO per line).
+         * The request body is read while the students are being created.
+         * 
+         * @param request The HTTP request carrying the NDJSON body
+         * @return BulkResultDTO with the outcome of every item
+         * @throws IOException if the request body cannot be read
+         */
+        @Operation(summary = "Create students in bulk from an NDJSON stream")
+        @PostMapping(value = "/bulk", consumes = NDJSON)
+        public BulkResultDTO createStudentsFromStream(HttpServletRequest request) throws IOException {
+                try (MappingIterator<CreateStudentDTO> students = objectMapper
+                        .readerFor(CreateStudentDTO.class)
+                        .readValues(request.getInputStream())) {
+                        return studentService.createStudents(students);
+                } catch (RuntimeException e) {
+                        if (e.getCause() instanceof JsonProcessingException cause) {
+                                throw new IllegalArgumentException("Malformed NDJSON body: " + cause.getOriginalMessage());
+                        }
+                        throw e;
+                }
+        }
+
+        /**
+         * Retrieves one page of students.
+         * The cursor of the next page, if any, is returned in the X-Next-Cursor header.
+         * The page carries an ETag; a matching If-None-Match gets 304 Not Modified.
          * 
-         * @return ResponseEntity containing a list of all StudentDTOs
+         * @param query DTO containing the filters, sort and cursor of the page
+         * @param request The current request, holding its conditional headers
+         * @return ResponseEntity containing a page of StudentDTOs, or null if not modified
          */
-        @Operation(summary = "Get all students")
+        @Operation(summary = "Get students, keyset paginated")
         @GetMapping
-        public List<StudentDTO> getAllStudents() {
-                return studentService.findAllStudents();
+        public ResponseEntity<List<StudentDTO>> getAllStudents(@Valid @ParameterObject StudentQueryDTO query,
+                                                               WebRequest request) {
+                CursorPageDTO<StudentDTO> page = studentService
+                        .findStudents(query, ConditionalRequests.notModifiedCheck(request))
+                        .orElse(null);
+                if (page == null) {
+                        return null;
+                }
+                ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                if (page.getNextCursor() != null) {
+                        response.header(CursorPageDTO.NEXT_CURSOR_HEADER, page.getNextCursor());
+                }
+                return response.body(page.getItems());
+        }
+
+        /**
+         * Looks students up by email, name prefix or substring, ignoring case.
+         * The cursor of the next page, if any, is returned in the X-Next-Cursor header.
+         * 
+         * @param query DTO containing the criteria, cursor and size of the page
+         * @return ResponseEntity containing a page of matching StudentDTOs
+         */
+        @Operation(summary = "Look students up by email, name prefix or substring")
+        @GetMapping("/search")
+        public ResponseEntity<List<StudentDTO>> searchStudents(@Valid @ParameterObject StudentSearchQueryDTO query) {
+                CursorPageDTO<StudentDTO> page = studentService.searchStudents(query);
+                ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+                if (page.getNextCursor() != null) {
+                        response.header(CursorPageDTO.NEXT_CURSOR_HEADER, page.getNextCursor());
+                }
+                return response.body(page.getItems());
+        }
+
+        /**
+         * Streams every student as newline delimited JSON.
+         * Rows are written to the response as they are read from the database.
+         * 
+         * @return ResponseEntity streaming one StudentDTO per line
+         */
+        @Operation(summary = "Export all students as NDJSON")
+        @GetMapping(value = "/export", produces = NDJSON)
+        public ResponseEntity<StreamingResponseBody> exportStudents() {
+                return ResponseEntity.ok()
+                        .contentType(MediaType.parseMediaType(NDJSON))
+                        .body(studentService::exportStudents);
         }
 
         /**
          * Retrieves a specific student by ID.
+         * The student carries an ETag and Last-Modified; a matching If-None-Match
+         * or If-Modified-Since gets 304 Not Modified.
          * 
          * @param id The ID of the student to retrieve
-         * @return ResponseEntity containing the found StudentDTO
+         * @param request The current request, holding its conditional headers
+         * @return ResponseEntity containing the found StudentDTO, or null if not modified
          */
         @Operation(summary = "Get student by ID")
         @GetMapping("/{id}")
-        public StudentDTO getStudentById(@PathVariable Long id) {
-                return studentService.findStudentById(id);
+        public StudentDTO getStudentById(@PathVariable Long id, WebRequest request) {
+                return studentService.findStudentById(id, ConditionalRequests.notModifiedCheck(request))
+                        .orElse(null);
         }
 
         /**
-         * Updates an existing student.
+         * Retrieves the courses a student is enrolled in, ordered by name.
+         * 
+         * @param id                 The ID of the student
+         * @param includeDescription Whether to include the course descriptions
+         * @return List of CourseDTOs the student is enrolled in
+         */
+        @Operation(summary = "Get the courses a student is enrolled in")
+        @GetMapping("/{id}/courses")
+        public List<CourseDTO> getStudentCourses(@PathVariable Long id,
+                        @RequestParam(defaultValue = "true") boolean includeDescription) {
+                return studentService.findStudentCourses(id, includeDescription);
+        }
+
+        /**
+         * Updates the given fields of an existing student (PUT and PATCH alike).
+         * With an If-Match header, the update only applies if the student still has that ETag.
+         * The new ETag and Last-Modified of the student are returned as headers.
          * 
          * @param id               The ID of the student to update
+         * @param ifMatch          The ETag the client last read, or null to update any version
          * @param updateStudentDTO DTO containing the updated student information
+         * @param response         The HTTP response receiving the new validators
          * @return ResponseEntity containing the updated StudentDTO
          */
-        @Operation(summary = "Update student")
-        @PutMapping("/{id}")
-        public StudentDTO updateStudent(@PathVariable Long id, @Valid @RequestBody UpdateStudentDTO updateStudentDTO) {
-                return studentService.updateStudent(id, updateStudentDTO);
+        @Operation(summary = "Update student fields, optionally only if unchanged since read (If-Match)")
+        @RequestMapping(value = "/{id}", method = {RequestMethod.PUT, RequestMethod.PATCH})
+        public StudentDTO updateStudent(@PathVariable Long id,
+                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                        @Valid @RequestBody UpdateStudentDTO updateStudentDTO,
+                        HttpServletResponse response) {
+                return studentService.updateStudent(id, ETagConverter.toVersion(ifMatch), updateStudentDTO,
+                        ConditionalRequests.validators(response));
         }
 
         /**
@@ -105,16 +251,63 @@ public class StudentController {
                 studentService.deleteStudent(id);
         }
 
+        /**
+         * Deletes many students by their IDs, together with their enrollments.
+         * Unknown IDs are reported in the result without preventing the others from being deleted.
+         * 
+         * @param ids The IDs of the students to delete
+         * @return BulkDeleteResultDTO with the number deleted and the IDs not found
+         */
+        @Operation(summary = "Delete students in bulk")
+        @DeleteMapping("/bulk")
+        public BulkDeleteResultDTO deleteStudents(@RequestBody List<Long> ids) {
+                return studentService.deleteStudents(ids);
+        }
+
         /**
          * Enrolls a student in a course.
+         * A request retried with the same Idempotency-Key returns the original enrollment.
          * 
-         * @param studentId The ID of the student to enroll
-         * @param courseId  The ID of the course to enroll in
+         * @param studentId      The ID of the student to enroll
+         * @param courseId       The ID of the course to enroll in
+         * @param idempotencyKey Optional client supplied key identifying the request
          * @return ResponseEntity containing the enrollment details
          */
         @Operation(summary = "Enroll student in course")
         @PostMapping("/{studentId}/courses/{courseId}")
-        public StudentCourseDTO enrollStudentInCourse(@PathVariable Long studentId, @PathVariable Long courseId) {
-                return studentService.enrollStudentInCourse(studentId, courseId);
+        public StudentCourseDTO enrollStudentInCourse(
+                        @PathVariable Long studentId,
+                        @PathVariable Long courseId,
+                        @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+                if (idempotencyKey != null && (idempotencyKey.isBlank() || idempotencyKey.length() > 100)) {
+                        throw new IllegalArgumentException("Idempotency-Key must be between 1 and 100 characters");
+                }
+                return studentService.enrollStudentInCourse(studentId, courseId, idempotencyKey);
+        }
+
+        /**
+         * Removes a student's enrollment in a course.
+         * 
+         * @param studentId The ID of the student to unenroll
+         * @param courseId  The ID of the course to unenroll from
+         */
+        @Operation(summary = "Unenroll student from course")
+        @DeleteMapping("/{studentId}/courses/{courseId}")
+        @ResponseStatus(HttpStatus.NO_CONTENT)
+        public void unenrollStudentFromCourse(@PathVariable Long studentId, @PathVariable Long courseId) {
+                studentService.unenrollStudentFromCourse(studentId, courseId);
+        }
+
+        /**
+         * Enrolls many (student, course) pairs in one transaction.
+         * Each pair is reported as created, duplicate, missing student or missing course.
+         * 
+         * @param enrollments The pairs to enroll
+         * @return BulkResultDTO with the outcome of every pair
+         */
+        @Operation(summary = "Enroll students in courses in bulk")
+        @PostMapping("/enrollments/bulk")
+        public BulkResultDTO enrollStudentsInCourses(@RequestBody List<EnrollmentRequestDTO> enrollments) {
+                return studentService.enrollStudentsInCourses(enrollments.iterator());
         }
 }
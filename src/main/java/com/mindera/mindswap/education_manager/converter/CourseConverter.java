@@ -39,6 +39,8 @@ public class CourseConverter {
         dto.setId(course.getId());
         dto.setName(course.getName());
         dto.setDescription(course.getDescription());
+        dto.setCapacity(course.getCapacity());
+        dto.setEnrolledCount(course.getEnrolledCount());
         return dto;
     }
 
@@ -57,6 +59,7 @@ public class CourseConverter {
         Course course = new Course();
         course.setName(dto.getName());
         course.setDescription(dto.getDescription());
+        course.setCapacity(dto.getCapacity());
         return course;
     }
 }
@@ -0,0 +1,76 @@
+package com.mindera.mindswap.education_manager.converter;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Utility class for converting between keyset positions and opaque cursor tokens.
+ * 
+ * A cursor identifies the last element of a page by the value of the sort
+ * property and its id, which together are unique and let the next page be
+ * fetched with a seek predicate instead of an OFFSET. The token is URL safe
+ * and records the sort property it was created for, so it cannot be replayed
+ * against a listing sorted differently.
+ * 
+ * The class cannot be instantiated as it only contains static utility methods.
+ */
+public class CursorConverter {
+
+    private static final String SEPARATOR = "\n";
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     * 
+     * @throws IllegalStateException if an attempt is made to instantiate the class
+     */
+    private CursorConverter() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Encodes a keyset position into a cursor token.
+     * 
+     * @param sort The property the listing is sorted by
+     * @param value The value of the sort property of the last element
+     * @param id The id of the last element
+     * @return URL safe cursor token
+     */
+    public static String toToken(String sort, Object value, Long id) {
+        String raw = sort + SEPARATOR + id + SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor token into a keyset position.
+     * 
+     * @param token The cursor token received from the client
+     * @param sort The property the listing is currently sorted by
+     * @return Cursor holding the sort value and id of the last element seen
+     * @throws IllegalArgumentException if the token is malformed or was created for another sort
+     */
+    public static Cursor fromToken(String token, String sort) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(SEPARATOR, 3);
+            if (parts.length != 3 || !parts[0].equals(sort)) {
+                throw new IllegalArgumentException("Cursor does not match the requested sort");
+            }
+            return new Cursor(parts[2], Long.valueOf(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+    }
+
+    /**
+     * Decoded keyset position: the sort value and id of the last element of a page.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Cursor {
+        private final String value;
+        private final Long id;
+    }
+}
@@ -0,0 +1,126 @@
+package com.mindera.mindswap.education_manager.converter;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Utility class for computing strong entity tags (ETags) of resources.
+ * 
+ * A single resource is tagged with the version of its row, which Hibernate
+ * increments on every update, followed by any derived counter kept outside the
+ * row (such as the enrolled count of a course). A page of a listing is tagged
+ * with a 64-bit FNV-1a fingerprint of the id, version and counters of every
+ * element and of the next page cursor, so the tag changes whenever an element of the page is inserted,
+ * updated or deleted, or the page boundary moves, without any extra query.
+ * 
+ * The class cannot be instantiated as it only contains static utility methods.
+ */
+public class ETagConverter {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     * 
+     * @throws IllegalStateException if an attempt is made to instantiate the class
+     */
+    private ETagConverter() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Computes the ETag of a single resource.
+     * 
+     * @param version The version of the resource
+     * @return Quoted strong ETag
+     */
+    public static String toETag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Computes the ETag of a single resource whose state is also held outside its row.
+     * 
+     * @param version The version of the resource
+     * @param counters The derived counters of the resource, in a fixed order
+     * @return Quoted strong ETag
+     */
+    public static String toETag(Long version, Long... counters) {
+        StringBuilder etag = new StringBuilder("\"").append(version);
+        for (Long counter : counters) {
+            etag.append('-').append(counter);
+        }
+        return etag.append('"').toString();
+    }
+
+    /**
+     * Extracts the version from the ETag of a single resource, as sent in an If-Match header.
+     * 
+     * @param etag The quoted strong ETag, "*" or null
+     * @return The version of the resource, or null if any version matches
+     * @throws IllegalArgumentException if the ETag is not one issued for a single resource
+     */
+    public static Long toVersion(String etag) {
+        if (etag == null || etag.trim().equals("*")) {
+            return null;
+        }
+        String tag = etag.trim();
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            throw new IllegalArgumentException("Malformed ETag: " + etag);
+        }
+        String value = tag.substring(1, tag.length() - 1);
+        int counters = value.indexOf('-');
+        try {
+            return Long.parseLong(counters < 0 ? value : value.substring(0, counters));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed ETag: " + etag);
+        }
+    }
+
+    /**
+     * Computes the ETag of a page of a listing.
+     * 
+     * @param items The elements of the page, in order
+     * @param id Extracts the id of an element
+     * @param version Extracts the version of an element
+     * @param nextCursor The cursor of the next page, or null if this is the last page
+     * @param <T> Type of the page elements
+     * @return Quoted strong ETag
+     */
+    public static <T> String toETag(List<T> items, Function<T, Long> id, Function<T, Long> version,
+                                    String nextCursor) {
+        return toETag(items, nextCursor, id, version);
+    }
+
+    /**
+     * Computes the ETag of a page of a listing whose elements hold state outside their rows.
+     * 
+     * @param items The elements of the page, in order
+     * @param nextCursor The cursor of the next page, or null if this is the last page
+     * @param fields Extract the id, the version and then the derived counters of an element
+     * @param <T> Type of the page elements
+     * @return Quoted strong ETag
+     */
+    @SafeVarargs
+    public static <T> String toETag(List<T> items, String nextCursor, Function<T, Long>... fields) {
+        long hash = mix(FNV_OFFSET_BASIS, items.size());
+        for (T item : items) {
+            for (Function<T, Long> field : fields) {
+                hash = mix(hash, field.apply(item));
+            }
+        }
+        if (nextCursor != null) {
+            hash = mix(hash, nextCursor.hashCode());
+        }
+        return "\"" + Long.toHexString(hash) + "\"";
+    }
+
+    private static long mix(long hash, long value) {
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash ^= (value >>> (i * 8)) & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
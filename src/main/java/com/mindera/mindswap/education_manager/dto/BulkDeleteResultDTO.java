@@ -0,0 +1,27 @@
+package com.mindera.mindswap.education_manager.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) summarising the outcome of a bulk delete.
+ * 
+ * Properties:
+ * - deleted: Number of resources that were deleted
+ * - notFound: Requested IDs that did not exist, in request order
+ */
+@Data
+public class BulkDeleteResultDTO {
+
+    /**
+     * Number of resources that were deleted.
+     */
+    private int deleted;
+
+    /**
+     * Requested IDs that did not exist, in request order.
+     */
+    private List<Long> notFound = new ArrayList<>();
+}
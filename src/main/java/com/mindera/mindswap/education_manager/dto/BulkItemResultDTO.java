@@ -0,0 +1,52 @@
+package com.mindera.mindswap.education_manager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) for the outcome of a single item of a bulk operation.
+ * 
+ * Properties:
+ * - index: Position of the item in the request, starting at 0
+ * - status: Outcome of the item
+ * - id: Identifier of the created resource, or null if the item was rejected
+ * - message: Reason the item was rejected, or null if it was created
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkItemResultDTO {
+
+    /**
+     * Possible outcomes of a bulk item.
+     */
+    public enum Status {
+        CREATED,
+        INVALID,
+        DUPLICATE,
+        MISSING_STUDENT,
+        MISSING_COURSE,
+        COURSE_FULL
+    }
+
+    /**
+     * Position of the item in the request, starting at 0.
+     */
+    private int index;
+
+    /**
+     * Outcome of the item.
+     */
+    private Status status;
+
+    /**
+     * Identifier of the created resource, or null if the item was rejected.
+     */
+    private Long id;
+
+    /**
+     * Reason the item was rejected, or null if it was created.
+     */
+    private String message;
+}
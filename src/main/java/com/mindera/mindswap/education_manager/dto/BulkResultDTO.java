@@ -0,0 +1,47 @@
+package com.mindera.mindswap.education_manager.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) summarising the outcome of a bulk operation.
+ * 
+ * Properties:
+ * - created: Number of items that were created
+ * - rejected: Number of items that were rejected
+ * - items: Outcome of every item, in request order
+ */
+@Data
+public class BulkResultDTO {
+
+    /**
+     * Number of items that were created.
+     */
+    private int created;
+
+    /**
+     * Number of items that were rejected.
+     */
+    private int rejected;
+
+    /**
+     * Outcome of every item, in request order.
+     */
+    private List<BulkItemResultDTO> items = new ArrayList<>();
+
+    /**
+     * Records the outcome of an item and updates the counters.
+     * 
+     * @param item The outcome of the item
+     */
+    public void add(BulkItemResultDTO item) {
+        items.add(item);
+        if (item.getStatus() == BulkItemResultDTO.Status.CREATED) {
+            created++;
+        } else {
+            rejected++;
+        }
+    }
+}
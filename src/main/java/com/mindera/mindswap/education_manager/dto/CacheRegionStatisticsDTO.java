@@ -0,0 +1,48 @@
+package com.mindera.mindswap.education_manager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) for the statistics of a second-level cache region.
+ * 
+ * Counters are cumulative since the application started.
+ * 
+ * Properties:
+ * - region: Name of the cache region
+ * - hitCount: Number of lookups served from the region
+ * - missCount: Number of lookups that had to go to the database
+ * - putCount: Number of entries stored in the region
+ * - hitRatio: Share of lookups served from the region, between 0 and 1
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheRegionStatisticsDTO {
+
+    /**
+     * Name of the cache region.
+     */
+    private String region;
+
+    /**
+     * Number of lookups served from the region.
+     */
+    private long hitCount;
+
+    /**
+     * Number of lookups that had to go to the database.
+     */
+    private long missCount;
+
+    /**
+     * Number of entries stored in the region.
+     */
+    private long putCount;
+
+    /**
+     * Share of lookups served from the region, between 0 and 1.
+     */
+    private double hitRatio;
+}
@@ -1,6 +1,9 @@
 package com.mindera.mindswap.education_manager.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 /**
  * Data Transfer Object (DTO) for representing course information.
@@ -12,9 +15,13 @@ import lombok.Data;
  * Properties:
  * - id: Unique identifier of the course
  * - name: Name of the course
- * - description: Detailed description of the course
+ * - description: Detailed description of the course, omitted from summaries
+ * - capacity: Maximum number of students, or null if unlimited
+ * - enrolledCount: Number of students enrolled in the course
  */
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class CourseDTO {
     /**
      * Unique identifier of the course.
@@ -28,6 +35,30 @@ public class CourseDTO {
 
     /**
      * Detailed description of the course.
+     * Left out of the JSON when null, as in course summaries.
      */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String description;
+
+    /**
+     * Maximum number of students that can enroll, or null if unlimited.
+     */
+    private Integer capacity;
+
+    /**
+     * Number of students enrolled in the course.
+     */
+    private Long enrolledCount;
+
+    /**
+     * Creates a course summary without the description.
+     *
+     * @param id Unique identifier of the course
+     * @param name Name of the course
+     * @param capacity Maximum number of students, or null if unlimited
+     * @param enrolledCount Number of students enrolled in the course
+     */
+    public CourseDTO(Long id, String name, Integer capacity, Long enrolledCount) {
+        this(id, name, null, capacity, enrolledCount);
+    }
 }
@@ -0,0 +1,50 @@
+package com.mindera.mindswap.education_manager.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) holding the query parameters of the course listing.
+ * 
+ * All fields are optional. The listing is paginated with a keyset cursor so
+ * every page costs the same regardless of how deep into the collection it is.
+ * 
+ * Validation rules:
+ * - Sort: Optional, one of id or name (default id)
+ * - Direction: Optional, asc or desc (default asc)
+ * - Limit: Optional, between 1 and 1000 (default 50)
+ */
+@Data
+public class CourseQueryDTO {
+
+    /**
+     * Only courses whose name starts with this value are returned.
+     */
+    private String name;
+
+    /**
+     * Property the listing is sorted by. Ties are broken by id.
+     */
+    @Pattern(regexp = "id|name", message = "Sort must be one of id, name")
+    private String sort = "id";
+
+    /**
+     * Direction of the sort.
+     */
+    @Pattern(regexp = "(?i)asc|desc", message = "Direction must be asc or desc")
+    private String direction = "asc";
+
+    /**
+     * Cursor returned with the previous page, or null for the first page.
+     */
+    private String after;
+
+    /**
+     * Maximum number of courses in the page.
+     */
+    @Min(value = 1, message = "Limit must be between 1 and 1000")
+    @Max(value = 1000, message = "Limit must be between 1 and 1000")
+    private Integer limit = 50;
+}
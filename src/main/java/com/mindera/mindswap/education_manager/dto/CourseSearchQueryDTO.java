@@ -0,0 +1,41 @@
+package com.mindera.mindswap.education_manager.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) holding the query parameters of the course search.
+ * 
+ * Results are ranked by relevance and paginated with a keyset cursor on
+ * (rank, id), so every page costs the same regardless of how deep it is.
+ * 
+ * Validation rules:
+ * - Q: Required, at most 200 characters
+ * - Limit: Optional, between 1 and 100 (default 20)
+ */
+@Data
+public class CourseSearchQueryDTO {
+
+    /**
+     * Words to look for in the course name and description.
+     * Supports "quoted phrases", or and -excluded words.
+     */
+    @NotBlank(message = "Search query is required")
+    @Size(max = 200, message = "Search query must not exceed 200 characters")
+    private String q;
+
+    /**
+     * Cursor returned with the previous page, or null for the first page.
+     */
+    private String after;
+
+    /**
+     * Maximum number of courses in the page.
+     */
+    @Min(value = 1, message = "Limit must be between 1 and 100")
+    @Max(value = 100, message = "Limit must be between 1 and 100")
+    private Integer limit = 20;
+}
@@ -1,5 +1,6 @@
 package com.mindera.mindswap.education_manager.dto;
 
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
@@ -14,6 +15,7 @@ import lombok.Data;
  * Validation rules:
  * - Name: Required, between 1 and 50 characters
  * - Description: Required, between 1 and 1000 characters
+ * - Capacity: Optional, 0 or more (unlimited when omitted)
  */
 @Data
 public class CreateCourseDTO {
@@ -33,4 +35,11 @@ public class CreateCourseDTO {
     @NotBlank(message = "Description is required")
     @Size(min = 1, max = 1000, message = "Description must be between 1 and 1000 characters")
     private String description;
+
+    /**
+     * Maximum number of students that can enroll in the course.
+     * Optional field, the course is unlimited when omitted.
+     */
+    @Min(value = 0, message = "Capacity must not be negative")
+    private Integer capacity;
 }
@@ -1,6 +1,7 @@
 package com.mindera.mindswap.education_manager.dto;
 
 import com.mindera.mindswap.education_manager.validation.UniqueEmail;
+import com.mindera.mindswap.education_manager.validation.UniquenessChecks;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -16,7 +17,8 @@ import lombok.Data;
  * Validation rules:
  * - First Name: Required, minimum 2 characters, maximum 50 characters
  * - Last Name: Required, minimum 2 characters, maximum 50 characters
- * - Email: Required, valid format, maximum 100 characters
+ * - Email: Required, valid format, maximum 100 characters, unique
+ *   (uniqueness is checked in the {@link UniquenessChecks} group)
  */
 @Data
 public class CreateStudentDTO {
@@ -44,6 +46,6 @@ public class CreateStudentDTO {
     @NotBlank(message = "Email is required")
     @Email(message = "Invalid email format")
     @Size(max = 100, message = "Email must not exceed 100 characters")
-    @UniqueEmail
+    @UniqueEmail(groups = UniquenessChecks.class)
     private String email;
 }
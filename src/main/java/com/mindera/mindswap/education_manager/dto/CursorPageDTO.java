@@ -0,0 +1,63 @@
+package com.mindera.mindswap.education_manager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for a single page of a keyset (cursor) paginated listing.
+ * 
+ * The items of the page are returned as the response body, while the cursor
+ * pointing at the next page is returned in the {@value #NEXT_CURSOR_HEADER}
+ * response header. Clients walk the whole collection by passing that value back
+ * as the {@code after} query parameter until the header is no longer present.
+ * 
+ * Properties:
+ * - items: Elements of the current page
+ * - nextCursor: Opaque token of the next page, or null if this is the last page
+ * - totalCount: Number of elements across all pages, or null if the listing does not count them
+ *
+ * @param <T> Type of the page elements
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+
+    /**
+     * Name of the response header carrying the next page cursor.
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /**
+     * Name of the response header carrying the total number of elements, when counted.
+     */
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    /**
+     * Elements of the current page.
+     */
+    private List<T> items;
+
+    /**
+     * Opaque token of the next page, or null if this is the last page.
+     */
+    private String nextCursor;
+
+    /**
+     * Number of elements across all pages, or null if the listing does not count them.
+     */
+    private Long totalCount;
+
+    /**
+     * Creates a page of a listing that does not count its elements.
+     *
+     * @param items Elements of the current page
+     * @param nextCursor Opaque token of the next page, or null if this is the last page
+     */
+    public CursorPageDTO(List<T> items, String nextCursor) {
+        this(items, nextCursor, null);
+    }
+}
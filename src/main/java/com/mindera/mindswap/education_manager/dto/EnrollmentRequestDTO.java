@@ -0,0 +1,31 @@
+package com.mindera.mindswap.education_manager.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object (DTO) for one (student, course) pair of a bulk enrollment.
+ * 
+ * Validation rules:
+ * - Student ID: Required
+ * - Course ID: Required
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnrollmentRequestDTO {
+
+    /**
+     * Identifier of the student to enroll.
+     */
+    @NotNull(message = "Student ID is required")
+    private Long studentId;
+
+    /**
+     * Identifier of the course to enroll the student in.
+     */
+    @NotNull(message = "Course ID is required")
+    private Long courseId;
+}
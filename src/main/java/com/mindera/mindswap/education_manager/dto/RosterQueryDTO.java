@@ -0,0 +1,30 @@
+package com.mindera.mindswap.education_manager.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) holding the query parameters of a course roster.
+ * 
+ * All fields are optional. The roster is sorted by student id and paginated
+ * with a keyset cursor.
+ * 
+ * Validation rules:
+ * - Limit: Optional, between 1 and 1000 (default 50)
+ */
+@Data
+public class RosterQueryDTO {
+
+    /**
+     * Cursor returned with the previous page, or null for the first page.
+     */
+    private String after;
+
+    /**
+     * Maximum number of students in the page.
+     */
+    @Min(value = 1, message = "Limit must be between 1 and 1000")
+    @Max(value = 1000, message = "Limit must be between 1 and 1000")
+    private Integer limit = 50;
+}
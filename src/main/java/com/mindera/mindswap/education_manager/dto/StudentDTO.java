@@ -1,6 +1,8 @@
 package com.mindera.mindswap.education_manager.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 /**
  * Data Transfer Object (DTO) for representing student information.
@@ -16,6 +18,8 @@ import lombok.Data;
  * - email: Student's email address
  */
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class StudentDTO {
     /**
      * Unique identifier of the student.
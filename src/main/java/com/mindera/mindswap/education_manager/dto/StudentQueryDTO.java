@@ -0,0 +1,56 @@
+package com.mindera.mindswap.education_manager.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) holding the query parameters of the student listing.
+ * 
+ * All fields are optional. Filters are combined with AND, and the listing is
+ * paginated with a keyset cursor so every page costs the same regardless of
+ * how deep into the collection it is.
+ * 
+ * Validation rules:
+ * - Sort: Optional, one of id, lastName, firstName or email (default id)
+ * - Direction: Optional, asc or desc (default asc)
+ * - Limit: Optional, between 1 and 1000 (default 50)
+ */
+@Data
+public class StudentQueryDTO {
+
+    /**
+     * Only students whose last name starts with this value are returned.
+     */
+    private String lastName;
+
+    /**
+     * Only students whose email belongs to this domain are returned.
+     */
+    private String emailDomain;
+
+    /**
+     * Property the listing is sorted by. Ties are broken by id.
+     */
+    @Pattern(regexp = "id|lastName|firstName|email", message = "Sort must be one of id, lastName, firstName, email")
+    private String sort = "id";
+
+    /**
+     * Direction of the sort.
+     */
+    @Pattern(regexp = "(?i)asc|desc", message = "Direction must be asc or desc")
+    private String direction = "asc";
+
+    /**
+     * Cursor returned with the previous page, or null for the first page.
+     */
+    private String after;
+
+    /**
+     * Maximum number of students in the page.
+     */
+    @Min(value = 1, message = "Limit must be between 1 and 1000")
+    @Max(value = 1000, message = "Limit must be between 1 and 1000")
+    private Integer limit = 50;
+}
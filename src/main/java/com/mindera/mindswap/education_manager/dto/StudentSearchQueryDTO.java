@@ -0,0 +1,59 @@
+package com.mindera.mindswap.education_manager.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) holding the query parameters of the student lookup.
+ *
+ * At least one criterion is required. Criteria are combined with AND and all
+ * of them ignore case. Results are ordered by id and paginated with a keyset
+ * cursor, so every page costs the same regardless of how deep it is.
+ *
+ * Validation rules:
+ * - Email: Optional, at most 100 characters
+ * - Last name, first name: Optional, at most 50 characters
+ * - Contains: Optional, between 3 and 100 characters
+ * - Limit: Optional, between 1 and 100 (default 20)
+ */
+@Data
+public class StudentSearchQueryDTO {
+
+    /**
+     * Only the student with exactly this email is returned.
+     */
+    @Size(max = 100, message = "Email must not exceed 100 characters")
+    private String email;
+
+    /**
+     * Only students whose last name starts with this value are returned.
+     */
+    @Size(max = 50, message = "Last name must not exceed 50 characters")
+    private String lastName;
+
+    /**
+     * Only students whose first name starts with this value are returned.
+     */
+    @Size(max = 50, message = "First name must not exceed 50 characters")
+    private String firstName;
+
+    /**
+     * Only students whose first name, last name or email contains this value are returned.
+     */
+    @Size(min = 3, max = 100, message = "Contains must be between 3 and 100 characters")
+    private String contains;
+
+    /**
+     * Cursor returned with the previous page, or null for the first page.
+     */
+    private String after;
+
+    /**
+     * Maximum number of students in the page.
+     */
+    @Min(value = 1, message = "Limit must be between 1 and 100")
+    @Max(value = 100, message = "Limit must be between 1 and 100")
+    private Integer limit = 20;
+}
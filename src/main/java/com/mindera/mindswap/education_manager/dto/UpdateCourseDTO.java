@@ -1,5 +1,6 @@
 package com.mindera.mindswap.education_manager.dto;
 
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
 
@@ -13,6 +14,7 @@ import lombok.Data;
  * Validation rules:
  * - Name: Optional, maximum 50 characters if provided
  * - Description: Optional, maximum 1000 characters if provided
+ * - Capacity: Optional, 0 or more and not below the enrolled count if provided
  */
 @Data
 public class UpdateCourseDTO {
@@ -30,4 +32,11 @@ public class UpdateCourseDTO {
      */
     @Size(max = 1000, message = "Description must be less than 1000 characters")
     private String description;
-}
\ No newline at end of file
+
+    /**
+     * Updated capacity for the course.
+     * Optional field, must not be below the number of enrolled students if provided.
+     */
+    @Min(value = 0, message = "Capacity must not be negative")
+    private Integer capacity;
+}
@@ -1,16 +1,33 @@
 package com.mindera.mindswap.education_manager.exception;
 
 import com.mindera.mindswap.education_manager.dto.ErrorResponseDTO;
+import com.mindera.mindswap.education_manager.model.Student;
+import com.mindera.mindswap.education_manager.model.StudentCourse;
+import org.hibernate.exception.JDBCConnectionException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import jakarta.validation.ConstraintViolationException;
 
+import java.sql.SQLTransientConnectionException;
+import java.util.Locale;
+import java.util.Map;
+
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final Map<String, String> CONSTRAINT_MESSAGES = Map.of(
+            Student.EMAIL_UNIQUE_CONSTRAINT, "This email is already in use",
+            StudentCourse.UNIQUE_CONSTRAINT, "Student is already enrolled in this course"
+    );
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ErrorResponseDTO> handleResourceNotFound(ResourceNotFoundException e) {
         return ResponseEntity
@@ -32,6 +49,53 @@ public class GlobalExceptionHandler {
                 .body(new ErrorResponseDTO(e.getMessage()));
     }
 
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponseDTO> handleDataIntegrityViolation(DataIntegrityViolationException e) {
+        String message = "The request conflicts with existing data";
+        if (e.getCause() instanceof org.hibernate.exception.ConstraintViolationException cause
+                && cause.getConstraintName() != null) {
+            message = CONSTRAINT_MESSAGES.getOrDefault(cause.getConstraintName().toLowerCase(Locale.ROOT), message);
+        }
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(new ErrorResponseDTO(message));
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponseDTO> handleOptimisticLockingFailure(OptimisticLockingFailureException e) {
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(new ErrorResponseDTO("The resource was modified concurrently, retry the request"));
+    }
+
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<ErrorResponseDTO> handleCannotCreateTransaction(CannotCreateTransactionException e) {
+        return noConnectionAvailable();
+    }
+
+    /**
+     * Connections acquired lazily, at the first statement of a transaction as with
+     * read replicas configured, fail with these instead of CannotCreateTransactionException.
+     * Only the failures to get a connection from the pool in time are answered with 503;
+     * other failures keep their default handling.
+     */
+    @ExceptionHandler({DataAccessResourceFailureException.class, JDBCConnectionException.class})
+    public ResponseEntity<ErrorResponseDTO> handleConnectionFailure(RuntimeException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTransientConnectionException) {
+                return noConnectionAvailable();
+            }
+        }
+        throw e;
+    }
+
+    @ExceptionHandler(SqlBudgetExceededException.class)
+    public ResponseEntity<ErrorResponseDTO> handleSqlBudgetExceeded(SqlBudgetExceededException e) {
+        return ResponseEntity
+                .status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ErrorResponseDTO(e.getMessage()));
+    }
+
     @ExceptionHandler(ConstraintViolationException.class)
     public ResponseEntity<ErrorResponseDTO> handleValidationExceptions(ConstraintViolationException e) {
         String message = e.getConstraintViolations().iterator().next().getMessage();
@@ -47,4 +111,11 @@ public class GlobalExceptionHandler {
                 .status(HttpStatus.BAD_REQUEST)
                 .body(new ErrorResponseDTO(message));
     }
-}
\ No newline at end of file
+
+    private static ResponseEntity<ErrorResponseDTO> noConnectionAvailable() {
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponseDTO("No database connection is available, retry the request"));
+    }
+}
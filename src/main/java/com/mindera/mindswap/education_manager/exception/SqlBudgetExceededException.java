@@ -0,0 +1,7 @@
+package com.mindera.mindswap.education_manager.exception;
+
+public class SqlBudgetExceededException extends RuntimeException {
+    public SqlBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -2,6 +2,12 @@ package com.mindera.mindswap.education_manager.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Formula;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 import java.util.List;
 import java.util.ArrayList;
 
@@ -16,11 +22,34 @@ import java.util.ArrayList;
  * - Course name (max 100 characters)
  * - Course description (max 1000 characters)
  * - Bidirectional relationship with students through StudentCourse
+ * - Composite (name, id) index backing the keyset paginated listing
+ * - Optional seat capacity
+ * - Count of enrolled students, summed from the course's seat stripes
+ * - Version and last update time, backing ETag and Last-Modified headers
+ * - Cached in the second-level cache region {@value #CACHE_REGION}, as the
+ *   catalog is read far more often than it changes
  */
 @Data
 @Entity
-@Table(name = "courses")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Course.CACHE_REGION)
+@Table(
+    name = "courses",
+    indexes = {
+        @Index(name = "idx_courses_name_id", columnList = "name,id")
+    }
+)
 public class Course {
+
+    /**
+     * Second-level cache region holding course entities.
+     */
+    public static final String CACHE_REGION = "courses";
+
+    /**
+     * Query cache region holding the results of course listing queries.
+     */
+    public static final String QUERY_CACHE_REGION = "course-queries";
     
     /**
      * Unique identifier for the course.
@@ -44,6 +73,36 @@ public class Course {
     @Column(nullable = false, length = 1000)
     private String description;
 
+    /**
+     * Maximum number of students that can enroll in the course, or null if unlimited.
+     * Enforced on the course's seat stripes (see CourseSeatStripe).
+     */
+    private Integer capacity;
+
+    /**
+     * Number of students enrolled in the course.
+     * Read as the sum of the seats taken on the course's stripes, which
+     * EnrollmentCounter maintains with atomic updates.
+     */
+    @Formula("(select coalesce(sum(s.taken), 0) from course_seat_stripes s where s.course_id = id)")
+    private Long enrolledCount = 0L;
+
+    /**
+     * Version of the course row, incremented by Hibernate on every update.
+     * Used for optimistic locking and as the strong ETag of the course.
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    /**
+     * Time of the last insert or update of the course.
+     * Sent as the Last-Modified header of the course.
+     */
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
     /**
      * List of student enrollments in this course.
      * Managed through the StudentCourse join entity.
@@ -0,0 +1,37 @@
+package com.mindera.mindswap.education_manager.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Read-only R2DBC mapping of the 'courses' table, used by the reactive read path.
+ * 
+ * The table itself is owned by the Course JPA entity; this class only carries
+ * the columns the reactive repositories need to declare their domain type.
+ */
+@Data
+@Table("courses")
+public class CourseRow {
+
+    /**
+     * Unique identifier for the course.
+     */
+    @Id
+    private Long id;
+
+    /**
+     * Name of the course.
+     */
+    private String name;
+
+    /**
+     * Description of the course.
+     */
+    private String description;
+
+    /**
+     * Maximum number of students, or null if unlimited.
+     */
+    private Integer capacity;
+}
@@ -0,0 +1,121 @@
+package com.mindera.mindswap.education_manager.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import org.springframework.data.domain.Persistable;
+
+import java.io.Serializable;
+
+/**
+ * Entity class representing one stripe of the seats of a course.
+ * 
+ * This class maps to the 'course_seat_stripes' table. The seats of a course
+ * are split over several stripe rows, each with its own share of the capacity
+ * and count of taken seats, so concurrent enrollments in the same course lock
+ * different rows instead of queuing on one. The enrolled count of the course
+ * is the sum of its stripes.
+ * 
+ * Key features:
+ * - Composite identifier of course and stripe number
+ * - Share of the course capacity, or null for an unlimited course
+ * - Number of seats taken on the stripe
+ * - Removed with the course through an ON DELETE CASCADE foreign key
+ * - Persistable, so new stripes are inserted without first being looked up
+ *   by their assigned identifier
+ */
+@Data
+@Entity
+@Table(name = "course_seat_stripes")
+@IdClass(CourseSeatStripe.Key.class)
+@NoArgsConstructor
+@AllArgsConstructor
+public class CourseSeatStripe implements Persistable<CourseSeatStripe.Key> {
+
+    /**
+     * ID of the course the stripe belongs to.
+     */
+    @Id
+    @Column(name = "course_id")
+    private Long courseId;
+
+    /**
+     * Number of the stripe within the course, starting at 0.
+     */
+    @Id
+    private Integer stripe;
+
+    /**
+     * Seats of the course capacity allotted to the stripe, or null if the course is unlimited.
+     */
+    private Integer capacity;
+
+    /**
+     * Number of seats taken on the stripe.
+     */
+    @Column(nullable = false)
+    private Integer taken;
+
+    /**
+     * The course the stripe belongs to.
+     * Only mapped to declare the cascading foreign key; the stripe is written through courseId.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "course_id", insertable = false, updatable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Course course;
+
+    /**
+     * Whether the stripe was created in memory and not yet persisted.
+     */
+    @Transient
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private boolean newStripe;
+
+    /**
+     * Creates a new stripe of a course.
+     *
+     * @param courseId ID of the course
+     * @param stripe Number of the stripe within the course
+     * @param capacity Seats allotted to the stripe, or null if the course is unlimited
+     * @param taken Number of seats taken on the stripe
+     */
+    public CourseSeatStripe(Long courseId, Integer stripe, Integer capacity, Integer taken) {
+        this(courseId, stripe, capacity, taken, null, true);
+    }
+
+    @Override
+    public Key getId() {
+        return new Key(courseId, stripe);
+    }
+
+    @Override
+    public boolean isNew() {
+        return newStripe;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        newStripe = false;
+    }
+
+    /**
+     * Composite identifier of a stripe.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long courseId;
+        private Integer stripe;
+    }
+}
@@ -0,0 +1,58 @@
+package com.mindera.mindswap.education_manager.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * Entity class recording the Idempotency-Key of an enrollment request.
+ * 
+ * This class maps to the 'enrollment_idempotency_keys' table. A key is
+ * claimed with an insert-or-ignore in the same transaction as the enrollment
+ * it protects, so a retried request carrying the same key finds the stored
+ * row and gets the original enrollment back instead of a conflict.
+ * 
+ * Key features:
+ * - Client supplied key as primary key
+ * - The (student, course) pair the key was first used for
+ * - The enrollment created under the key
+ * - Creation timestamp used to expire old keys
+ */
+@Data
+@Entity
+@Table(name = "enrollment_idempotency_keys")
+public class EnrollmentIdempotencyKey {
+
+    /**
+     * Client supplied idempotency key.
+     * Has a maximum length of 100 characters.
+     */
+    @Id
+    @Column(name = "idempotency_key", length = 100)
+    private String key;
+
+    /**
+     * ID of the student the key was first used for.
+     */
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    /**
+     * ID of the course the key was first used for.
+     */
+    @Column(name = "course_id", nullable = false)
+    private Long courseId;
+
+    /**
+     * ID of the enrollment created under the key.
+     */
+    @Column(name = "enrollment_id")
+    private Long enrollmentId;
+
+    /**
+     * Moment the key was claimed.
+     */
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
@@ -7,6 +7,9 @@ import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 import java.util.List;
 import java.util.ArrayList;
 
@@ -21,20 +24,38 @@ import java.util.ArrayList;
  * - Student personal information (first name, last name)
  * - Contact information (email)
  * - Bidirectional relationship with courses through StudentCourse
+ * - Composite (name, id) indexes backing the keyset paginated listing
+ * - Version and last update time, backing ETag and Last-Modified headers
  */
 @Data
 @Entity
-@Table(name = "students")
+@Table(
+    name = "students",
+    uniqueConstraints = {
+        @UniqueConstraint(name = Student.EMAIL_UNIQUE_CONSTRAINT, columnNames = "email")
+    },
+    indexes = {
+        @Index(name = "idx_students_last_name_id", columnList = "last_name,id"),
+        @Index(name = "idx_students_first_name_id", columnList = "first_name,id")
+    }
+)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Student {
 
+    /**
+     * Name of the unique constraint on the email column, used to report violations.
+     */
+    public static final String EMAIL_UNIQUE_CONSTRAINT = "uk_students_email";
+
     /**
      * Unique identifier for the student.
-     * Auto-generated using database sequence.
+     * Auto-generated using a pooled database sequence, which (unlike IDENTITY)
+     * lets Hibernate batch inserts since ids are known before the INSERT runs.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "students_seq")
+    @SequenceGenerator(name = "students_seq", sequenceName = "students_id_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -59,12 +80,28 @@ public class Student {
      * Student's email address.
      * Cannot be null and has a maximum length of 100 characters.
      */
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     @NotBlank(message = "Email is required")
     @Email(message = "Invalid email format")
     @Size(max = 100, message = "Email must not exceed 100 characters")
     private String email;
 
+    /**
+     * Version of the student row, incremented by Hibernate on every update.
+     * Used for optimistic locking and as the strong ETag of the student.
+     */
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    /**
+     * Time of the last insert or update of the student.
+     * Sent as the Last-Modified header of the student.
+     */
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
     /**
      * List of course enrollments for this student.
      * Managed through the StudentCourse join entity.
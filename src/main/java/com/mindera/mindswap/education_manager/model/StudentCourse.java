@@ -15,26 +15,33 @@ import lombok.Data;
  * - Many-to-One relationship with Student
  * - Many-to-One relationship with Course
  * - Composite unique constraint on student and course IDs
+ * - Composite (course_id, student_id) index backing the course roster
  */
 @Data
 @Entity
 @Table(
     name = "student_courses",
     uniqueConstraints = {
-        @UniqueConstraint(columnNames = {"student_id", "course_id"})
+        @UniqueConstraint(name = StudentCourse.UNIQUE_CONSTRAINT, columnNames = {"student_id", "course_id"})
     },
     indexes = {
-        @Index(name = "idx_student_course", columnList = "student_id,course_id")
+        @Index(name = "idx_student_courses_course_student", columnList = "course_id,student_id")
     }
 )
 public class StudentCourse {
 
+    /**
+     * Name of the unique constraint on (student_id, course_id), used to report violations.
+     */
+    public static final String UNIQUE_CONSTRAINT = "uk_student_courses_student_course";
+
     /**
      * Unique identifier for the student-course relationship.
-     * Auto-generated using database sequence.
+     * Auto-generated using a pooled database sequence so enrollments can be batch inserted.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "student_courses_seq")
+    @SequenceGenerator(name = "student_courses_seq", sequenceName = "student_courses_id_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -0,0 +1,32 @@
+package com.mindera.mindswap.education_manager.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Read-only R2DBC mapping of the 'student_courses' table, used by the reactive read path.
+ * 
+ * The table itself is owned by the StudentCourse JPA entity; this class only carries
+ * the columns the reactive repositories need to declare their domain type.
+ */
+@Data
+@Table("student_courses")
+public class StudentCourseRow {
+
+    /**
+     * Unique identifier for the enrollment.
+     */
+    @Id
+    private Long id;
+
+    /**
+     * ID of the enrolled student.
+     */
+    private Long studentId;
+
+    /**
+     * ID of the course the student is enrolled in.
+     */
+    private Long courseId;
+}
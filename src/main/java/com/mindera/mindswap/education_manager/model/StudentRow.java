@@ -0,0 +1,37 @@
+package com.mindera.mindswap.education_manager.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Read-only R2DBC mapping of the 'students' table, used by the reactive read path.
+ * 
+ * The table itself is owned by the Student JPA entity; this class only carries
+ * the columns the reactive repositories need to declare their domain type.
+ */
+@Data
+@Table("students")
+public class StudentRow {
+
+    /**
+     * Unique identifier for the student.
+     */
+    @Id
+    private Long id;
+
+    /**
+     * First name of the student.
+     */
+    private String firstName;
+
+    /**
+     * Last name of the student.
+     */
+    private String lastName;
+
+    /**
+     * Email address of the student.
+     */
+    private String email;
+}
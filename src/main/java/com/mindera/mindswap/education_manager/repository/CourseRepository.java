@@ -1,9 +1,132 @@
 package com.mindera.mindswap.education_manager.repository;
 
 import com.mindera.mindswap.education_manager.model.Course;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.FluentQuery;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
 @Repository
-public interface CourseRepository extends JpaRepository<Course, Long> {
+public interface CourseRepository extends JpaRepository<Course, Long>, JpaSpecificationExecutor<Course> {
+
+    /**
+     * Returns which of the given ids belong to an existing course, in one query.
+     *
+     * @param ids The course ids to look up
+     * @return The subset of the given ids that exist
+     */
+    @Query("select c.id from Course c where c.id in :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Runs a specification query, caching its result ids in the query cache.
+     * 
+     * Redeclared only to attach the cache hints, which backs the paginated course
+     * listing. Entries are keyed by the SQL and its parameters (including the page
+     * limit) and are invalidated whenever the courses table is written.
+     *
+     * @param spec The specification to filter by
+     * @param queryFunction The function defining sort, limit and result type
+     * @return The result of the query function
+     */
+    @Override
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = Course.QUERY_CACHE_REGION)
+    })
+    <S extends Course, R> R findBy(Specification<Course> spec,
+                                   Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction);
+
+    /**
+     * Locks the existing courses among the given IDs until the end of the transaction.
+     * Enrollments reference courses through a foreign key, whose check waits on this
+     * lock, so no enrollment can be added to a course being deleted.
+     *
+     * @param ids The IDs of the courses
+     * @return The IDs of the courses that exist
+     */
+    @Query(value = "SELECT id FROM courses WHERE id IN (:ids) ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Long> lockExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Deletes courses with a single statement, without loading them.
+     * Their seat stripes go with them through an ON DELETE CASCADE foreign key;
+     * their enrollments must have been deleted first.
+     *
+     * @param ids The IDs of the courses to delete
+     * @return The number of courses deleted
+     */
+    @Modifying
+    @Query("delete from Course c where c.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Finds the courses matching a web search style query ("word", "quoted phrase",
+     * "or", "-excluded") in their name or description, ranked by relevance.
+     *
+     * Uses the courses.search_vector generated column and its GIN index (see
+     * CourseSearchIndex), weighting name matches above description matches.
+     * Results are ordered by rank descending, then id, and the page is found with
+     * a seek predicate on that order.
+     *
+     * @param query The search query
+     * @param rank The rank of the last result seen, or positive infinity for the first page
+     * @param id The id of the last result seen, or 0 for the first page
+     * @param limit Maximum number of results
+     * @return The ids and ranks of the matching courses
+     */
+    @Query(value = "SELECT r.id AS id, r.rank AS rank FROM ("
+            + "SELECT c.id, ts_rank_cd(c.search_vector, q) AS rank "
+            + "FROM courses c, websearch_to_tsquery('english', :query) q "
+            + "WHERE c.search_vector @@ q) r "
+            + "WHERE r.rank < :rank OR (r.rank = :rank AND r.id > :id) "
+            + "ORDER BY r.rank DESC, r.id LIMIT :limit",
+            nativeQuery = true)
+    List<SearchHit> searchByText(@Param("query") String query, @Param("rank") float rank,
+                                 @Param("id") long id, @Param("limit") int limit);
+
+    /**
+     * Streams the searchable fields of every course through a server-side database cursor.
+     * Must be consumed inside a read-only transaction and closed afterwards.
+     *
+     * @return Stream of the id, name and description of all courses
+     */
+    @Query("select c.id as id, c.name as name, c.description as description from Course c")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<SearchDocument> streamAllSearchDocuments();
+
+    /**
+     * A course matching a full-text search, with its relevance.
+     */
+    interface SearchHit {
+
+        Long getId();
+
+        Float getRank();
+    }
+
+    /**
+     * The searchable fields of a course.
+     */
+    interface SearchDocument {
+
+        Long getId();
+
+        String getName();
+
+        String getDescription();
+    }
 }
@@ -0,0 +1,234 @@
+package com.mindera.mindswap.education_manager.repository;
+
+import com.mindera.mindswap.education_manager.model.CourseSeatStripe;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CourseSeatStripeRepository extends JpaRepository<CourseSeatStripe, CourseSeatStripe.Key> {
+
+    /**
+     * Takes up to the given number of seats from one random stripe of a course
+     * that has free seats, skipping the stripes locked by in-flight enrollments.
+     * 
+     * The stripe is picked and updated in a single statement; its row lock is
+     * held until the transaction ends, while other enrollments in the course
+     * keep going on the other stripes. Run as a native query returning the
+     * result so Hibernate does not evict the course cache region.
+     *
+     * @param courseId The ID of the course
+     * @param seats The number of seats wanted
+     * @return The number of seats taken, or null if no unlocked stripe has free seats
+     */
+    @Query(value = "WITH picked AS ("
+            + "SELECT course_id, stripe, LEAST(:seats, COALESCE(capacity - taken, :seats)) AS granted "
+            + "FROM course_seat_stripes "
+            + "WHERE course_id = :courseId AND (capacity IS NULL OR taken < capacity) "
+            + "ORDER BY random() LIMIT 1 FOR UPDATE SKIP LOCKED) "
+            + "UPDATE course_seat_stripes s SET taken = s.taken + p.granted FROM picked p "
+            + "WHERE s.course_id = p.course_id AND s.stripe = p.stripe RETURNING p.granted",
+            nativeQuery = true)
+    Integer takeSeats(@Param("courseId") Long courseId, @Param("seats") int seats);
+
+    /**
+     * Same as {@link #takeSeats}, but waits for a locked stripe instead of skipping it.
+     * Returns null when the stripe it waited for was filled meanwhile.
+     * 
+     * A stripe found full after the wait stays locked until the transaction ends,
+     * so waiters go through the stripes in stripe order, like {@link #takeSeatsInStripeOrder}.
+     *
+     * @param courseId The ID of the course
+     * @param seats The number of seats wanted
+     * @return The number of seats taken, or null if none could be taken
+     */
+    @Query(value = "WITH picked AS ("
+            + "SELECT course_id, stripe, LEAST(:seats, COALESCE(capacity - taken, :seats)) AS granted "
+            + "FROM course_seat_stripes "
+            + "WHERE course_id = :courseId AND (capacity IS NULL OR taken < capacity) "
+            + "ORDER BY stripe LIMIT 1 FOR UPDATE) "
+            + "UPDATE course_seat_stripes s SET taken = s.taken + p.granted FROM picked p "
+            + "WHERE s.course_id = p.course_id AND s.stripe = p.stripe RETURNING p.granted",
+            nativeQuery = true)
+    Integer takeSeatsWaiting(@Param("courseId") Long courseId, @Param("seats") int seats);
+
+    /**
+     * Takes up to the given number of seats of a course in one statement, locking
+     * every stripe of the course in stripe order and filling their free seats in
+     * that order.
+     * 
+     * Used when taking many seats at once, as a bulk enrollment does: taking them
+     * stripe by stripe would hold some stripes while waiting for others, so two
+     * such transactions could lock the same stripes in opposite orders and deadlock.
+     *
+     * @param courseId The ID of the course
+     * @param seats The number of seats wanted
+     * @return The number of seats taken, less than wanted if the course is full
+     */
+    @Query(value = "WITH locked AS ("
+            + "SELECT course_id, stripe, "
+            + "CASE WHEN capacity IS NULL THEN :seats ELSE GREATEST(capacity - taken, 0) END AS free "
+            + "FROM course_seat_stripes "
+            + "WHERE course_id = :courseId "
+            + "ORDER BY stripe FOR UPDATE), "
+            + "picked AS ("
+            + "SELECT course_id, stripe, "
+            + "LEAST(free, GREATEST(:seats - (SUM(free) OVER (ORDER BY stripe) - free), 0)) AS granted "
+            + "FROM locked), "
+            + "updated AS ("
+            + "UPDATE course_seat_stripes s SET taken = s.taken + p.granted FROM picked p "
+            + "WHERE s.course_id = p.course_id AND s.stripe = p.stripe AND p.granted > 0 "
+            + "RETURNING p.granted) "
+            + "SELECT CAST(COALESCE(SUM(granted), 0) AS integer) FROM updated",
+            nativeQuery = true)
+    int takeSeatsInStripeOrder(@Param("courseId") Long courseId, @Param("seats") int seats);
+
+    /**
+     * Gives back up to the given number of seats of a course from one random
+     * stripe with taken seats, skipping the stripes locked by in-flight enrollments.
+     *
+     * @param courseId The ID of the course
+     * @param seats The number of seats to give back
+     * @return The number of seats given back, or null if no unlocked stripe has taken seats
+     */
+    @Query(value = "WITH picked AS ("
+            + "SELECT course_id, stripe, LEAST(:seats, taken) AS released "
+            + "FROM course_seat_stripes "
+            + "WHERE course_id = :courseId AND taken > 0 "
+            + "ORDER BY random() LIMIT 1 FOR UPDATE SKIP LOCKED) "
+            + "UPDATE course_seat_stripes s SET taken = s.taken - p.released FROM picked p "
+            + "WHERE s.course_id = p.course_id AND s.stripe = p.stripe RETURNING p.released",
+            nativeQuery = true)
+    Integer releaseSeats(@Param("courseId") Long courseId, @Param("seats") int seats);
+
+    /**
+     * Same as {@link #releaseSeats}, but waits for a locked stripe instead of skipping it,
+     * going through the stripes in stripe order.
+     *
+     * @param courseId The ID of the course
+     * @param seats The number of seats to give back
+     * @return The number of seats given back, or null if none could be given back
+     */
+    @Query(value = "WITH picked AS ("
+            + "SELECT course_id, stripe, LEAST(:seats, taken) AS released "
+            + "FROM course_seat_stripes "
+            + "WHERE course_id = :courseId AND taken > 0 "
+            + "ORDER BY stripe LIMIT 1 FOR UPDATE) "
+            + "UPDATE course_seat_stripes s SET taken = s.taken - p.released FROM picked p "
+            + "WHERE s.course_id = p.course_id AND s.stripe = p.stripe RETURNING p.released",
+            nativeQuery = true)
+    Integer releaseSeatsWaiting(@Param("courseId") Long courseId, @Param("seats") int seats);
+
+    /**
+     * Gives back up to the given number of seats of a course in one statement,
+     * locking every stripe of the course in stripe order and draining their taken
+     * seats in that order. Used when giving back many seats at once, as a bulk
+     * delete does, for the same reason as {@link #takeSeatsInStripeOrder}.
+     *
+     * @param courseId The ID of the course
+     * @param seats The number of seats to give back
+     * @return The number of seats given back, less than asked if fewer were taken
+     */
+    @Query(value = "WITH locked AS ("
+            + "SELECT course_id, stripe, taken "
+            + "FROM course_seat_stripes "
+            + "WHERE course_id = :courseId "
+            + "ORDER BY stripe FOR UPDATE), "
+            + "picked AS ("
+            + "SELECT course_id, stripe, "
+            + "LEAST(taken, GREATEST(:seats - (SUM(taken) OVER (ORDER BY stripe) - taken), 0)) AS released "
+            + "FROM locked), "
+            + "updated AS ("
+            + "UPDATE course_seat_stripes s SET taken = s.taken - p.released FROM picked p "
+            + "WHERE s.course_id = p.course_id AND s.stripe = p.stripe AND p.released > 0 "
+            + "RETURNING p.released) "
+            + "SELECT CAST(COALESCE(SUM(released), 0) AS integer) FROM updated",
+            nativeQuery = true)
+    int releaseSeatsInStripeOrder(@Param("courseId") Long courseId, @Param("seats") int seats);
+
+    /**
+     * Counts the stripes of a course that have free seats as of the last commit,
+     * without locking them.
+     *
+     * @param courseId The ID of the course
+     * @return The number of stripes with free seats
+     */
+    @Query("select count(s) from CourseSeatStripe s "
+            + "where s.courseId = :courseId and (s.capacity is null or s.taken < s.capacity)")
+    long countStripesWithFreeSeats(@Param("courseId") Long courseId);
+
+    /**
+     * Counts the stripes of a course that have taken seats as of the last commit,
+     * without locking them.
+     *
+     * @param courseId The ID of the course
+     * @return The number of stripes with taken seats
+     */
+    @Query("select count(s) from CourseSeatStripe s where s.courseId = :courseId and s.taken > 0")
+    long countStripesWithTakenSeats(@Param("courseId") Long courseId);
+
+    /**
+     * Returns the stripes of a course, locked for update in stripe order.
+     *
+     * @param courseId The ID of the course
+     * @return The stripes of the course
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from CourseSeatStripe s where s.courseId = :courseId order by s.stripe")
+    List<CourseSeatStripe> lockByCourseId(@Param("courseId") Long courseId);
+
+    /**
+     * Deletes the stripes of a course.
+     *
+     * @param courseId The ID of the course
+     * @return The number of stripes deleted
+     */
+    @Modifying
+    @Query("delete from CourseSeatStripe s where s.courseId = :courseId")
+    int deleteByCourseId(@Param("courseId") Long courseId);
+
+    /**
+     * Recomputes the enrolled count of every course from student_courses in one
+     * grouped query and spreads the drift of each drifted course over its stripes.
+     * 
+     * Missing seats fill the free seats of the stripes in stripe order and surplus
+     * seats are drained from the taken seats in the same order, keeping the taken
+     * seats of every stripe between 0 and its capacity; otherwise the other stripes
+     * would keep granting seats a full course no longer has. Only enrollments beyond
+     * the capacity of the whole course, which leave no stripe with free seats, are
+     * added to stripe 0 above its capacity.
+     *
+     * @return The IDs of the corrected courses
+     */
+    @Query(value = "WITH drifted AS ("
+            + "SELECT st.course_id, COALESCE(e.n, 0) - sum(st.taken) AS drift "
+            + "FROM course_seat_stripes st "
+            + "LEFT JOIN (SELECT course_id, count(*) AS n FROM student_courses GROUP BY course_id) e "
+            + "ON e.course_id = st.course_id "
+            + "GROUP BY st.course_id, e.n "
+            + "HAVING COALESCE(e.n, 0) - sum(st.taken) <> 0), "
+            + "room AS ("
+            + "SELECT s.course_id, s.stripe, d.drift, "
+            + "CASE WHEN d.drift > 0 THEN COALESCE(GREATEST(s.capacity - s.taken, 0), d.drift) "
+            + "ELSE s.taken END AS room "
+            + "FROM course_seat_stripes s JOIN drifted d ON d.course_id = s.course_id), "
+            + "spread AS ("
+            + "SELECT course_id, stripe, CASE WHEN drift > 0 THEN 1 ELSE -1 END * (LEAST(room, GREATEST(ABS(drift) "
+            + "- (SUM(room) OVER (PARTITION BY course_id ORDER BY stripe) - room), 0)) "
+            + "+ CASE WHEN stripe = 0 THEN GREATEST(ABS(drift) - SUM(room) OVER (PARTITION BY course_id), 0) "
+            + "ELSE 0 END) AS change "
+            + "FROM room), "
+            + "updated AS ("
+            + "UPDATE course_seat_stripes s SET taken = s.taken + p.change FROM spread p "
+            + "WHERE s.course_id = p.course_id AND s.stripe = p.stripe AND p.change <> 0 "
+            + "RETURNING s.course_id) "
+            + "SELECT DISTINCT course_id FROM updated",
+            nativeQuery = true)
+    List<Long> reconcileTakenSeats();
+}
\ No newline at end of file
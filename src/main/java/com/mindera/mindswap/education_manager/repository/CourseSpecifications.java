@@ -0,0 +1,37 @@
+package com.mindera.mindswap.education_manager.repository;
+
+import com.mindera.mindswap.education_manager.model.Course;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Utility class building the JPA specifications used to filter courses.
+ * 
+ * Each method returns null when its filter value is absent, which
+ * {@link Specification#where} and {@link Specification#and} treat as "no restriction".
+ * 
+ * The class cannot be instantiated as it only contains static utility methods.
+ */
+public class CourseSpecifications {
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     * 
+     * @throws IllegalStateException if an attempt is made to instantiate the class
+     */
+    private CourseSpecifications() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Matches courses whose name starts with the given prefix.
+     * 
+     * @param prefix The name prefix, or null
+     * @return Specification for the filter, or null if no prefix is given
+     */
+    public static Specification<Course> nameStartsWith(String prefix) {
+        if (prefix == null || prefix.isBlank()) {
+            return null;
+        }
+        return (root, query, cb) -> cb.like(root.get("name"), KeysetSpecifications.escapeLike(prefix) + "%", '\\');
+    }
+}
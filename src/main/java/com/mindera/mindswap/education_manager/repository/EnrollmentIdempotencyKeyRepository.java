@@ -0,0 +1,49 @@
+package com.mindera.mindswap.education_manager.repository;
+
+import com.mindera.mindswap.education_manager.model.EnrollmentIdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+
+@Repository
+public interface EnrollmentIdempotencyKeyRepository extends JpaRepository<EnrollmentIdempotencyKey, String> {
+
+    /**
+     * Claims an idempotency key. A concurrent claim of the same key waits for
+     * this transaction to finish and then inserts nothing.
+     *
+     * The insert returns the claimed key instead of running as a modifying query:
+     * Hibernate cannot tell which tables a native modifying query touches, so it
+     * would evict every second-level cache region, courses included, on each claim.
+     *
+     * @return The key if it was claimed, or null if it was already claimed
+     */
+    @Query(value = "INSERT INTO enrollment_idempotency_keys (idempotency_key, student_id, course_id, created_at) "
+            + "VALUES (:key, :studentId, :courseId, :createdAt) ON CONFLICT (idempotency_key) DO NOTHING "
+            + "RETURNING idempotency_key",
+            nativeQuery = true)
+    String claim(@Param("key") String key, @Param("studentId") Long studentId,
+              @Param("courseId") Long courseId, @Param("createdAt") Instant createdAt);
+
+    /**
+     * Records the enrollment created under a claimed key.
+     *
+     * @return Number of updated rows
+     */
+    @Modifying
+    @Query("update EnrollmentIdempotencyKey k set k.enrollmentId = :enrollmentId where k.key = :key")
+    int complete(@Param("key") String key, @Param("enrollmentId") Long enrollmentId);
+
+    /**
+     * Deletes the keys claimed before the given moment.
+     *
+     * @return Number of deleted keys
+     */
+    @Modifying
+    @Query("delete from EnrollmentIdempotencyKey k where k.createdAt < :before")
+    int deleteByCreatedAtBefore(@Param("before") Instant before);
+}
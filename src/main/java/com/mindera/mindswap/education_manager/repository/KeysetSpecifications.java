@@ -0,0 +1,81 @@
+package com.mindera.mindswap.education_manager.repository;
+
+import jakarta.persistence.criteria.Path;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Utility class building the JPA specifications shared by keyset paginated listings.
+ * 
+ * Keyset pagination seeks past the last element of the previous page with a
+ * {@code (sort, id) > (value, lastId)} predicate, so the database walks the
+ * index from that position instead of counting and skipping OFFSET rows.
+ * 
+ * The predicate is rendered as a row value comparison, which PostgreSQL turns into
+ * the start key of the (sort, id) index scan. The expanded
+ * {@code sort > value OR (sort = value AND id > lastId)} form is only applied as a
+ * filter, reading every row before the position. JPA criteria have no row value
+ * expression, so the comparison is a SQL fragment of Hibernate's criteria API whose
+ * operands are the mapped columns and bound parameters.
+ * 
+ * The class cannot be instantiated as it only contains static utility methods.
+ */
+public class KeysetSpecifications {
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     * 
+     * @throws IllegalStateException if an attempt is made to instantiate the class
+     */
+    private KeysetSpecifications() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Builds the seek predicate returning the elements after the given position.
+     * 
+     * @param sort The property the listing is sorted by, either "id" or a String property
+     * @param value The sort value of the last element seen
+     * @param id The id of the last element seen
+     * @param ascending Whether the listing is sorted in ascending order
+     * @param <T> Type of the entity
+     * @return Specification matching the elements after the given position
+     */
+    public static <T> Specification<T> after(String sort, String value, Long id, boolean ascending) {
+        return (root, query, cb) -> {
+            Path<Long> idPath = root.get("id");
+            if ("id".equals(sort)) {
+                return ascending ? cb.greaterThan(idPath, id) : cb.lessThan(idPath, id);
+            }
+            HibernateCriteriaBuilder hcb = (HibernateCriteriaBuilder) cb;
+            return hcb.isTrue(hcb.sql(ascending ? "(?, ?) > (?, ?)" : "(?, ?) < (?, ?)", Boolean.class,
+                    root.get(sort), idPath, hcb.value(value), hcb.value(id)));
+        };
+    }
+
+    /**
+     * Builds the page ordering: the sort property followed by id as a unique tie breaker.
+     * 
+     * @param sort The property the listing is sorted by
+     * @param ascending Whether the listing is sorted in ascending order
+     * @return Sort matching the seek predicate built by {@link #after}
+     */
+    public static Sort orderBy(String sort, boolean ascending) {
+        Sort.Direction direction = ascending ? Sort.Direction.ASC : Sort.Direction.DESC;
+        if ("id".equals(sort)) {
+            return Sort.by(direction, "id");
+        }
+        return Sort.by(direction, sort).and(Sort.by(direction, "id"));
+    }
+
+    /**
+     * Escapes the LIKE wildcards of a user supplied value.
+     * 
+     * @param value The raw value
+     * @return Value safe to use in a LIKE pattern with '\' as escape character
+     */
+    static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
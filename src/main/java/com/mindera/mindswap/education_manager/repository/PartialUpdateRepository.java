@@ -0,0 +1,60 @@
+package com.mindera.mindswap.education_manager.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Repository issuing partial updates of versioned entities without loading them.
+ *
+ * An update is a single {@code UPDATE ... SET <changed columns>, version = version + 1,
+ * updated_at = now WHERE id = ? [AND version = ?]} statement built with the Criteria API,
+ * so only the changed columns are written and a concurrent update made since the
+ * expected version was read is detected instead of being silently overwritten.
+ *
+ * Entities must have an {@code id}, a {@code version} and an {@code updatedAt} attribute.
+ * As with any bulk statement, Hibernate invalidates the second-level cache region of
+ * the entity, and the caller must not hold a loaded copy of it.
+ */
+@Repository
+public class PartialUpdateRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Updates the given attributes of an entity with one statement.
+     *
+     * @param type The entity class
+     * @param id The ID of the entity
+     * @param expectedVersion The version the entity must still have, or null to update any version
+     * @param changes The new value of each changed attribute, by attribute name
+     * @param <T> Type of the entity
+     * @return 1 if the entity was updated, 0 if it does not exist or has another version
+     */
+    public <T> int update(Class<T> type, Long id, Long expectedVersion, Map<String, Object> changes) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<T> update = cb.createCriteriaUpdate(type);
+        Root<T> root = update.from(type);
+        changes.forEach(update::set);
+
+        Path<Long> version = root.get("version");
+        update.set(version, cb.sum(version, 1L));
+        update.set(root.<Instant>get("updatedAt"), Instant.now());
+
+        Predicate matches = cb.equal(root.get("id"), id);
+        if (expectedVersion != null) {
+            matches = cb.and(matches, cb.equal(version, expectedVersion));
+        }
+        update.where(matches);
+        return entityManager.createQuery(update).executeUpdate();
+    }
+}
@@ -0,0 +1,60 @@
+package com.mindera.mindswap.education_manager.repository;
+
+import com.mindera.mindswap.education_manager.dto.CourseDTO;
+import com.mindera.mindswap.education_manager.model.CourseRow;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking R2DBC repository for the 'courses' table, backing the reactive read path.
+ * 
+ * Rows are projected straight into CourseDTOs, the enrolled count being summed
+ * from the seat stripes as the Course entity does. Results are emitted as they
+ * are fetched, in batches of {@code spring.r2dbc.properties.fetchSize} rows
+ * requested on demand, so a slow reader holds back the query instead of the
+ * rows piling up in memory.
+ */
+@Repository
+public interface ReactiveCourseRepository extends ReactiveCrudRepository<CourseRow, Long> {
+
+    /**
+     * Selected columns of a course, in the shape of a CourseDTO.
+     */
+    String COURSE_COLUMNS = "c.id, c.name, c.description, c.capacity, "
+            + "(SELECT COALESCE(SUM(s.taken), 0) FROM course_seat_stripes s WHERE s.course_id = c.id) "
+            + "AS enrolled_count";
+
+    /**
+     * Streams the courses whose name starts with the given prefix, ordered by id.
+     * 
+     * @param prefix The name prefix, or null to stream every course
+     * @return Flux of the matching courses
+     */
+    default Flux<CourseDTO> streamCourses(String prefix) {
+        return streamByNamePattern(prefix == null || prefix.isBlank()
+                ? "%"
+                : KeysetSpecifications.escapeLike(prefix) + "%");
+    }
+
+    /**
+     * Streams the courses whose name matches a LIKE pattern, ordered by id.
+     * 
+     * @param pattern LIKE pattern using '\' as escape character
+     * @return Flux of the matching courses
+     */
+    @Query("SELECT " + COURSE_COLUMNS + " FROM courses c WHERE c.name LIKE :pattern ESCAPE '\\' ORDER BY c.id")
+    Flux<CourseDTO> streamByNamePattern(@Param("pattern") String pattern);
+
+    /**
+     * Returns a course by its ID.
+     * 
+     * @param id The ID of the course
+     * @return Mono of the course, empty if not found
+     */
+    @Query("SELECT " + COURSE_COLUMNS + " FROM courses c WHERE c.id = :id")
+    Mono<CourseDTO> findCourseById(@Param("id") Long id);
+}
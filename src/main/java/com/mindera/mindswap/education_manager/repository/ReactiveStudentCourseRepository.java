@@ -0,0 +1,41 @@
+package com.mindera.mindswap.education_manager.repository;
+
+import com.mindera.mindswap.education_manager.dto.CourseDTO;
+import com.mindera.mindswap.education_manager.dto.StudentDTO;
+import com.mindera.mindswap.education_manager.model.StudentCourseRow;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Non-blocking R2DBC repository for the 'student_courses' table, backing the
+ * reactive roster and schedule reads with one join query each.
+ */
+@Repository
+public interface ReactiveStudentCourseRepository extends ReactiveCrudRepository<StudentCourseRow, Long> {
+
+    /**
+     * Streams the students enrolled in a course, ordered by student id.
+     * Served by the (course_id, student_id) index.
+     * 
+     * @param courseId The ID of the course
+     * @return Flux of the enrolled students
+     */
+    @Query("SELECT s.id, s.first_name, s.last_name, s.email "
+            + "FROM student_courses sc JOIN students s ON s.id = sc.student_id "
+            + "WHERE sc.course_id = :courseId ORDER BY sc.student_id")
+    Flux<StudentDTO> streamRoster(@Param("courseId") Long courseId);
+
+    /**
+     * Streams the courses a student is enrolled in, ordered by name.
+     * 
+     * @param studentId The ID of the student
+     * @return Flux of the student's courses
+     */
+    @Query("SELECT " + ReactiveCourseRepository.COURSE_COLUMNS + " "
+            + "FROM student_courses sc JOIN courses c ON c.id = sc.course_id "
+            + "WHERE sc.student_id = :studentId ORDER BY c.name, c.id")
+    Flux<CourseDTO> streamSchedule(@Param("studentId") Long studentId);
+}
@@ -0,0 +1,37 @@
+package com.mindera.mindswap.education_manager.repository;
+
+import com.mindera.mindswap.education_manager.dto.StudentDTO;
+import com.mindera.mindswap.education_manager.model.StudentRow;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking R2DBC repository for the 'students' table, backing the reactive read path.
+ * 
+ * Rows are projected straight into StudentDTOs and emitted as they are fetched,
+ * with the same on-demand batching as ReactiveCourseRepository.
+ */
+@Repository
+public interface ReactiveStudentRepository extends ReactiveCrudRepository<StudentRow, Long> {
+
+    /**
+     * Streams every student, ordered by id.
+     * 
+     * @return Flux of the students
+     */
+    @Query("SELECT s.id, s.first_name, s.last_name, s.email FROM students s ORDER BY s.id")
+    Flux<StudentDTO> streamStudents();
+
+    /**
+     * Returns a student by its ID.
+     * 
+     * @param id The ID of the student
+     * @return Mono of the student, empty if not found
+     */
+    @Query("SELECT s.id, s.first_name, s.last_name, s.email FROM students s WHERE s.id = :id")
+    Mono<StudentDTO> findStudentById(@Param("id") Long id);
+}
@@ -1,11 +1,169 @@
 package com.mindera.mindswap.education_manager.repository;
 
+import com.mindera.mindswap.education_manager.dto.CourseDTO;
+import com.mindera.mindswap.education_manager.dto.StudentDTO;
 import com.mindera.mindswap.education_manager.model.StudentCourse;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface StudentCourseRepository extends JpaRepository<StudentCourse, Long> {
-}
 
+    /**
+     * Projection of an enrollment to the ids of its student and course.
+     */
+    interface EnrollmentPair {
+        Long getStudentId();
+
+        Long getCourseId();
+    }
+
+    /**
+     * Enrolls a student in a course with a single statement, relying on the
+     * (student_id, course_id) unique constraint instead of a prior lookup.
+     * Nothing is inserted when the pair already exists or when the student
+     * or the course does not exist.
+     *
+     * @param studentId The ID of the student to enroll
+     * @param courseId The ID of the course to enroll in
+     * @return The ID of the new enrollment, or null if nothing was inserted
+     */
+    @Query(value = "INSERT INTO student_courses (id, student_id, course_id) "
+            + "SELECT nextval('student_courses_id_seq'), s.id, c.id FROM students s, courses c "
+            + "WHERE s.id = :studentId AND c.id = :courseId "
+            + "ON CONFLICT (student_id, course_id) DO NOTHING RETURNING id",
+            nativeQuery = true)
+    Long insertIfAbsent(@Param("studentId") Long studentId, @Param("courseId") Long courseId);
+
+    /**
+     * Checks whether a student is enrolled in a course using the (student_id, course_id) index.
+     *
+     * @param studentId The ID of the student
+     * @param courseId The ID of the course
+     * @return true if the enrollment exists
+     */
+    boolean existsByStudentIdAndCourseId(Long studentId, Long courseId);
+
+    /**
+     * Returns the existing enrollments among the given students and courses, in one query.
+     * The result may include pairs that were not requested when several ids are combined,
+     * callers match them against the pairs they are looking for.
+     *
+     * @param studentIds The student ids to look up
+     * @param courseIds The course ids to look up
+     * @return The enrollments whose student and course are both among the given ids
+     */
+    @Query("select sc.student.id as studentId, sc.course.id as courseId from StudentCourse sc "
+            + "where sc.student.id in :studentIds and sc.course.id in :courseIds")
+    List<EnrollmentPair> findPairs(@Param("studentIds") Collection<Long> studentIds,
+                                   @Param("courseIds") Collection<Long> courseIds);
+
+    /**
+     * Removes a student's enrollment in a course with a single statement.
+     *
+     * @param studentId The ID of the student
+     * @param courseId The ID of the course
+     * @return The number of enrollments removed, 0 or 1
+     */
+    @Modifying
+    @Query("delete from StudentCourse sc where sc.student.id = :studentId and sc.course.id = :courseId")
+    int deleteByStudentIdAndCourseId(@Param("studentId") Long studentId, @Param("courseId") Long courseId);
 
+    /**
+     * Deletes the enrollments of students with a single statement.
+     *
+     * @param studentIds The IDs of the students
+     * @return The course ID of every deleted enrollment, so their seats can be given back
+     */
+    @Query(value = "WITH removed AS (DELETE FROM student_courses WHERE student_id IN (:studentIds) "
+            + "RETURNING course_id) SELECT course_id FROM removed",
+            nativeQuery = true)
+    List<Long> deleteByStudentIdIn(@Param("studentIds") Collection<Long> studentIds);
+
+    /**
+     * Deletes the enrollments of courses with a single statement.
+     *
+     * @param courseIds The IDs of the courses
+     * @return The number of enrollments deleted
+     */
+    @Modifying
+    @Query("delete from StudentCourse sc where sc.course.id in :courseIds")
+    int deleteByCourseIdIn(@Param("courseIds") Collection<Long> courseIds);
+
+    /**
+     * Returns the IDs of the courses a student is enrolled in, in ascending order.
+     *
+     * @param studentId The ID of the student
+     * @return The IDs of the student's courses
+     */
+    @Query("select sc.course.id from StudentCourse sc where sc.student.id = :studentId order by sc.course.id")
+    List<Long> findCourseIdsByStudentId(@Param("studentId") Long studentId);
+
+    /**
+     * Returns one page of the students enrolled in a course, ordered by student id.
+     * 
+     * A single join query projected straight into StudentDTO, seeking on the
+     * (course_id, student_id) index, so neither the enrollments nor the students
+     * are loaded as entities.
+     *
+     * @param courseId The ID of the course
+     * @param afterStudentId Only students with a greater id are returned; 0 for the first page
+     * @param limit Maximum number of students to return
+     * @return The students of the page, in ascending id order
+     */
+    @Query("select new com.mindera.mindswap.education_manager.dto.StudentDTO("
+            + "s.id, s.firstName, s.lastName, s.email) "
+            + "from StudentCourse sc join sc.student s "
+            + "where sc.course.id = :courseId and sc.student.id > :afterStudentId "
+            + "order by sc.student.id")
+    List<StudentDTO> findRoster(@Param("courseId") Long courseId,
+                                @Param("afterStudentId") Long afterStudentId,
+                                Limit limit);
+
+    /**
+     * Returns the courses a student is enrolled in, ordered by name.
+     * 
+     * A single join query over the (student_id, course_id) index projected
+     * straight into CourseDTO, so no entity is loaded per enrollment.
+     *
+     * @param studentId The ID of the student
+     * @return The student's courses, including their descriptions
+     */
+    @Query("select new com.mindera.mindswap.education_manager.dto.CourseDTO("
+            + "c.id, c.name, c.description, c.capacity, c.enrolledCount) "
+            + "from StudentCourse sc join sc.course c "
+            + "where sc.student.id = :studentId "
+            + "order by c.name, c.id")
+    List<CourseDTO> findSchedule(@Param("studentId") Long studentId);
+
+    /**
+     * Returns the courses a student is enrolled in, ordered by name, without
+     * reading the description column.
+     *
+     * @param studentId The ID of the student
+     * @return The student's courses, with a null description
+     */
+    @Query("select new com.mindera.mindswap.education_manager.dto.CourseDTO(c.id, c.name, c.capacity, c.enrolledCount) "
+            + "from StudentCourse sc join sc.course c "
+            + "where sc.student.id = :studentId "
+            + "order by c.name, c.id")
+    List<CourseDTO> findScheduleSummary(@Param("studentId") Long studentId);
+
+    /**
+     * Counts the students enrolled in a course.
+     * Counts rows rather than ids so it can be answered by an index-only scan of
+     * the (course_id, student_id) index.
+     *
+     * @param courseId The ID of the course
+     * @return The number of enrollments in the course
+     */
+    @Query("select count(*) from StudentCourse sc where sc.course.id = :courseId")
+    long countByCourseId(@Param("courseId") Long courseId);
+}
@@ -1,10 +1,127 @@
 package com.mindera.mindswap.education_manager.repository;
 
 import com.mindera.mindswap.education_manager.model.Student;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
 @Repository
-public interface StudentRepository extends JpaRepository<Student, Long> {
+public interface StudentRepository extends JpaRepository<Student, Long>, JpaSpecificationExecutor<Student> {
+
+    /**
+     * Number of rows the JDBC driver fetches per round trip when streaming students.
+     */
+    String STREAM_FETCH_SIZE = "1000";
+
+    /**
+     * Projection of a student inserted by {@link #insertIfAbsent} to its id and email.
+     */
+    interface InsertedStudent {
+        Long getId();
+
+        String getEmail();
+    }
+
     boolean existsByEmail(String email);
+
+    /**
+     * Inserts many students with a single statement, relying on the email unique
+     * constraint instead of a prior lookup. Students whose email is already taken,
+     * including by a transaction that committed after the emails were checked,
+     * are skipped instead of failing the statement.
+     *
+     * The arrays hold the fields of one student per position.
+     *
+     * @param firstNames The first names of the students
+     * @param lastNames The last names of the students
+     * @param emails The emails of the students
+     * @param updatedAt The last update time of the new rows
+     * @return The id and email of every inserted student
+     */
+    @Query(value = "INSERT INTO students (id, first_name, last_name, email, version, updated_at) "
+            + "SELECT nextval('students_id_seq'), u.first_name, u.last_name, u.email, 0, :updatedAt "
+            + "FROM unnest(CAST(:firstNames AS varchar[]), CAST(:lastNames AS varchar[]), "
+            + "CAST(:emails AS varchar[])) AS u(first_name, last_name, email) "
+            + "ON CONFLICT (email) DO NOTHING RETURNING id, email",
+            nativeQuery = true)
+    List<InsertedStudent> insertIfAbsent(@Param("firstNames") String[] firstNames,
+                                         @Param("lastNames") String[] lastNames,
+                                         @Param("emails") String[] emails,
+                                         @Param("updatedAt") Instant updatedAt);
+
+    /**
+     * Returns which of the given emails are already registered, in one query.
+     *
+     * @param emails The emails to look up
+     * @return The subset of the given emails that belong to an existing student
+     */
+    @Query("select s.email from Student s where s.email in :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * Returns which of the given ids belong to an existing student, in one query.
+     *
+     * @param ids The student ids to look up
+     * @return The subset of the given ids that exist
+     */
+    @Query("select s.id from Student s where s.id in :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Streams every student ordered by id through a server-side database cursor.
+     * Must be consumed inside a read-only transaction and closed afterwards.
+     *
+     * @return Stream of all students
+     */
+    @Query("select s from Student s order by s.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    Stream<Student> streamAll();
+
+    /**
+     * Streams every registered email through a server-side database cursor.
+     * Must be consumed inside a read-only transaction and closed afterwards.
+     *
+     * @return Stream of all student emails
+     */
+    @Query("select s.email from Student s")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    Stream<String> streamAllEmails();
+
+    /**
+     * Locks the existing students among the given IDs until the end of the transaction.
+     * Enrollments reference students through a foreign key, whose check waits on this
+     * lock, so no enrollment can be added to a student being deleted.
+     *
+     * @param ids The IDs of the students
+     * @return The IDs of the students that exist
+     */
+    @Query(value = "SELECT id FROM students WHERE id IN (:ids) ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Long> lockExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Deletes students with a single statement, without loading them.
+     * Their enrollments must have been deleted first.
+     *
+     * @param ids The IDs of the students to delete
+     * @return The number of students deleted
+     */
+    @Modifying
+    @Query("delete from Student s where s.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
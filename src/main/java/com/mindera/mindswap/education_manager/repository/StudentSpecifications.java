@@ -0,0 +1,113 @@
+package com.mindera.mindswap.education_manager.repository;
+
+import com.mindera.mindswap.education_manager.model.Student;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Utility class building the JPA specifications used to filter students.
+ * 
+ * Each method returns null when its filter value is absent, which
+ * {@link Specification#where} and {@link Specification#and} treat as "no restriction".
+ * 
+ * The class cannot be instantiated as it only contains static utility methods.
+ */
+public class StudentSpecifications {
+
+    /**
+     * Private constructor to prevent instantiation of utility class.
+     * 
+     * @throws IllegalStateException if an attempt is made to instantiate the class
+     */
+    private StudentSpecifications() {
+        throw new IllegalStateException("Utility class");
+    }
+
+    /**
+     * Matches students whose last name starts with the given prefix.
+     * 
+     * @param prefix The last name prefix, or null
+     * @return Specification for the filter, or null if no prefix is given
+     */
+    public static Specification<Student> lastNameStartsWith(String prefix) {
+        if (prefix == null || prefix.isBlank()) {
+            return null;
+        }
+        return (root, query, cb) -> cb.like(root.get("lastName"), KeysetSpecifications.escapeLike(prefix) + "%", '\\');
+    }
+
+    /**
+     * Matches students whose email belongs to the given domain.
+     * 
+     * @param domain The email domain, with or without the leading '@', or null
+     * @return Specification for the filter, or null if no domain is given
+     */
+    public static Specification<Student> emailDomainIs(String domain) {
+        if (domain == null || domain.isBlank()) {
+            return null;
+        }
+        String suffix = "@" + KeysetSpecifications.escapeLike(domain.startsWith("@") ? domain.substring(1) : domain);
+        return (root, query, cb) -> cb.like(cb.lower(root.get("email")), "%" + suffix.toLowerCase(), '\\');
+    }
+
+    /**
+     * Matches the student with the given email, ignoring case.
+     * Served by the lower(email) expression index.
+     * 
+     * @param email The email, or null
+     * @return Specification for the filter, or null if no email is given
+     */
+    public static Specification<Student> emailEqualsIgnoreCase(String email) {
+        if (email == null || email.isBlank()) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(cb.lower(root.get("email")), email.trim().toLowerCase());
+    }
+
+    /**
+     * Matches students whose last name starts with the given prefix, ignoring case.
+     * Served by the lower(last_name) text_pattern_ops expression index.
+     * 
+     * @param prefix The last name prefix, or null
+     * @return Specification for the filter, or null if no prefix is given
+     */
+    public static Specification<Student> lastNameStartsWithIgnoreCase(String prefix) {
+        return startsWithIgnoreCase("lastName", prefix);
+    }
+
+    /**
+     * Matches students whose first name starts with the given prefix, ignoring case.
+     * Served by the lower(first_name) text_pattern_ops expression index.
+     * 
+     * @param prefix The first name prefix, or null
+     * @return Specification for the filter, or null if no prefix is given
+     */
+    public static Specification<Student> firstNameStartsWithIgnoreCase(String prefix) {
+        return startsWithIgnoreCase("firstName", prefix);
+    }
+
+    /**
+     * Matches students whose first name, last name or email contains the given text, ignoring case.
+     * Served by the pg_trgm GIN index when the text is at least three characters long.
+     * 
+     * @param text The text to look for, or null
+     * @return Specification for the filter, or null if no text is given
+     */
+    public static Specification<Student> nameOrEmailContains(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        String pattern = "%" + KeysetSpecifications.escapeLike(text.trim().toLowerCase()) + "%";
+        return (root, query, cb) -> cb.or(
+                cb.like(cb.lower(root.get("firstName")), pattern, '\\'),
+                cb.like(cb.lower(root.get("lastName")), pattern, '\\'),
+                cb.like(cb.lower(root.get("email")), pattern, '\\'));
+    }
+
+    private static Specification<Student> startsWithIgnoreCase(String attribute, String prefix) {
+        if (prefix == null || prefix.isBlank()) {
+            return null;
+        }
+        String pattern = KeysetSpecifications.escapeLike(prefix.trim().toLowerCase()) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get(attribute)), pattern, '\\');
+    }
+}
@@ -0,0 +1,58 @@
+package com.mindera.mindswap.education_manager.service;
+
+import com.mindera.mindswap.education_manager.dto.CacheRegionStatisticsDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Service exposing the hit and miss statistics of the second-level cache.
+ * 
+ * Reads the Hibernate statistics, which are collected when
+ * {@code hibernate.generate_statistics} is enabled.
+ */
+@Service
+public class CacheStatisticsService {
+
+    private final Statistics statistics;
+
+    /**
+     * Constructs a new CacheStatisticsService with required dependencies.
+     * 
+     * @param entityManagerFactory Factory whose Hibernate statistics are read
+     */
+    @Autowired
+    public CacheStatisticsService(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    /**
+     * Retrieves the statistics of every second-level cache region, sorted by name.
+     * 
+     * @return List of CacheRegionStatisticsDTO, one per region
+     */
+    public List<CacheRegionStatisticsDTO> findRegionStatistics() {
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(region -> toDto(region, statistics.getCacheRegionStatistics(region)))
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private static CacheRegionStatisticsDTO toDto(String region, CacheRegionStatistics regionStatistics) {
+        if (regionStatistics == null) {
+            return null;
+        }
+        long hits = regionStatistics.getHitCount();
+        long misses = regionStatistics.getMissCount();
+        double hitRatio = hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+        return new CacheRegionStatisticsDTO(region, hits, misses, regionStatistics.getPutCount(), hitRatio);
+    }
+}
@@ -0,0 +1,350 @@
+package com.mindera.mindswap.education_manager.service;
+
+import com.mindera.mindswap.education_manager.repository.CourseRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Full-text index over the name and description of every course.
+ *
+ * By default the index is kept by PostgreSQL: a courses.search_vector generated
+ * column holds the English text search vector of each course, with name words
+ * weighted above description words, and a GIN index over it answers searches
+ * without scanning the catalog. Both are created by the V2 schema migration.
+ *
+ * When the column is missing (mode auto on a schema without it), or with mode
+ * memory, searches are answered by an in-memory inverted index instead.
+ * It is built from a streamed scan of the catalog when the application is ready,
+ * rebuilt periodically, and kept up to date after commit by the course writes of
+ * this instance. It lower-cases and splits words and drops common English stop
+ * words, but does not stem them, and only understands required and -excluded
+ * words. Until the first build completes it finds nothing.
+ */
+@Component
+public class CourseSearchIndex {
+
+    /**
+     * Where searches are answered.
+     */
+    public enum Mode {
+        AUTO,
+        DATABASE,
+        MEMORY
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseSearchIndex.class);
+
+    /**
+     * Counts the search vector columns of the courses table in the current schema.
+     */
+    private static final String SEARCH_VECTOR_COLUMN = "SELECT count(*) FROM information_schema.columns"
+            + " WHERE table_schema = current_schema() AND table_name = 'courses' AND column_name = 'search_vector'";
+
+    private static final float NAME_WEIGHT = 1.0f;
+    private static final float DESCRIPTION_WEIGHT = 0.4f;
+    private static final Pattern WORD_SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "into", "is", "it",
+            "of", "on", "or", "the", "to", "with");
+
+    private final CourseRepository courseRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final Mode mode;
+
+    /**
+     * Whether searches are answered by the database.
+     */
+    private volatile boolean databaseBacked;
+
+    /**
+     * In-memory index answering searches, or null until the first build completes.
+     */
+    private volatile Postings active;
+
+    /**
+     * In-memory index being rebuilt, which must also receive the changes made meanwhile, or null.
+     */
+    private volatile Postings building;
+
+    /**
+     * Constructs a new CourseSearchIndex with required dependencies.
+     *
+     * @param courseRepository Repository used to search and scan the catalog
+     * @param jdbcTemplate Template used to look the search vector up in the schema
+     * @param mode Where searches are answered: auto (database if possible), database or memory
+     */
+    public CourseSearchIndex(
+        CourseRepository courseRepository,
+        JdbcTemplate jdbcTemplate,
+        @Value("${education-manager.course-search.mode:auto}") Mode mode
+    ) {
+        this.courseRepository = courseRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.mode = mode;
+    }
+
+    /**
+     * Checks that the search vector column exists, unless in memory mode.
+     *
+     * @throws IllegalStateException in database mode, if the column does not exist
+     */
+    @PostConstruct
+    void detectDatabaseIndex() {
+        if (mode == Mode.MEMORY) {
+            return;
+        }
+        Integer columns = jdbcTemplate.queryForObject(SEARCH_VECTOR_COLUMN, Integer.class);
+        if (columns != null && columns > 0) {
+            databaseBacked = true;
+        } else if (mode == Mode.DATABASE) {
+            throw new IllegalStateException("courses.search_vector does not exist, the schema is not migrated");
+        } else {
+            logger.warn("Course full-text search falls back to an in-memory index: courses.search_vector does not exist");
+        }
+    }
+
+    /**
+     * Tells whether searches are answered by the database rather than in memory.
+     *
+     * @return true if the database search vector is in use
+     */
+    public boolean isDatabaseBacked() {
+        return databaseBacked;
+    }
+
+    /**
+     * Finds the courses matching a query, ranked by relevance, after a given position.
+     *
+     * @param query The search query
+     * @param rank The rank of the last result seen, or positive infinity for the first page
+     * @param id The id of the last result seen, or 0 for the first page
+     * @param limit Maximum number of results
+     * @return The ids and ranks of the matching courses, by rank descending and then id
+     */
+    public List<CourseRepository.SearchHit> search(String query, float rank, long id, int limit) {
+        if (databaseBacked) {
+            return courseRepository.searchByText(query, rank, id, limit);
+        }
+        Postings postings = active;
+        return postings == null ? List.of() : postings.search(query, rank, id, limit);
+    }
+
+    /**
+     * Indexes the current name and description of a course once the transaction commits.
+     * Does nothing while the database answers searches.
+     *
+     * @param id The ID of the course
+     * @param name The name of the course
+     * @param description The description of the course
+     */
+    public void index(Long id, String name, String description) {
+        if (!databaseBacked) {
+            afterCommit(postings -> postings.put(id, name, description));
+        }
+    }
+
+    /**
+     * Removes courses from the index once the transaction commits.
+     * Does nothing while the database answers searches.
+     *
+     * @param ids The IDs of the deleted courses
+     */
+    public void remove(Collection<Long> ids) {
+        if (!databaseBacked) {
+            List<Long> removed = List.copyOf(ids);
+            afterCommit(postings -> removed.forEach(postings::remove));
+        }
+    }
+
+    /**
+     * Rebuilds the in-memory index from a streamed scan of the catalog.
+     * Runs when the application is ready and every
+     * {@code education-manager.course-search.rebuild-interval}, unless the
+     * database answers searches. The scan is not marked read-only so it runs
+     * on the primary and sees every committed course.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${education-manager.course-search.rebuild-interval:PT6H}",
+            fixedDelayString = "${education-manager.course-search.rebuild-interval:PT6H}")
+    @Transactional
+    public void rebuild() {
+        if (databaseBacked) {
+            return;
+        }
+        long started = System.nanoTime();
+        Postings postings = new Postings();
+        building = postings;
+        long count = 0;
+        try (Stream<CourseRepository.SearchDocument> documents = courseRepository.streamAllSearchDocuments()) {
+            for (CourseRepository.SearchDocument document : (Iterable<CourseRepository.SearchDocument>) documents::iterator) {
+                postings.put(document.getId(), document.getName(), document.getDescription());
+                count++;
+            }
+        } catch (RuntimeException e) {
+            building = null;
+            throw e;
+        }
+        active = postings;
+        building = null;
+        logger.info("Course search index built from {} courses in {} ms",
+                count, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void afterCommit(Consumer<Postings> change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyNow(change);
+                }
+            });
+        } else {
+            applyNow(change);
+        }
+    }
+
+    private void applyNow(Consumer<Postings> change) {
+        // Read building before active: a rebuild publishes active before clearing building
+        Postings pending = building;
+        if (pending != null) {
+            change.accept(pending);
+        }
+        Postings postings = active;
+        if (postings != null && postings != pending) {
+            change.accept(postings);
+        }
+    }
+
+    private static List<String> words(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        List<String> words = new ArrayList<>();
+        for (String word : WORD_SEPARATORS.split(text.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty() && !STOP_WORDS.contains(word)) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * A course found by the in-memory index.
+     */
+    private record Hit(Long id, Float rank) implements CourseRepository.SearchHit {
+
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public Float getRank() {
+            return rank;
+        }
+    }
+
+    /**
+     * Inverted index mapping each word to the weight it has in every course containing it.
+     * Writes are serialised; searches read the concurrent maps without locking.
+     */
+    private static final class Postings {
+
+        private static final Comparator<Hit> RANKING = Comparator
+                .comparing(Hit::rank, Comparator.reverseOrder())
+                .thenComparing(Hit::id);
+
+        private final Map<String, Map<Long, Float>> coursesByWord = new ConcurrentHashMap<>();
+        private final Map<Long, Set<String>> wordsByCourse = new ConcurrentHashMap<>();
+
+        synchronized void put(Long id, String name, String description) {
+            remove(id);
+            Map<String, Float> weights = new HashMap<>();
+            words(name).forEach(word -> weights.merge(word, NAME_WEIGHT, Float::sum));
+            words(description).forEach(word -> weights.merge(word, DESCRIPTION_WEIGHT, Float::sum));
+            weights.forEach((word, weight) ->
+                    coursesByWord.computeIfAbsent(word, w -> new ConcurrentHashMap<>()).put(id, weight));
+            wordsByCourse.put(id, Set.copyOf(weights.keySet()));
+        }
+
+        synchronized void remove(Long id) {
+            Set<String> words = wordsByCourse.remove(id);
+            if (words == null) {
+                return;
+            }
+            for (String word : words) {
+                Map<Long, Float> courses = coursesByWord.get(word);
+                courses.remove(id);
+                if (courses.isEmpty()) {
+                    coursesByWord.remove(word);
+                }
+            }
+        }
+
+        List<CourseRepository.SearchHit> search(String query, float rank, long id, int limit) {
+            List<Map<Long, Float>> required = new ArrayList<>();
+            List<Map<Long, Float>> excluded = new ArrayList<>();
+            for (String term : WHITESPACE.split(query.trim())) {
+                List<Map<Long, Float>> terms = term.startsWith("-") ? excluded : required;
+                words(term).forEach(word -> terms.add(coursesByWord.getOrDefault(word, Map.of())));
+            }
+            if (required.isEmpty()) {
+                return List.of();
+            }
+            // Scan the rarest word, but add the weights up in query order so ranks are stable between pages
+            Map<Long, Float> rarest = required.stream().min(Comparator.comparingInt(Map::size)).orElseThrow();
+
+            PriorityQueue<Hit> best = new PriorityQueue<>(RANKING.reversed());
+            candidates:
+            for (Long courseId : rarest.keySet()) {
+                float score = 0;
+                for (Map<Long, Float> courses : required) {
+                    Float weight = courses.get(courseId);
+                    if (weight == null) {
+                        continue candidates;
+                    }
+                    score += weight;
+                }
+                for (Map<Long, Float> courses : excluded) {
+                    if (courses.containsKey(courseId)) {
+                        continue candidates;
+                    }
+                }
+                if (score < rank || (score == rank && courseId > id)) {
+                    best.add(new Hit(courseId, score));
+                    if (best.size() > limit) {
+                        best.poll();
+                    }
+                }
+            }
+            List<Hit> hits = new ArrayList<>(best);
+            hits.sort(RANKING);
+            return List.copyOf(hits);
+        }
+    }
+}
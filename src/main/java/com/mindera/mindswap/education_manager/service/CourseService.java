@@ -1,53 +1,217 @@
 package com.mindera.mindswap.education_manager.service;
 
 import com.mindera.mindswap.education_manager.converter.CourseConverter;
+import com.mindera.mindswap.education_manager.converter.CursorConverter;
+import com.mindera.mindswap.education_manager.converter.ETagConverter;
+import com.mindera.mindswap.education_manager.dto.BulkDeleteResultDTO;
 import com.mindera.mindswap.education_manager.dto.CourseDTO;
+import com.mindera.mindswap.education_manager.dto.CourseQueryDTO;
+import com.mindera.mindswap.education_manager.dto.CourseSearchQueryDTO;
 import com.mindera.mindswap.education_manager.dto.CreateCourseDTO;
+import com.mindera.mindswap.education_manager.dto.CursorPageDTO;
+import com.mindera.mindswap.education_manager.dto.RosterQueryDTO;
+import com.mindera.mindswap.education_manager.dto.StudentDTO;
 import com.mindera.mindswap.education_manager.dto.UpdateCourseDTO;
+import com.mindera.mindswap.education_manager.exception.EnrollmentException;
 import com.mindera.mindswap.education_manager.exception.ResourceNotFoundException;
 import com.mindera.mindswap.education_manager.model.Course;
 import com.mindera.mindswap.education_manager.repository.CourseRepository;
+import com.mindera.mindswap.education_manager.repository.CourseSpecifications;
+import com.mindera.mindswap.education_manager.repository.KeysetSpecifications;
+import com.mindera.mindswap.education_manager.repository.PartialUpdateRepository;
+import com.mindera.mindswap.education_manager.repository.StudentCourseRepository;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service class handling business logic for Course operations.
  * 
  * This service provides methods for:
- * - Retrieving courses (single or all)
+ * - Retrieving courses (single or keyset paginated pages)
+ * - Searching courses by keyword, ranked by relevance
+ * - Retrieving the roster of students enrolled in a course
  * - Creating new courses
  * - Updating existing courses
- * - Deleting courses
+ * - Deleting courses (single or in bulk)
  * 
  * All operations are transactional and include proper error handling.
+ * Every public method is timed (education-manager.service) and its failures
+ * are counted (education-manager.service.errors), tagged by class, method
+ * and exception.
  */
 @Service
+@Timed(value = "education-manager.service", histogram = true)
+@Counted(value = "education-manager.service.errors", recordFailuresOnly = true)
 public class CourseService {
 
+    /**
+     * Extracts the value of each sortable property, used to build the next page cursor.
+     */
+    private static final Map<String, Function<Course, Object>> SORT_VALUES = Map.of(
+            "id", Course::getId,
+            "name", Course::getName
+    );
+
     private final CourseRepository courseRepository;
+    private final StudentCourseRepository studentCourseRepository;
+    private final PartialUpdateRepository partialUpdateRepository;
+    private final EnrollmentCounter enrollmentCounter;
+    private final CourseSearchIndex courseSearchIndex;
+
+    @Value("${education-manager.bulk.chunk-size:500}")
+    private int bulkChunkSize;
 
     /**
      * Constructs a new CourseService with required dependencies.
      * 
      * @param courseRepository Repository for Course entity operations
+     * @param studentCourseRepository Repository for StudentCourse entity operations
+     * @param partialUpdateRepository Repository issuing single statement partial updates
+     * @param enrollmentCounter Keeper of the seats and enrolled count of each course
+     * @param courseSearchIndex Full-text index of the course catalog
      */
     @Autowired
-    public CourseService(CourseRepository courseRepository) {
+    public CourseService(
+        CourseRepository courseRepository,
+        StudentCourseRepository studentCourseRepository,
+        PartialUpdateRepository partialUpdateRepository,
+        EnrollmentCounter enrollmentCounter,
+        CourseSearchIndex courseSearchIndex
+    ) {
         this.courseRepository = courseRepository;
+        this.studentCourseRepository = studentCourseRepository;
+        this.partialUpdateRepository = partialUpdateRepository;
+        this.enrollmentCounter = enrollmentCounter;
+        this.courseSearchIndex = courseSearchIndex;
+    }
+
+    /**
+     * Retrieves one keyset paginated page of courses matching the query filters.
+     * 
+     * The page is fetched with a seek predicate on (sort, id) and a LIMIT, so its
+     * cost does not depend on how deep into the listing it is. One extra row is
+     * read to find out whether a next page exists.
+     * 
+     * @param query DTO containing the filters, sort and cursor of the page
+     * @return CursorPageDTO holding the courses of the page and the next page cursor
+     * @throws IllegalArgumentException if the cursor is malformed or was issued for another sort
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<CourseDTO> findCourses(CourseQueryDTO query) {
+        return findCourses(query, NotModifiedCheck.NEVER).orElseThrow();
     }
 
     /**
-     * Retrieves all courses from the database.
+     * Retrieves one keyset paginated page of courses, unless the client already holds it.
+     * 
+     * The ETag of the page is computed from the ids, versions and enrolled counts
+     * of the fetched rows and handed to the check before the courses are converted to DTOs.
      * 
-     * @return List of CourseDTO objects representing all courses
+     * @param query DTO containing the filters, sort and cursor of the page
+     * @param notModifiedCheck Check deciding whether the client's copy of the page is current
+     * @return CursorPageDTO holding the courses of the page and the next page cursor,
+     *         or empty if the client's copy is current
+     * @throws IllegalArgumentException if the cursor is malformed or was issued for another sort
      */
-    public List<CourseDTO> findAllCourses() {
-        return courseRepository.findAll().stream()
+    @Transactional(readOnly = true)
+    public Optional<CursorPageDTO<CourseDTO>> findCourses(CourseQueryDTO query,
+                                                         NotModifiedCheck notModifiedCheck) {
+        String sort = query.getSort();
+        boolean ascending = !"desc".equalsIgnoreCase(query.getDirection());
+        int limit = query.getLimit();
+
+        Specification<Course> specification = Specification
+                .where(CourseSpecifications.nameStartsWith(query.getName()));
+        if (query.getAfter() != null) {
+            CursorConverter.Cursor cursor = CursorConverter.fromToken(query.getAfter(), sort);
+            specification = specification.and(
+                    KeysetSpecifications.after(sort, cursor.getValue(), cursor.getId(), ascending));
+        }
+
+        List<Course> courses = courseRepository.findBy(specification, q -> q
+                .sortBy(KeysetSpecifications.orderBy(sort, ascending))
+                .limit(limit + 1)
+                .all());
+
+        String nextCursor = null;
+        if (courses.size() > limit) {
+            courses = courses.subList(0, limit);
+            Course last = courses.get(limit - 1);
+            nextCursor = CursorConverter.toToken(sort, SORT_VALUES.get(sort).apply(last), last.getId());
+        }
+        String etag = ETagConverter.toETag(courses, nextCursor,
+                Course::getId, Course::getVersion, Course::getEnrolledCount);
+        if (notModifiedCheck.isNotModified(etag, null)) {
+            return Optional.empty();
+        }
+        return Optional.of(new CursorPageDTO<>(
+                courses.stream().map(CourseConverter::toDto).toList(), nextCursor));
+    }
+
+    /**
+     * Searches the name and description of every course, ranked by relevance.
+     * 
+     * The ids and ranks of one page are found in the full-text index (see
+     * CourseSearchIndex) with a seek predicate on (rank, id), then the courses
+     * of the page are loaded with one IN query. One extra hit is read to find
+     * out whether a next page exists.
+     * 
+     * @param query DTO containing the search words and the cursor of the page
+     * @return CursorPageDTO holding the courses of the page, most relevant first, and the next page cursor
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<CourseDTO> searchCourses(CourseSearchQueryDTO query) {
+        float rank = Float.POSITIVE_INFINITY;
+        long id = 0;
+        if (query.getAfter() != null) {
+            CursorConverter.Cursor cursor = CursorConverter.fromToken(query.getAfter(), "rank");
+            try {
+                rank = Float.parseFloat(cursor.getValue());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor: " + query.getAfter());
+            }
+            id = cursor.getId();
+        }
+        int limit = query.getLimit();
+
+        List<CourseRepository.SearchHit> hits = courseSearchIndex.search(query.getQ(), rank, id, limit + 1);
+        String nextCursor = null;
+        if (hits.size() > limit) {
+            hits = hits.subList(0, limit);
+            CourseRepository.SearchHit last = hits.get(limit - 1);
+            nextCursor = CursorConverter.toToken("rank", last.getRank(), last.getId());
+        }
+
+        Map<Long, Course> courses = courseRepository.findAllById(
+                        hits.stream().map(CourseRepository.SearchHit::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(Course::getId, Function.identity()));
+        return new CursorPageDTO<>(hits.stream()
+                .map(hit -> courses.get(hit.getId()))
+                .filter(Objects::nonNull)
                 .map(CourseConverter::toDto)
-                .toList();
+                .toList(), nextCursor);
     }
 
     /**
@@ -58,13 +222,69 @@ public class CourseService {
      * @throws ResourceNotFoundException if no course is found with the given ID
      */
     public CourseDTO findCourseById(Long id) {
+        return findCourseById(id, NotModifiedCheck.NEVER).orElseThrow();
+    }
+
+    /**
+     * Retrieves a specific course by its ID, unless the client already holds it.
+     * 
+     * The course's version and enrolled count (ETag) are handed to the check
+     * before the course is converted to a DTO. No Last-Modified is given, as
+     * enrollments change the course without touching its update time.
+     * 
+     * @param id The ID of the course to retrieve
+     * @param notModifiedCheck Check deciding whether the client's copy of the course is current
+     * @return CourseDTO representing the found course, or empty if the client's copy is current
+     * @throws ResourceNotFoundException if no course is found with the given ID
+     */
+    @Transactional(readOnly = true)
+    public Optional<CourseDTO> findCourseById(Long id, NotModifiedCheck notModifiedCheck) {
         Course course = courseRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + id));
-        return CourseConverter.toDto(course);
+        if (notModifiedCheck.isNotModified(ETagConverter.toETag(course.getVersion(), course.getEnrolledCount()), null)) {
+            return Optional.empty();
+        }
+        return Optional.of(CourseConverter.toDto(course));
+    }
+
+    /**
+     * Retrieves one keyset paginated page of the students enrolled in a course.
+     * 
+     * The page is read with a single join query projected into StudentDTOs and
+     * the total is counted on the (course_id, student_id) index, so the cost
+     * does not grow with the page depth and no entity is loaded per student.
+     * 
+     * @param courseId The ID of the course
+     * @param query DTO containing the cursor and size of the page
+     * @return CursorPageDTO holding the students of the page, the next page cursor and the total count
+     * @throws ResourceNotFoundException if no course is found with the given ID
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<StudentDTO> findCourseStudents(Long courseId, RosterQueryDTO query) {
+        // Served from the second-level cache for known courses
+        if (courseRepository.findById(courseId).isEmpty()) {
+            throw new ResourceNotFoundException("Course not found with id: " + courseId);
+        }
+        int limit = query.getLimit();
+        // Ids are generated from 1, so 0 precedes every student
+        long afterStudentId = query.getAfter() == null
+                ? 0L
+                : CursorConverter.fromToken(query.getAfter(), "id").getId();
+
+        List<StudentDTO> students = studentCourseRepository.findRoster(courseId, afterStudentId, Limit.of(limit + 1));
+
+        String nextCursor = null;
+        if (students.size() > limit) {
+            students = students.subList(0, limit);
+            Long lastId = students.get(limit - 1).getId();
+            nextCursor = CursorConverter.toToken("id", lastId, lastId);
+        }
+        return new CursorPageDTO<>(students, nextCursor, studentCourseRepository.countByCourseId(courseId));
     }
 
     /**
-     * Creates a new course.
+     * Creates a new course along with its seat stripes.
      * 
      * @param createCourseDTO DTO containing the course information
      * @return CourseDTO representing the created course
@@ -73,6 +293,8 @@ public class CourseService {
     public CourseDTO createCourse(CreateCourseDTO createCourseDTO) {
         Course course = CourseConverter.createToEntity(createCourseDTO);
         Course savedCourse = courseRepository.save(course);
+        enrollmentCounter.initialize(savedCourse.getId(), savedCourse.getCapacity());
+        courseSearchIndex.index(savedCourse.getId(), savedCourse.getName(), savedCourse.getDescription());
         return CourseConverter.toDto(savedCourse);
     }
 
@@ -83,34 +305,105 @@ public class CourseService {
      * @param updateCourseDTO DTO containing the updated course information
      * @return CourseDTO representing the updated course
      * @throws ResourceNotFoundException if no course is found with the given ID
+     * @throws EnrollmentException if the new capacity is lower than the number of enrolled students
      */
     @Transactional
     public CourseDTO updateCourse(Long id, UpdateCourseDTO updateCourseDTO) {
-        Course course = courseRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + id));
+        return updateCourse(id, null, updateCourseDTO, NotModifiedCheck.NEVER);
+    }
 
+    /**
+     * Updates the given fields of an existing course, if it still has the expected version.
+     * 
+     * The course is not loaded first: the non-null fields are written with one
+     * UPDATE statement guarded by the expected version, which also increments the
+     * version. A new capacity is then spread over the seat stripes, and the updated
+     * course is read back once and its new validators are handed to the given check.
+     * 
+     * @param id The ID of the course to update
+     * @param expectedVersion The version the client last read (from If-Match), or null to update any version
+     * @param updateCourseDTO DTO containing the fields to change; null fields are left unchanged
+     * @param validators Check receiving the ETag of the updated course
+     * @return CourseDTO representing the updated course
+     * @throws ResourceNotFoundException if no course is found with the given ID
+     * @throws OptimisticLockingFailureException if the course no longer has the expected version
+     * @throws EnrollmentException if the new capacity is lower than the number of enrolled students
+     */
+    @Transactional
+    public CourseDTO updateCourse(Long id, Long expectedVersion, UpdateCourseDTO updateCourseDTO,
+                                  NotModifiedCheck validators) {
+        Map<String, Object> changes = new LinkedHashMap<>();
         if (updateCourseDTO.getName() != null) {
-            course.setName(updateCourseDTO.getName());
+            changes.put("name", updateCourseDTO.getName());
         }
         if (updateCourseDTO.getDescription() != null) {
-            course.setDescription(updateCourseDTO.getDescription());
+            changes.put("description", updateCourseDTO.getDescription());
+        }
+        if (updateCourseDTO.getCapacity() != null) {
+            changes.put("capacity", updateCourseDTO.getCapacity());
         }
 
-        Course updatedCourse = courseRepository.save(course);
-        return CourseConverter.toDto(updatedCourse);
+        if (!changes.isEmpty() || expectedVersion != null) {
+            if (partialUpdateRepository.update(Course.class, id, expectedVersion, changes) == 0) {
+                if (!courseRepository.existsById(id)) {
+                    throw new ResourceNotFoundException("Course not found with id: " + id);
+                }
+                throw new OptimisticLockingFailureException(
+                        "Course " + id + " no longer has version " + expectedVersion);
+            }
+        }
+        if (updateCourseDTO.getCapacity() != null) {
+            enrollmentCounter.resize(id, updateCourseDTO.getCapacity());
+        }
+        CourseDTO updated = findCourseById(id, validators).orElseThrow();
+        if (updateCourseDTO.getName() != null || updateCourseDTO.getDescription() != null) {
+            courseSearchIndex.index(id, updated.getName(), updated.getDescription());
+        }
+        return updated;
     }
 
     /**
      * Deletes a course by its ID.
+     * The course, its enrollments and its seat stripes are deleted with
+     * set-based statements, without loading them (see deleteCourses).
      * 
      * @param id The ID of the course to delete
      * @throws ResourceNotFoundException if no course is found with the given ID
      */
     @Transactional
     public void deleteCourse(Long id) {
-        if (!courseRepository.existsById(id)) {
+        if (deleteCourses(List.of(id)).getDeleted() == 0) {
             throw new ResourceNotFoundException("Course not found with id: " + id);
         }
-        courseRepository.deleteById(id);
+    }
+
+    /**
+     * Deletes courses by their IDs.
+     * 
+     * IDs are handled in chunks of {@code education-manager.bulk.chunk-size}.
+     * For each chunk, the existing courses are locked with one query, so no
+     * enrollment can be added to them concurrently, their enrollments are deleted
+     * with one statement, and the courses with another; their seat stripes go
+     * with them through ON DELETE CASCADE.
+     * 
+     * @param ids The IDs of the courses to delete; duplicates are ignored
+     * @return BulkDeleteResultDTO with the number deleted and the IDs not found
+     */
+    @Transactional
+    public BulkDeleteResultDTO deleteCourses(Collection<Long> ids) {
+        BulkDeleteResultDTO result = new BulkDeleteResultDTO();
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        for (int from = 0; from < distinctIds.size(); from += bulkChunkSize) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + bulkChunkSize, distinctIds.size()));
+            Set<Long> existing = new HashSet<>(courseRepository.lockExistingIds(chunk));
+            chunk.stream().filter(id -> !existing.contains(id)).forEach(result.getNotFound()::add);
+            if (existing.isEmpty()) {
+                continue;
+            }
+            studentCourseRepository.deleteByCourseIdIn(existing);
+            result.setDeleted(result.getDeleted() + courseRepository.deleteByIdIn(existing));
+            courseSearchIndex.remove(existing);
+        }
+        return result;
     }
 }
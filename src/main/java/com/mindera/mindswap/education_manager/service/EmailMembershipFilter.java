@@ -0,0 +1,201 @@
+package com.mindera.mindswap.education_manager.service;
+
+import com.mindera.mindswap.education_manager.repository.StudentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * In-memory Bloom filter over the registered student emails.
+ * 
+ * Emails are lower-cased before hashing, so a lookup answers "definitely not
+ * registered" or "possibly registered" for every casing of an address. A
+ * definite miss lets the uniqueness check skip its database query; a possible
+ * hit falls back to the query. The students.email unique constraint remains
+ * the final guard, for example against inserts made by another instance.
+ * 
+ * The filter is built from a streamed scan of students.email when the
+ * application is ready and rebuilt periodically, which drops the bits left
+ * behind by deleted students and changed emails. Until the first build
+ * completes every lookup is a possible hit.
+ */
+@Component
+public class EmailMembershipFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailMembershipFilter.class);
+
+    private final StudentRepository studentRepository;
+    private final long expectedInsertions;
+    private final double falsePositiveProbability;
+
+    /**
+     * Filter answering lookups, or null until the first build completes.
+     */
+    private volatile Bits active;
+
+    /**
+     * Filter being rebuilt, which must also receive the emails added meanwhile, or null.
+     */
+    private volatile Bits building;
+
+    /**
+     * Constructs a new EmailMembershipFilter with required dependencies.
+     * 
+     * @param studentRepository Repository used to scan the registered emails
+     * @param expectedInsertions Number of emails the filter is sized for
+     * @param falsePositiveProbability Target probability of a possible hit for an unknown email
+     */
+    public EmailMembershipFilter(
+        StudentRepository studentRepository,
+        @Value("${education-manager.email-filter.expected-insertions:1000000}") long expectedInsertions,
+        @Value("${education-manager.email-filter.false-positive-probability:0.01}") double falsePositiveProbability
+    ) {
+        this.studentRepository = studentRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+    }
+
+    /**
+     * Checks whether an email may be registered.
+     * 
+     * @param email The email to look up
+     * @return false if the email is definitely not registered, true if it may be
+     */
+    public boolean mightContain(String email) {
+        Bits bits = active;
+        return bits == null || bits.mightContain(normalize(email));
+    }
+
+    /**
+     * Records a registered email. Called before the insert is flushed so the
+     * filter never answers "definitely not" for a committed email, and again
+     * after commit so a rebuild running concurrently does not miss it.
+     * 
+     * @param email The email being registered
+     */
+    public void add(String email) {
+        String normalized = normalize(email);
+        addNow(normalized);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    addNow(normalized);
+                }
+            });
+        }
+    }
+
+    /**
+     * Rebuilds the filter from a streamed scan of students.email.
+     * Runs when the application is ready and every
+     * {@code education-manager.email-filter.rebuild-interval}.
+     * The scan is not marked read-only so it runs on the primary: an email
+     * committed but not yet replicated would otherwise be missing from the filter.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${education-manager.email-filter.rebuild-interval:PT6H}",
+            fixedDelayString = "${education-manager.email-filter.rebuild-interval:PT6H}")
+    @Transactional
+    public void rebuild() {
+        long started = System.nanoTime();
+        Bits bits = new Bits(expectedInsertions, falsePositiveProbability);
+        building = bits;
+        long count = 0;
+        try (Stream<String> emails = studentRepository.streamAllEmails()) {
+            for (String email : (Iterable<String>) emails::iterator) {
+                bits.put(normalize(email));
+                count++;
+            }
+        } catch (RuntimeException e) {
+            building = null;
+            throw e;
+        }
+        active = bits;
+        building = null;
+        logger.info("Email membership filter built from {} emails in {} ms",
+                count, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void addNow(String normalized) {
+        // Read building before active: a rebuild publishes active before clearing building
+        Bits pending = building;
+        if (pending != null) {
+            pending.put(normalized);
+        }
+        Bits bits = active;
+        if (bits != null) {
+            bits.put(normalized);
+        }
+    }
+
+    private static String normalize(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Thread-safe Bloom filter bit set using double hashing over a 64-bit FNV-1a hash.
+     */
+    private static final class Bits {
+
+        private final AtomicLongArray words;
+        private final long bitCount;
+        private final int hashCount;
+
+        Bits(long expectedInsertions, double falsePositiveProbability) {
+            long n = Math.max(expectedInsertions, 1);
+            long m = (long) Math.ceil(-n * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+            this.words = new AtomicLongArray((int) Math.max((m + 63) / 64, 1));
+            this.bitCount = words.length() * 64L;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        }
+
+        void put(String value) {
+            long hash = hash(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current;
+                do {
+                    current = words.get(word);
+                } while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        boolean mightContain(String value) {
+            long hash = hash(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashCount; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static long hash(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                hash ^= value.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.mindera.mindswap.education_manager.service;
+
+import com.mindera.mindswap.education_manager.exception.EnrollmentException;
+import com.mindera.mindswap.education_manager.model.Course;
+import com.mindera.mindswap.education_manager.model.CourseSeatStripe;
+import com.mindera.mindswap.education_manager.repository.CourseSeatStripeRepository;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maintains the enrolled count and enforces the seat capacity of each course.
+ * 
+ * The seats of a course are split over {@code education-manager.seats.stripes}
+ * stripe rows (see CourseSeatStripe). An enrollment takes a seat from a random
+ * stripe with free seats, skipping the stripes locked by in-flight enrollments,
+ * with one atomic update (taken = taken + 1 WHERE taken < capacity). Concurrent
+ * enrollments in a popular course therefore spread over the stripes instead of
+ * queuing on a single row lock, while no stripe, and so no course, can ever be
+ * oversubscribed. Only when every stripe with free seats is locked does an
+ * enrollment wait, and a full course is detected without waiting at all.
+ * 
+ * Many seats taken or given back at once, by bulk enrollments and bulk deletes,
+ * lock every stripe of the course in stripe order in one statement instead. A
+ * single seat only waits once its skip-locked attempt holds no stripe, and every
+ * wait goes through the stripes in stripe order, so no two transactions can
+ * deadlock on them.
+ * 
+ * Seat changes evict just the affected course from the second-level cache,
+ * both immediately and after commit. A periodic reconciliation recomputes every
+ * count from student_courses and fixes any drift, for example left by writes
+ * made outside the application.
+ */
+@Component
+public class EnrollmentCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(EnrollmentCounter.class);
+
+    private final CourseSeatStripeRepository seatStripeRepository;
+    private final Cache cache;
+    private final int stripes;
+
+    /**
+     * Constructs a new EnrollmentCounter with required dependencies.
+     * 
+     * @param seatStripeRepository Repository for the seat stripes of the courses
+     * @param entityManagerFactory Factory whose second-level cache holds the courses
+     * @param stripes Number of stripes the seats of a new course are split over
+     */
+    public EnrollmentCounter(
+        CourseSeatStripeRepository seatStripeRepository,
+        EntityManagerFactory entityManagerFactory,
+        @Value("${education-manager.seats.stripes:16}") int stripes
+    ) {
+        this.seatStripeRepository = seatStripeRepository;
+        this.cache = entityManagerFactory.getCache();
+        this.stripes = stripes;
+    }
+
+    /**
+     * Creates the seat stripes of a new course, split over the configured number of stripes.
+     * 
+     * @param courseId The ID of the course
+     * @param capacity The capacity of the course, or null if unlimited
+     */
+    @Transactional
+    public void initialize(Long courseId, Integer capacity) {
+        initialize(courseId, capacity, stripes);
+    }
+
+    /**
+     * Replaces the seat stripes of a course without enrollments.
+     * The capacity is spread evenly, and a course never gets more stripes than seats.
+     * 
+     * @param courseId The ID of the course
+     * @param capacity The capacity of the course, or null if unlimited
+     * @param stripeCount The number of stripes to split the seats over
+     */
+    @Transactional
+    public void initialize(Long courseId, Integer capacity, int stripeCount) {
+        seatStripeRepository.deleteByCourseId(courseId);
+        int count = capacity == null ? stripeCount : Math.max(1, Math.min(stripeCount, capacity));
+        List<CourseSeatStripe> seatStripes = new ArrayList<>();
+        for (int stripe = 0; stripe < count; stripe++) {
+            seatStripes.add(new CourseSeatStripe(courseId, stripe, share(capacity, stripe, count), 0));
+        }
+        seatStripeRepository.saveAll(seatStripes);
+        evict(List.of(courseId));
+    }
+
+    /**
+     * Changes the capacity of a course, keeping the seats already taken.
+     * The stripes are locked while their free seats are redistributed.
+     * 
+     * @param courseId The ID of the course
+     * @param capacity The new capacity of the course, or null if unlimited
+     * @throws EnrollmentException if more students than the new capacity are already enrolled
+     */
+    @Transactional
+    public void resize(Long courseId, Integer capacity) {
+        List<CourseSeatStripe> seatStripes = seatStripeRepository.lockByCourseId(courseId);
+        int taken = seatStripes.stream().mapToInt(CourseSeatStripe::getTaken).sum();
+        if (capacity != null && capacity < taken) {
+            throw new EnrollmentException(
+                    "Capacity cannot be lower than the " + taken + " students already enrolled");
+        }
+        int free = capacity == null ? 0 : capacity - taken;
+        for (int i = 0; i < seatStripes.size(); i++) {
+            CourseSeatStripe seatStripe = seatStripes.get(i);
+            Integer extra = share(capacity == null ? null : free, i, seatStripes.size());
+            seatStripe.setCapacity(extra == null ? null : seatStripe.getTaken() + extra);
+        }
+        seatStripeRepository.saveAll(seatStripes);
+        evict(List.of(courseId));
+    }
+
+    /**
+     * Takes one seat of a course for a new enrollment.
+     * 
+     * @param courseId The ID of the course
+     * @return true if a seat was taken, false if the course is full
+     */
+    @Transactional
+    public boolean tryTakeSeat(Long courseId) {
+        return takeSeats(courseId, 1) == 1;
+    }
+
+    /**
+     * Takes up to the given number of seats of a course.
+     * 
+     * A single seat is taken from a stripe not locked by other enrollments.
+     * When every stripe with free seats is locked, the call waits on the first
+     * of them and tries again, until the seat is taken or no stripe has free
+     * seats left. Many seats are taken from every stripe of the course, locked
+     * in stripe order in one statement.
+     * 
+     * @param courseId The ID of the course
+     * @param seats The number of seats wanted
+     * @return The number of seats taken, less than wanted if the course filled up
+     */
+    @Transactional
+    public int takeSeats(Long courseId, int seats) {
+        int granted = seats == 1
+                ? takeOneSeat(courseId)
+                : seatStripeRepository.takeSeatsInStripeOrder(courseId, seats);
+        if (granted > 0) {
+            evict(List.of(courseId));
+        }
+        return granted;
+    }
+
+    /**
+     * Takes one seat of a course, waiting on a locked stripe only when no stripe
+     * with free seats is free.
+     *
+     * @return 1 if the seat was taken, 0 if the course is full
+     */
+    private int takeOneSeat(Long courseId) {
+        while (true) {
+            Integer taken = seatStripeRepository.takeSeats(courseId, 1);
+            if (taken == null) {
+                if (seatStripeRepository.countStripesWithFreeSeats(courseId) == 0) {
+                    return 0;
+                }
+                taken = seatStripeRepository.takeSeatsWaiting(courseId, 1);
+            }
+            if (taken != null) {
+                return taken;
+            }
+        }
+    }
+
+    /**
+     * Gives back one seat of a course after an unenrollment.
+     * 
+     * @param courseId The ID of the course
+     */
+    @Transactional
+    public void releaseSeat(Long courseId) {
+        releaseSeats(courseId, 1);
+        evict(List.of(courseId));
+    }
+
+    /**
+     * Gives back one seat per deleted enrollment.
+     * Seats are grouped per course, so each course is updated in as few
+     * statements as possible, and courses are handled in ascending ID order
+     * so concurrent releases lock stripes in the same order.
+     * 
+     * @param courseIds The course ID of every deleted enrollment, repeated once per enrollment
+     */
+    @Transactional
+    public void releaseSeats(Collection<Long> courseIds) {
+        Map<Long, Integer> seatsPerCourse = new TreeMap<>();
+        courseIds.forEach(courseId -> seatsPerCourse.merge(courseId, 1, Integer::sum));
+        seatsPerCourse.forEach(this::releaseSeats);
+        evict(seatsPerCourse.keySet());
+    }
+
+    /**
+     * Gives back the given number of seats of a course. A single seat waits on a
+     * locked stripe only when no stripe with taken seats is free; many seats are
+     * drained from every stripe of the course, locked in stripe order.
+     */
+    private void releaseSeats(Long courseId, int seats) {
+        int released = seats == 1
+                ? releaseOneSeat(courseId)
+                : seatStripeRepository.releaseSeatsInStripeOrder(courseId, seats);
+        if (released < seats) {
+            logger.warn("Only {} of {} seats left to release for course {}", released, seats, courseId);
+        }
+    }
+
+    /**
+     * Gives back one seat of a course, waiting on a locked stripe only when no
+     * stripe with taken seats is free.
+     *
+     * @return 1 if the seat was given back, 0 if the course has no taken seat
+     */
+    private int releaseOneSeat(Long courseId) {
+        while (true) {
+            Integer given = seatStripeRepository.releaseSeats(courseId, 1);
+            if (given == null) {
+                if (seatStripeRepository.countStripesWithTakenSeats(courseId) == 0) {
+                    return 0;
+                }
+                given = seatStripeRepository.releaseSeatsWaiting(courseId, 1);
+            }
+            if (given != null) {
+                return given;
+            }
+        }
+    }
+
+    /**
+     * Recomputes every enrolled count in one grouped query and fixes the drifted ones.
+     * Runs every {@code education-manager.enrollment-count.reconcile-interval}.
+     * 
+     * Runs under REPEATABLE READ so that a count changed by an enrollment committed
+     * after the recount started fails the run, instead of being overwritten with
+     * the stale recount; the next run then picks it up.
+     * 
+     * @return The number of courses whose count was fixed
+     */
+    @Scheduled(initialDelayString = "${education-manager.enrollment-count.reconcile-interval:PT1H}",
+            fixedDelayString = "${education-manager.enrollment-count.reconcile-interval:PT1H}")
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public int reconcile() {
+        List<Long> fixed = seatStripeRepository.reconcileTakenSeats();
+        evict(fixed);
+        if (!fixed.isEmpty()) {
+            logger.warn("Fixed drifted enrolled counts of {} courses: {}", fixed.size(), fixed);
+        }
+        return fixed.size();
+    }
+
+    /**
+     * Returns the seats allotted to one stripe when spreading seats evenly.
+     */
+    private static Integer share(Integer seats, int stripe, int count) {
+        if (seats == null) {
+            return null;
+        }
+        return seats / count + (stripe < seats % count ? 1 : 0);
+    }
+
+    private void evict(Collection<Long> courseIds) {
+        if (courseIds.isEmpty()) {
+            return;
+        }
+        courseIds.forEach(courseId -> cache.evict(Course.class, courseId));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Evict again once committed, dropping any copy cached from the old rows meanwhile
+            List<Long> evicted = List.copyOf(courseIds);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evicted.forEach(courseId -> cache.evict(Course.class, courseId));
+                }
+            });
+        }
+    }
+}
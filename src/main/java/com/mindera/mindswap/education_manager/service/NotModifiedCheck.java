@@ -0,0 +1,28 @@
+package com.mindera.mindswap.education_manager.service;
+
+import java.time.Instant;
+
+/**
+ * Callback deciding whether a client already holds the current version of a resource.
+ * 
+ * Services call it with the validators of the resource as soon as they are known,
+ * before any DTO conversion, so conditional reads (If-None-Match, If-Modified-Since)
+ * of unchanged resources skip the conversion and the serialisation entirely.
+ */
+@FunctionalInterface
+public interface NotModifiedCheck {
+
+    /**
+     * Check used for unconditional reads, which always need the full resource.
+     */
+    NotModifiedCheck NEVER = (etag, lastModified) -> false;
+
+    /**
+     * Checks the validators of a resource against the ones held by the client.
+     * 
+     * @param etag The strong ETag of the current version of the resource
+     * @param lastModified The last modification time of the resource, or null if unknown
+     * @return true if the client's copy is current and the resource must not be sent
+     */
+    boolean isNotModified(String etag, Instant lastModified);
+}
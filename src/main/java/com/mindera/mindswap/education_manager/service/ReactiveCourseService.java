@@ -0,0 +1,76 @@
+package com.mindera.mindswap.education_manager.service;
+
+import com.mindera.mindswap.education_manager.dto.CourseDTO;
+import com.mindera.mindswap.education_manager.dto.StudentDTO;
+import com.mindera.mindswap.education_manager.exception.ResourceNotFoundException;
+import com.mindera.mindswap.education_manager.repository.ReactiveCourseRepository;
+import com.mindera.mindswap.education_manager.repository.ReactiveStudentCourseRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of CourseService for the reactive read path.
+ * 
+ * This service provides methods for:
+ * - Streaming the course catalog
+ * - Retrieving a single course
+ * - Streaming the roster of students enrolled in a course
+ * 
+ * Every method returns a cold publisher; nothing is queried until it is
+ * subscribed, and rows are fetched as fast as the subscriber requests them.
+ */
+@Service
+public class ReactiveCourseService {
+
+    private final ReactiveCourseRepository courseRepository;
+    private final ReactiveStudentCourseRepository studentCourseRepository;
+
+    /**
+     * Constructs a new ReactiveCourseService with required dependencies.
+     * 
+     * @param courseRepository R2DBC repository for courses
+     * @param studentCourseRepository R2DBC repository for enrollments
+     */
+    @Autowired
+    public ReactiveCourseService(ReactiveCourseRepository courseRepository,
+                                 ReactiveStudentCourseRepository studentCourseRepository) {
+        this.courseRepository = courseRepository;
+        this.studentCourseRepository = studentCourseRepository;
+    }
+
+    /**
+     * Streams the courses, ordered by id.
+     * 
+     * @param name Name prefix to filter by, or null for every course
+     * @return Flux of CourseDTOs
+     */
+    public Flux<CourseDTO> streamCourses(String name) {
+        return courseRepository.streamCourses(name);
+    }
+
+    /**
+     * Retrieves a specific course by its ID.
+     * 
+     * @param id The ID of the course to retrieve
+     * @return Mono of the CourseDTO, failing with ResourceNotFoundException if not found
+     */
+    public Mono<CourseDTO> findCourseById(Long id) {
+        return courseRepository.findCourseById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Course not found with id: " + id)));
+    }
+
+    /**
+     * Streams the students enrolled in a course, ordered by id.
+     * 
+     * @param courseId The ID of the course
+     * @return Flux of StudentDTOs, failing with ResourceNotFoundException if the course does not exist
+     */
+    public Flux<StudentDTO> streamCourseStudents(Long courseId) {
+        return courseRepository.existsById(courseId)
+                .flatMapMany(exists -> exists
+                        ? studentCourseRepository.streamRoster(courseId)
+                        : Flux.error(new ResourceNotFoundException("Course not found with id: " + courseId)));
+    }
+}
@@ -0,0 +1,81 @@
+package com.mindera.mindswap.education_manager.service;
+
+import com.mindera.mindswap.education_manager.dto.CourseDTO;
+import com.mindera.mindswap.education_manager.dto.StudentDTO;
+import com.mindera.mindswap.education_manager.exception.ResourceNotFoundException;
+import com.mindera.mindswap.education_manager.repository.ReactiveStudentCourseRepository;
+import com.mindera.mindswap.education_manager.repository.ReactiveStudentRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of StudentService for the reactive read path.
+ * 
+ * This service provides methods for:
+ * - Streaming all students
+ * - Retrieving a single student
+ * - Streaming the courses a student is enrolled in
+ * 
+ * Every method returns a cold publisher; nothing is queried until it is
+ * subscribed, and rows are fetched as fast as the subscriber requests them.
+ */
+@Service
+public class ReactiveStudentService {
+
+    private final ReactiveStudentRepository studentRepository;
+    private final ReactiveStudentCourseRepository studentCourseRepository;
+
+    /**
+     * Constructs a new ReactiveStudentService with required dependencies.
+     * 
+     * @param studentRepository R2DBC repository for students
+     * @param studentCourseRepository R2DBC repository for enrollments
+     */
+    @Autowired
+    public ReactiveStudentService(ReactiveStudentRepository studentRepository,
+                                  ReactiveStudentCourseRepository studentCourseRepository) {
+        this.studentRepository = studentRepository;
+        this.studentCourseRepository = studentCourseRepository;
+    }
+
+    /**
+     * Streams every student, ordered by id.
+     * 
+     * @return Flux of StudentDTOs
+     */
+    public Flux<StudentDTO> streamStudents() {
+        return studentRepository.streamStudents();
+    }
+
+    /**
+     * Retrieves a specific student by their ID.
+     * 
+     * @param id The ID of the student to retrieve
+     * @return Mono of the StudentDTO, failing with ResourceNotFoundException if not found
+     */
+    public Mono<StudentDTO> findStudentById(Long id) {
+        return studentRepository.findStudentById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Student not found with id: " + id)));
+    }
+
+    /**
+     * Streams the courses a student is enrolled in, ordered by name.
+     * The student's existence is only checked when they have no courses.
+     * 
+     * @param id The ID of the student
+     * @param includeDescription Whether to include the course descriptions
+     * @return Flux of CourseDTOs, failing with ResourceNotFoundException if the student does not exist
+     */
+    public Flux<CourseDTO> streamStudentCourses(Long id, boolean includeDescription) {
+        Flux<CourseDTO> courses = studentCourseRepository.streamSchedule(id);
+        if (!includeDescription) {
+            courses = courses.doOnNext(course -> course.setDescription(null));
+        }
+        return courses.switchIfEmpty(studentRepository.existsById(id)
+                .flatMapMany(exists -> exists
+                        ? Flux.empty()
+                        : Flux.error(new ResourceNotFoundException("Student not found with id: " + id))));
+    }
+}
@@ -1,47 +1,127 @@
 package com.mindera.mindswap.education_manager.service;
 
+import com.mindera.mindswap.education_manager.converter.CursorConverter;
+import com.mindera.mindswap.education_manager.converter.ETagConverter;
 import com.mindera.mindswap.education_manager.converter.StudentConverter;
 import com.mindera.mindswap.education_manager.converter.StudentCourseConverter;
+import com.mindera.mindswap.education_manager.dto.BulkDeleteResultDTO;
+import com.mindera.mindswap.education_manager.dto.BulkItemResultDTO;
+import com.mindera.mindswap.education_manager.dto.BulkResultDTO;
+import com.mindera.mindswap.education_manager.dto.CourseDTO;
 import com.mindera.mindswap.education_manager.dto.CreateStudentDTO;
+import com.mindera.mindswap.education_manager.dto.CursorPageDTO;
+import com.mindera.mindswap.education_manager.dto.EnrollmentRequestDTO;
 import com.mindera.mindswap.education_manager.dto.StudentCourseDTO;
 import com.mindera.mindswap.education_manager.dto.StudentDTO;
+import com.mindera.mindswap.education_manager.dto.StudentQueryDTO;
+import com.mindera.mindswap.education_manager.dto.StudentSearchQueryDTO;
 import com.mindera.mindswap.education_manager.dto.UpdateStudentDTO;
 import com.mindera.mindswap.education_manager.exception.EnrollmentException;
 import com.mindera.mindswap.education_manager.exception.ResourceNotFoundException;
-import com.mindera.mindswap.education_manager.model.Course;
+import com.mindera.mindswap.education_manager.model.EnrollmentIdempotencyKey;
 import com.mindera.mindswap.education_manager.model.Student;
 import com.mindera.mindswap.education_manager.model.StudentCourse;
 import com.mindera.mindswap.education_manager.repository.CourseRepository;
+import com.mindera.mindswap.education_manager.repository.EnrollmentIdempotencyKeyRepository;
+import com.mindera.mindswap.education_manager.repository.KeysetSpecifications;
+import com.mindera.mindswap.education_manager.repository.PartialUpdateRepository;
 import com.mindera.mindswap.education_manager.repository.StudentCourseRepository;
 import com.mindera.mindswap.education_manager.repository.StudentRepository;
+import com.mindera.mindswap.education_manager.repository.StudentSpecifications;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * Service class handling business logic for Student operations.
  * 
  * This service provides methods for:
- * - Retrieving students (single or all)
- * - Creating new students
+ * - Retrieving students (single or keyset paginated pages)
+ * - Looking students up by email or name, ignoring case
+ * - Retrieving the courses a student is enrolled in
+ * - Streaming the full student export
+ * - Creating new students (single or in bulk)
  * - Updating existing students
- * - Deleting students
- * - Managing course enrollments
+ * - Deleting students (single or in bulk)
+ * - Managing course enrollments (single or in bulk)
  * 
  * All operations are transactional and include proper error handling.
+ * Every public method is timed (education-manager.service) and its failures
+ * are counted (education-manager.service.errors), tagged by class, method
+ * and exception.
  */
 @Service
+@Timed(value = "education-manager.service", histogram = true)
+@Counted(value = "education-manager.service.errors", recordFailuresOnly = true)
 public class StudentService {
 
     private static final Logger logger = LoggerFactory.getLogger(StudentService.class);
 
+    /**
+     * Extracts the value of each sortable property, used to build the next page cursor.
+     */
+    private static final Map<String, Function<Student, Object>> SORT_VALUES = Map.of(
+            "id", Student::getId,
+            "lastName", Student::getLastName,
+            "firstName", Student::getFirstName,
+            "email", Student::getEmail
+    );
+
     private final StudentRepository studentRepository;
     private final CourseRepository courseRepository;
     private final StudentCourseRepository studentCourseRepository;
+    private final EnrollmentIdempotencyKeyRepository idempotencyKeyRepository;
+    private final PartialUpdateRepository partialUpdateRepository;
+    private final EmailMembershipFilter emailMembershipFilter;
+    private final EnrollmentCounter enrollmentCounter;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${education-manager.bulk.chunk-size:500}")
+    private int bulkChunkSize;
+
+    @Value("${education-manager.idempotency.ttl:24h}")
+    private Duration idempotencyKeyTtl;
 
     /**
      * Constructs a new StudentService with required dependencies.
@@ -49,27 +129,169 @@ public class StudentService {
      * @param studentRepository Repository for Student entity operations
      * @param courseRepository Repository for Course entity operations
      * @param studentCourseRepository Repository for StudentCourse entity operations
+     * @param idempotencyKeyRepository Repository for enrollment idempotency keys
+     * @param partialUpdateRepository Repository issuing single statement partial updates
+     * @param emailMembershipFilter In-memory filter of the registered emails
+     * @param enrollmentCounter Keeper of the seats and enrolled count of each course
+     * @param objectMapper Jackson mapper used to serialise the student export
+     * @param validator Validator used to check bulk items one by one
      */
     @Autowired
     public StudentService(
         StudentRepository studentRepository, 
         CourseRepository courseRepository,
-        StudentCourseRepository studentCourseRepository
+        StudentCourseRepository studentCourseRepository,
+        EnrollmentIdempotencyKeyRepository idempotencyKeyRepository,
+        PartialUpdateRepository partialUpdateRepository,
+        EmailMembershipFilter emailMembershipFilter,
+        EnrollmentCounter enrollmentCounter,
+        ObjectMapper objectMapper,
+        Validator validator
     ) {
         this.studentRepository = studentRepository;
         this.courseRepository = courseRepository;
         this.studentCourseRepository = studentCourseRepository;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.partialUpdateRepository = partialUpdateRepository;
+        this.emailMembershipFilter = emailMembershipFilter;
+        this.enrollmentCounter = enrollmentCounter;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
     }
 
     /**
-     * Retrieves all students from the database.
+     * Retrieves one keyset paginated page of students matching the query filters.
      * 
-     * @return List of StudentDTO objects representing all students
+     * The page is fetched with a seek predicate on (sort, id) and a LIMIT, so its
+     * cost does not depend on how deep into the listing it is. One extra row is
+     * read to find out whether a next page exists.
+     * 
+     * @param query DTO containing the filters, sort and cursor of the page
+     * @return CursorPageDTO holding the students of the page and the next page cursor
+     * @throws IllegalArgumentException if the cursor is malformed or was issued for another sort
      */
-    public List<StudentDTO> findAllStudents() {
-        return studentRepository.findAll().stream()
-                .map(StudentConverter::toDto)
-                .toList();
+    @Transactional(readOnly = true)
+    public CursorPageDTO<StudentDTO> findStudents(StudentQueryDTO query) {
+        return findStudents(query, NotModifiedCheck.NEVER).orElseThrow();
+    }
+
+    /**
+     * Retrieves one keyset paginated page of students, unless the client already holds it.
+     * 
+     * The ETag of the page is computed from the ids and versions of the fetched
+     * rows and handed to the check before the students are converted to DTOs.
+     * 
+     * @param query DTO containing the filters, sort and cursor of the page
+     * @param notModifiedCheck Check deciding whether the client's copy of the page is current
+     * @return CursorPageDTO holding the students of the page and the next page cursor,
+     *         or empty if the client's copy is current
+     * @throws IllegalArgumentException if the cursor is malformed or was issued for another sort
+     */
+    @Transactional(readOnly = true)
+    public Optional<CursorPageDTO<StudentDTO>> findStudents(StudentQueryDTO query,
+                                                           NotModifiedCheck notModifiedCheck) {
+        String sort = query.getSort();
+        boolean ascending = !"desc".equalsIgnoreCase(query.getDirection());
+        int limit = query.getLimit();
+
+        Specification<Student> specification = Specification
+                .where(StudentSpecifications.lastNameStartsWith(query.getLastName()))
+                .and(StudentSpecifications.emailDomainIs(query.getEmailDomain()));
+        if (query.getAfter() != null) {
+            CursorConverter.Cursor cursor = CursorConverter.fromToken(query.getAfter(), sort);
+            specification = specification.and(
+                    KeysetSpecifications.after(sort, cursor.getValue(), cursor.getId(), ascending));
+        }
+
+        List<Student> students = studentRepository.findBy(specification, q -> q
+                .sortBy(KeysetSpecifications.orderBy(sort, ascending))
+                .limit(limit + 1)
+                .all());
+
+        String nextCursor = null;
+        if (students.size() > limit) {
+            students = students.subList(0, limit);
+            Student last = students.get(limit - 1);
+            nextCursor = CursorConverter.toToken(sort, SORT_VALUES.get(sort).apply(last), last.getId());
+        }
+        String etag = ETagConverter.toETag(students, Student::getId, Student::getVersion, nextCursor);
+        if (notModifiedCheck.isNotModified(etag, null)) {
+            return Optional.empty();
+        }
+        return Optional.of(new CursorPageDTO<>(
+                students.stream().map(StudentConverter::toDto).toList(), nextCursor));
+    }
+
+    /**
+     * Looks students up by exact email, name prefixes or a substring of their names or email,
+     * ignoring case.
+     * 
+     * Every criterion is served by an expression index (see the V2 migration), so a
+     * page is found without scanning the table. Pages are ordered by id with a seek
+     * predicate, and one extra row is read to find out whether a next page exists.
+     * 
+     * @param query DTO containing the criteria and the cursor of the page
+     * @return CursorPageDTO holding the matching students of the page and the next page cursor
+     * @throws IllegalArgumentException if no criterion is given or the cursor is malformed
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<StudentDTO> searchStudents(StudentSearchQueryDTO query) {
+        if (Stream.of(query.getEmail(), query.getLastName(), query.getFirstName(), query.getContains())
+                .allMatch(value -> value == null || value.isBlank())) {
+            throw new IllegalArgumentException("At least one of email, lastName, firstName or contains is required");
+        }
+        Specification<Student> specification = Specification
+                .where(StudentSpecifications.emailEqualsIgnoreCase(query.getEmail()))
+                .and(StudentSpecifications.lastNameStartsWithIgnoreCase(query.getLastName()))
+                .and(StudentSpecifications.firstNameStartsWithIgnoreCase(query.getFirstName()))
+                .and(StudentSpecifications.nameOrEmailContains(query.getContains()));
+        if (query.getAfter() != null) {
+            CursorConverter.Cursor cursor = CursorConverter.fromToken(query.getAfter(), "id");
+            specification = specification.and(KeysetSpecifications.after("id", null, cursor.getId(), true));
+        }
+        int limit = query.getLimit();
+
+        List<Student> students = studentRepository.findBy(specification, q -> q
+                .sortBy(KeysetSpecifications.orderBy("id", true))
+                .limit(limit + 1)
+                .all());
+
+        String nextCursor = null;
+        if (students.size() > limit) {
+            students = students.subList(0, limit);
+            Student last = students.get(limit - 1);
+            nextCursor = CursorConverter.toToken("id", last.getId(), last.getId());
+        }
+        return new CursorPageDTO<>(students.stream().map(StudentConverter::toDto).toList(), nextCursor);
+    }
+
+    /**
+     * Writes every student as newline delimited JSON (one StudentDTO per line).
+     * 
+     * Rows are read through a server-side cursor in fetch-size chunks and each
+     * entity is detached as soon as it has been written, so the persistence
+     * context and the heap stay flat regardless of the table size. Lines are
+     * written through the generator's buffer without flushing after each student,
+     * so the response goes out in buffer-sized chunks instead of one per row.
+     * 
+     * @param outputStream The stream the NDJSON document is written to
+     * @throws IOException if writing to the stream fails
+     */
+    @Transactional(readOnly = true)
+    public void exportStudents(OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(StudentDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = writer.createGenerator(outputStream);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        try (generator; Stream<Student> students = studentRepository.streamAll()) {
+            Iterator<Student> iterator = students.iterator();
+            while (iterator.hasNext()) {
+                Student student = iterator.next();
+                writer.writeValue(generator, StudentConverter.toDto(student));
+                generator.writeRaw('\n');
+                entityManager.detach(student);
+            }
+        }
     }
 
     /**
@@ -80,9 +302,51 @@ public class StudentService {
      * @throws ResourceNotFoundException if no student is found with the given ID
      */
     public StudentDTO findStudentById(Long id) {
+        return findStudentById(id, NotModifiedCheck.NEVER).orElseThrow();
+    }
+
+    /**
+     * Retrieves a specific student by their ID, unless the client already holds it.
+     * 
+     * The student's version (ETag) and last update time are handed to the check
+     * before the student is converted to a DTO.
+     * 
+     * @param id The ID of the student to retrieve
+     * @param notModifiedCheck Check deciding whether the client's copy of the student is current
+     * @return StudentDTO representing the found student, or empty if the client's copy is current
+     * @throws ResourceNotFoundException if no student is found with the given ID
+     */
+    @Transactional(readOnly = true)
+    public Optional<StudentDTO> findStudentById(Long id, NotModifiedCheck notModifiedCheck) {
         Student student = studentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + id));
-        return StudentConverter.toDto(student);
+        if (notModifiedCheck.isNotModified(ETagConverter.toETag(student.getVersion()), student.getUpdatedAt())) {
+            return Optional.empty();
+        }
+        return Optional.of(StudentConverter.toDto(student));
+    }
+
+    /**
+     * Retrieves the courses a student is enrolled in, ordered by name.
+     * 
+     * The courses are read with one join query projected into CourseDTOs; the
+     * student is only looked up separately when that query finds nothing, to
+     * tell an unknown student from one without enrollments.
+     * 
+     * @param id The ID of the student
+     * @param includeDescription Whether to read and return the course descriptions
+     * @return List of CourseDTOs the student is enrolled in
+     * @throws ResourceNotFoundException if no student is found with the given ID
+     */
+    @Transactional(readOnly = true)
+    public List<CourseDTO> findStudentCourses(Long id, boolean includeDescription) {
+        List<CourseDTO> courses = includeDescription
+                ? studentCourseRepository.findSchedule(id)
+                : studentCourseRepository.findScheduleSummary(id);
+        if (courses.isEmpty() && !studentRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Student not found with id: " + id);
+        }
+        return courses;
     }
 
     /**
@@ -94,10 +358,235 @@ public class StudentService {
     @Transactional
     public StudentDTO createStudent(CreateStudentDTO createStudentDTO) {
         Student student = StudentConverter.createToEntity(createStudentDTO);
-        Student savedStudent = studentRepository.save(student);
+        emailMembershipFilter.add(student.getEmail());
+        Student savedStudent = studentRepository.saveAndFlush(student);
         return StudentConverter.toDto(savedStudent);
     }
 
+    /**
+     * Creates many students in one transaction.
+     * 
+     * Items are consumed in chunks of {@code education-manager.bulk.chunk-size}.
+     * For each chunk, field constraints are validated per item, email uniqueness
+     * is checked for the whole chunk in one IN query, and the accepted students
+     * are inserted with one insert-or-ignore statement, so memory use is bounded
+     * by the chunk size. An email registered concurrently after the check is
+     * reported as a duplicate item instead of failing the whole request.
+     * 
+     * @param students Iterator over the students to create, in request order
+     * @return BulkResultDTO with the outcome of every item
+     */
+    @Transactional
+    public BulkResultDTO createStudents(Iterator<CreateStudentDTO> students) {
+        BulkResultDTO result = processInChunks(students, this::createStudentChunk);
+        logger.info("Bulk created {} students, rejected {}", result.getCreated(), result.getRejected());
+        return result;
+    }
+
+    /**
+     * Validates, deduplicates and batch inserts one chunk of a bulk creation.
+     * 
+     * @param chunk The students of the chunk
+     * @param offset Position of the first student of the chunk in the request
+     * @return The outcome of every student of the chunk, in chunk order
+     */
+    private List<BulkItemResultDTO> createStudentChunk(List<CreateStudentDTO> chunk, int offset) {
+        BulkItemResultDTO[] outcomes = new BulkItemResultDTO[chunk.size()];
+        Map<String, Integer> candidates = new LinkedHashMap<>();
+
+        for (int i = 0; i < chunk.size(); i++) {
+            CreateStudentDTO dto = chunk.get(i);
+            if (dto == null) {
+                outcomes[i] = rejected(offset + i, BulkItemResultDTO.Status.INVALID, "Student must not be null");
+                continue;
+            }
+            Set<ConstraintViolation<CreateStudentDTO>> violations = validator.validate(dto);
+            if (!violations.isEmpty()) {
+                outcomes[i] = rejected(offset + i, BulkItemResultDTO.Status.INVALID,
+                        violations.iterator().next().getMessage());
+            } else if (candidates.putIfAbsent(dto.getEmail(), i) != null) {
+                outcomes[i] = rejected(offset + i, BulkItemResultDTO.Status.DUPLICATE,
+                        "The email '" + dto.getEmail() + "' is already in use");
+            }
+        }
+
+        if (!candidates.isEmpty()) {
+            // Only emails the in-memory filter cannot rule out need to be checked in the database
+            List<String> possiblyRegistered = candidates.keySet().stream()
+                    .filter(emailMembershipFilter::mightContain)
+                    .toList();
+            Set<String> existingEmails = possiblyRegistered.isEmpty()
+                    ? Set.of()
+                    : studentRepository.findExistingEmails(possiblyRegistered);
+            List<Integer> positions = candidates.entrySet().stream()
+                    .filter(candidate -> !existingEmails.contains(candidate.getKey()))
+                    .map(Map.Entry::getValue)
+                    .toList();
+            Map<String, Long> insertedIds = new HashMap<>();
+            if (!positions.isEmpty()) {
+                String[] firstNames = new String[positions.size()];
+                String[] lastNames = new String[positions.size()];
+                String[] emails = new String[positions.size()];
+                for (int k = 0; k < positions.size(); k++) {
+                    CreateStudentDTO dto = chunk.get(positions.get(k));
+                    firstNames[k] = dto.getFirstName();
+                    lastNames[k] = dto.getLastName();
+                    emails[k] = dto.getEmail();
+                    emailMembershipFilter.add(dto.getEmail());
+                }
+                studentRepository.insertIfAbsent(firstNames, lastNames, emails, Instant.now())
+                        .forEach(inserted -> insertedIds.put(inserted.getEmail(), inserted.getId()));
+            }
+            candidates.forEach((email, i) -> {
+                Long id = insertedIds.get(email);
+                outcomes[i] = id != null
+                        ? new BulkItemResultDTO(offset + i, BulkItemResultDTO.Status.CREATED, id, null)
+                        : rejected(offset + i, BulkItemResultDTO.Status.DUPLICATE,
+                                "The email '" + email + "' is already in use");
+            });
+        }
+        return Arrays.asList(outcomes);
+    }
+
+    /**
+     * Feeds the items of a bulk operation to a chunk handler, bulkChunkSize items at a time.
+     * 
+     * @param items Iterator over the items, in request order
+     * @param chunkHandler Handler receiving a chunk and the position of its first item
+     * @return BulkResultDTO collecting the outcome of every item
+     */
+    private <T> BulkResultDTO processInChunks(
+            Iterator<T> items, BiFunction<List<T>, Integer, List<BulkItemResultDTO>> chunkHandler) {
+        BulkResultDTO result = new BulkResultDTO();
+        List<T> chunk = new ArrayList<>(bulkChunkSize);
+        int offset = 0;
+        while (items.hasNext()) {
+            chunk.add(items.next());
+            if (chunk.size() == bulkChunkSize || !items.hasNext()) {
+                chunkHandler.apply(chunk, offset).forEach(result::add);
+                offset += chunk.size();
+                chunk.clear();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Builds the outcome of a rejected bulk item.
+     */
+    private static BulkItemResultDTO rejected(int index, BulkItemResultDTO.Status status, String message) {
+        return new BulkItemResultDTO(index, status, null, message);
+    }
+
+    /**
+     * Enrolls many (student, course) pairs in one transaction.
+     * 
+     * Pairs are consumed in chunks of {@code education-manager.bulk.chunk-size}.
+     * For each chunk, the referenced students and courses are checked with one
+     * IN query each, existing enrollments are found with one set-based query,
+     * and the new enrollments are batch inserted using entity references, so no
+     * Student or Course is loaded and no enrollment collection is initialised.
+     * The seats of each course are taken in one go; pairs beyond the free seats
+     * of their course are rejected as COURSE_FULL, in request order.
+     * 
+     * @param enrollments Iterator over the pairs to enroll, in request order
+     * @return BulkResultDTO with the outcome of every pair
+     */
+    @Transactional
+    public BulkResultDTO enrollStudentsInCourses(Iterator<EnrollmentRequestDTO> enrollments) {
+        BulkResultDTO result = processInChunks(enrollments, this::enrollChunk);
+        logger.info("Bulk enrolled {} pairs, rejected {}", result.getCreated(), result.getRejected());
+        return result;
+    }
+
+    /**
+     * Checks and batch inserts one chunk of a bulk enrollment.
+     * 
+     * @param chunk The pairs of the chunk
+     * @param offset Position of the first pair of the chunk in the request
+     * @return The outcome of every pair of the chunk, in chunk order
+     */
+    private List<BulkItemResultDTO> enrollChunk(List<EnrollmentRequestDTO> chunk, int offset) {
+        BulkItemResultDTO[] outcomes = new BulkItemResultDTO[chunk.size()];
+        Set<Long> studentIds = new HashSet<>();
+        Set<Long> courseIds = new HashSet<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            EnrollmentRequestDTO pair = chunk.get(i);
+            if (pair == null || pair.getStudentId() == null || pair.getCourseId() == null) {
+                outcomes[i] = rejected(offset + i, BulkItemResultDTO.Status.INVALID,
+                        "Student ID and course ID are required");
+                continue;
+            }
+            studentIds.add(pair.getStudentId());
+            courseIds.add(pair.getCourseId());
+        }
+        if (studentIds.isEmpty()) {
+            return Arrays.asList(outcomes);
+        }
+
+        Set<Long> existingStudents = studentRepository.findExistingIds(studentIds);
+        Set<Long> existingCourses = courseRepository.findExistingIds(courseIds);
+        Set<String> enrolled = new HashSet<>();
+        studentCourseRepository.findPairs(existingStudents, existingCourses).forEach(
+                existing -> enrolled.add(pairKey(existing.getStudentId(), existing.getCourseId())));
+
+        // Seats are taken per course in course ID order, so concurrent bulk enrollments cannot deadlock
+        Map<Long, List<Integer>> candidatesPerCourse = new TreeMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            if (outcomes[i] != null) {
+                continue;
+            }
+            EnrollmentRequestDTO pair = chunk.get(i);
+            if (!existingStudents.contains(pair.getStudentId())) {
+                outcomes[i] = rejected(offset + i, BulkItemResultDTO.Status.MISSING_STUDENT,
+                        "Student not found with id: " + pair.getStudentId());
+            } else if (!existingCourses.contains(pair.getCourseId())) {
+                outcomes[i] = rejected(offset + i, BulkItemResultDTO.Status.MISSING_COURSE,
+                        "Course not found with id: " + pair.getCourseId());
+            } else if (!enrolled.add(pairKey(pair.getStudentId(), pair.getCourseId()))) {
+                outcomes[i] = rejected(offset + i, BulkItemResultDTO.Status.DUPLICATE,
+                        "Student is already enrolled in this course");
+            } else {
+                candidatesPerCourse.computeIfAbsent(pair.getCourseId(), courseId -> new ArrayList<>()).add(i);
+            }
+        }
+
+        List<StudentCourse> newEnrollments = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        candidatesPerCourse.forEach((courseId, candidates) -> {
+            int seats = enrollmentCounter.takeSeats(courseId, candidates.size());
+            for (int k = 0; k < candidates.size(); k++) {
+                int i = candidates.get(k);
+                if (k >= seats) {
+                    outcomes[i] = rejected(offset + i, BulkItemResultDTO.Status.COURSE_FULL, "Course is full");
+                    continue;
+                }
+                StudentCourse enrollment = new StudentCourse();
+                enrollment.setStudent(studentRepository.getReferenceById(chunk.get(i).getStudentId()));
+                enrollment.setCourse(courseRepository.getReferenceById(courseId));
+                newEnrollments.add(enrollment);
+                positions.add(i);
+            }
+        });
+
+        studentCourseRepository.saveAll(newEnrollments);
+        studentCourseRepository.flush();
+        for (int k = 0; k < newEnrollments.size(); k++) {
+            int i = positions.get(k);
+            outcomes[i] = new BulkItemResultDTO(offset + i, BulkItemResultDTO.Status.CREATED,
+                    newEnrollments.get(k).getId(), null);
+        }
+        entityManager.clear();
+        return Arrays.asList(outcomes);
+    }
+
+    /**
+     * Builds the lookup key of a (student, course) pair.
+     */
+    private static String pairKey(Long studentId, Long courseId) {
+        return studentId + ":" + courseId;
+    }
+
     /**
      * Updates an existing student.
      * 
@@ -108,27 +597,56 @@ public class StudentService {
      */
     @Transactional
     public StudentDTO updateStudent(Long id, UpdateStudentDTO updateStudentDTO) {
-        Student student = studentRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + id));
+        return updateStudent(id, null, updateStudentDTO, NotModifiedCheck.NEVER);
+    }
 
+    /**
+     * Updates the given fields of an existing student, if it still has the expected version.
+     * 
+     * The student is not loaded first: the non-null fields are written with one
+     * UPDATE statement guarded by the expected version, which also increments the
+     * version. The updated student is then read back once and its new validators
+     * are handed to the given check.
+     * 
+     * @param id The ID of the student to update
+     * @param expectedVersion The version the client last read (from If-Match), or null to update any version
+     * @param updateStudentDTO DTO containing the fields to change; null fields are left unchanged
+     * @param validators Check receiving the ETag and last update time of the updated student
+     * @return StudentDTO representing the updated student
+     * @throws ResourceNotFoundException if no student is found with the given ID
+     * @throws OptimisticLockingFailureException if the student no longer has the expected version
+     */
+    @Transactional
+    public StudentDTO updateStudent(Long id, Long expectedVersion, UpdateStudentDTO updateStudentDTO,
+                                    NotModifiedCheck validators) {
+        Map<String, Object> changes = new LinkedHashMap<>();
         if (updateStudentDTO.getFirstName() != null) {
-            student.setFirstName(updateStudentDTO.getFirstName());
+            changes.put("firstName", updateStudentDTO.getFirstName());
         }
         if (updateStudentDTO.getLastName() != null) {
-            student.setLastName(updateStudentDTO.getLastName());
+            changes.put("lastName", updateStudentDTO.getLastName());
         }
         if (updateStudentDTO.getEmail() != null) {
-            student.setEmail(updateStudentDTO.getEmail());
+            emailMembershipFilter.add(updateStudentDTO.getEmail());
+            changes.put("email", updateStudentDTO.getEmail());
         }
 
-        Student updatedStudent = studentRepository.save(student);
-        return StudentConverter.toDto(updatedStudent);
+        if (!changes.isEmpty() || expectedVersion != null) {
+            if (partialUpdateRepository.update(Student.class, id, expectedVersion, changes) == 0) {
+                if (!studentRepository.existsById(id)) {
+                    throw new ResourceNotFoundException("Student not found with id: " + id);
+                }
+                throw new OptimisticLockingFailureException(
+                        "Student " + id + " no longer has version " + expectedVersion);
+            }
+        }
+        return findStudentById(id, validators).orElseThrow();
     }
 
     /**
      * Deletes a student by their ID.
-     * Due to the cascade configuration in the Student entity,
-     * this will also delete all associated StudentCourse records.
+     * The student and their enrollments are deleted with set-based statements,
+     * without loading them (see deleteStudents).
      * 
      * @param id The ID of the student to delete
      * @throws ResourceNotFoundException if no student is found with the given ID
@@ -137,18 +655,43 @@ public class StudentService {
     public void deleteStudent(Long id) {
         logger.info("Attempting to delete student with ID: {}", id);
 
-        Student student = studentRepository.findById(id)
-                .orElseThrow(() -> {
-                    logger.error("Student not found with ID: {}", id);
-                    return new ResourceNotFoundException("Student not found with id: " + id);
-                });
-
-        logger.info("Student found: {}", student);
+        if (deleteStudents(List.of(id)).getDeleted() == 0) {
+            logger.error("Student not found with ID: {}", id);
+            throw new ResourceNotFoundException("Student not found with id: " + id);
+        }
 
-        studentRepository.delete(student);
         logger.info("Student with ID: {} has been deleted", id);
     }
 
+    /**
+     * Deletes students by their IDs.
+     * 
+     * IDs are handled in chunks of {@code education-manager.bulk.chunk-size}.
+     * For each chunk, the existing students are locked with one query, so no
+     * enrollment can be added to them concurrently, their enrollments are deleted
+     * with one statement returning the affected courses, the seats are given back
+     * per course, and the students are deleted with one statement.
+     * 
+     * @param ids The IDs of the students to delete; duplicates are ignored
+     * @return BulkDeleteResultDTO with the number deleted and the IDs not found
+     */
+    @Transactional
+    public BulkDeleteResultDTO deleteStudents(Collection<Long> ids) {
+        BulkDeleteResultDTO result = new BulkDeleteResultDTO();
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        for (int from = 0; from < distinctIds.size(); from += bulkChunkSize) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + bulkChunkSize, distinctIds.size()));
+            Set<Long> existing = new HashSet<>(studentRepository.lockExistingIds(chunk));
+            chunk.stream().filter(id -> !existing.contains(id)).forEach(result.getNotFound()::add);
+            if (existing.isEmpty()) {
+                continue;
+            }
+            enrollmentCounter.releaseSeats(studentCourseRepository.deleteByStudentIdIn(existing));
+            result.setDeleted(result.getDeleted() + studentRepository.deleteByIdIn(existing));
+        }
+        return result;
+    }
+
     /**
      * Enrolls a student in a course.
      * 
@@ -156,29 +699,118 @@ public class StudentService {
      * @param courseId The ID of the course to enroll in
      * @return StudentCourseDTO representing the enrollment
      * @throws ResourceNotFoundException if either student or course is not found
-     * @throws EnrollmentException if the student is already enrolled in the course
+     * @throws EnrollmentException if the student is already enrolled in the course or it is full
      */
     @Transactional
     public StudentCourseDTO enrollStudentInCourse(Long studentId, Long courseId) {
-        Student student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Student not found with id: " + studentId));
-        
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new ResourceNotFoundException("Course not found with id: " + courseId));
+        return enrollStudentInCourse(studentId, courseId, null);
+    }
+
+    /**
+     * Enrolls a student in a course, optionally under an idempotency key.
+     * 
+     * The enrollment is a single insert-or-ignore against the (student_id, course_id)
+     * unique constraint, so its cost does not depend on how many courses the student
+     * already has, and concurrent requests for the same pair cannot both succeed.
+     * Only when nothing was inserted are the rows looked up to report why.
+     * The course seat is taken last, so rejected requests never touch the seat
+     * counters, and a full course rolls the insert back.
+     * 
+     * When an idempotency key is given it is claimed in the same transaction; a
+     * request retried with the same key gets the original enrollment back instead
+     * of a conflict. Failed requests release their key when the transaction rolls back.
+     * 
+     * @param studentId The ID of the student to enroll
+     * @param courseId The ID of the course to enroll in
+     * @param idempotencyKey Client supplied key identifying the request, or null
+     * @return StudentCourseDTO representing the enrollment
+     * @throws ResourceNotFoundException if either student or course is not found
+     * @throws EnrollmentException if the student is already enrolled in the course,
+     *                             the course is full, or the key was used for another enrollment
+     */
+    @Transactional
+    public StudentCourseDTO enrollStudentInCourse(Long studentId, Long courseId, String idempotencyKey) {
+        if (idempotencyKey != null
+                && idempotencyKeyRepository.claim(idempotencyKey, studentId, courseId, Instant.now()) == null) {
+            return replayEnrollment(idempotencyKey, studentId, courseId);
+        }
 
-        // Check if student is already enrolled in the course
-        boolean isAlreadyEnrolled = student.getCourses().stream()
-                .anyMatch(sc -> sc.getCourse().getId().equals(courseId));
-        
-        if (isAlreadyEnrolled) {
-            throw new EnrollmentException("Student is already enrolled in this course");
+        Long enrollmentId = studentCourseRepository.insertIfAbsent(studentId, courseId);
+        if (enrollmentId == null) {
+            if (studentCourseRepository.existsByStudentIdAndCourseId(studentId, courseId)) {
+                throw new EnrollmentException("Student is already enrolled in this course");
+            }
+            if (!studentRepository.existsById(studentId)) {
+                throw new ResourceNotFoundException("Student not found with id: " + studentId);
+            }
+            throw new ResourceNotFoundException("Course not found with id: " + courseId);
+        }
+        if (!enrollmentCounter.tryTakeSeat(courseId)) {
+            throw new EnrollmentException("Course is full");
+        }
+        if (idempotencyKey != null) {
+            idempotencyKeyRepository.complete(idempotencyKey, enrollmentId);
         }
 
         StudentCourse enrollment = new StudentCourse();
-        enrollment.setStudent(student);
-        enrollment.setCourse(course);
+        enrollment.setId(enrollmentId);
+        enrollment.setStudent(studentRepository.getReferenceById(studentId));
+        enrollment.setCourse(courseRepository.getReferenceById(courseId));
+        return StudentCourseConverter.toDto(enrollment);
+    }
+
+    /**
+     * Removes a student's enrollment in a course.
+     * 
+     * The enrollment is deleted with a single statement and its seat in the course
+     * is given back in the same transaction.
+     * 
+     * @param studentId The ID of the student to unenroll
+     * @param courseId The ID of the course to unenroll from
+     * @throws ResourceNotFoundException if the student is not enrolled in the course
+     */
+    @Transactional
+    public void unenrollStudentFromCourse(Long studentId, Long courseId) {
+        if (studentCourseRepository.deleteByStudentIdAndCourseId(studentId, courseId) == 0) {
+            throw new ResourceNotFoundException(
+                    "Student " + studentId + " is not enrolled in course " + courseId);
+        }
+        enrollmentCounter.releaseSeat(courseId);
+    }
 
-        StudentCourse savedEnrollment = studentCourseRepository.save(enrollment);
-        return StudentCourseConverter.toDto(savedEnrollment);
+    /**
+     * Returns the enrollment created by an earlier request carrying the same idempotency key.
+     * 
+     * @param idempotencyKey The key of the request
+     * @param studentId The ID of the student of the current request
+     * @param courseId The ID of the course of the current request
+     * @return StudentCourseDTO representing the original enrollment
+     * @throws EnrollmentException if the key was used for another (student, course) pair
+     * @throws ResourceNotFoundException if the original enrollment has since been removed
+     */
+    private StudentCourseDTO replayEnrollment(String idempotencyKey, Long studentId, Long courseId) {
+        EnrollmentIdempotencyKey stored = idempotencyKeyRepository.findById(idempotencyKey)
+                .orElseThrow(() -> new EnrollmentException("Idempotency key is being released, retry the request"));
+        if (!stored.getStudentId().equals(studentId) || !stored.getCourseId().equals(courseId)) {
+            throw new EnrollmentException("Idempotency key has already been used for another enrollment");
+        }
+        logger.info("Replaying enrollment {} for idempotency key {}", stored.getEnrollmentId(), idempotencyKey);
+        StudentCourse enrollment = studentCourseRepository.findById(stored.getEnrollmentId())
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "Enrollment not found with id: " + stored.getEnrollmentId()));
+        return StudentCourseConverter.toDto(enrollment);
+    }
+
+    /**
+     * Deletes the idempotency keys older than {@code education-manager.idempotency.ttl}.
+     * Runs every {@code education-manager.idempotency.purge-interval}.
+     */
+    @Scheduled(fixedDelayString = "${education-manager.idempotency.purge-interval:PT1H}")
+    @Transactional
+    public void purgeExpiredIdempotencyKeys() {
+        int purged = idempotencyKeyRepository.deleteByCreatedAtBefore(Instant.now().minus(idempotencyKeyTtl));
+        if (purged > 0) {
+            logger.info("Purged {} expired enrollment idempotency keys", purged);
+        }
     }
 }
@@ -1,6 +1,7 @@
 package com.mindera.mindswap.education_manager.validation;
 
 import com.mindera.mindswap.education_manager.repository.StudentRepository;
+import com.mindera.mindswap.education_manager.service.EmailMembershipFilter;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,8 +10,22 @@ import org.springframework.stereotype.Component;
 @Component
 public class UniqueEmailValidator implements ConstraintValidator<UniqueEmail, String> {
 
+    private final StudentRepository studentRepository;
+    private final EmailMembershipFilter emailMembershipFilter;
+
+    /**
+     * Constructs a new UniqueEmailValidator. Injected through the constructor, as
+     * Hibernate Validator has Spring create a new instance that, in an AOT-processed
+     * application, gets no field injection.
+     *
+     * @param studentRepository Repository answering whether an email is registered
+     * @param emailMembershipFilter Filter ruling out most unregistered emails in memory
+     */
     @Autowired
-    private StudentRepository studentRepository;
+    public UniqueEmailValidator(StudentRepository studentRepository, EmailMembershipFilter emailMembershipFilter) {
+        this.studentRepository = studentRepository;
+        this.emailMembershipFilter = emailMembershipFilter;
+    }
 
     @Override
     public void initialize(UniqueEmail constraintAnnotation) {
@@ -23,7 +38,8 @@ public class UniqueEmailValidator implements ConstraintValidator<UniqueEmail, St
             return true; // Let @NotNull handle null validation
         }
         
-        if (studentRepository.existsByEmail(email)) {
+        // A definite miss in the in-memory filter skips the database round trip
+        if (emailMembershipFilter.mightContain(email) && studentRepository.existsByEmail(email)) {
             context.disableDefaultConstraintViolation();
             context.buildConstraintViolationWithTemplate("The email '" + email + "' is already in use")
                    .addConstraintViolation();
@@ -0,0 +1,11 @@
+package com.mindera.mindswap.education_manager.validation;
+
+/**
+ * Validation group for constraints that need a database lookup, such as {@link UniqueEmail}.
+ * 
+ * Constraints in this group only run when explicitly requested, which lets bulk
+ * operations validate field formats per item and check uniqueness for a whole
+ * chunk in one set-based query instead.
+ */
+public interface UniquenessChecks {
+}
@@ -0,0 +1,62 @@
+-- Tables, keys and constraints of the education manager, as mapped by the JPA entities.
+-- Hibernate validates the mapping against this schema on startup (ddl-auto=validate).
+
+-- Student and enrollment ids come from pooled sequences: the increment must match the
+-- allocationSize of the entities, which take ids 50 at a time to batch their inserts
+CREATE SEQUENCE students_id_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE student_courses_id_seq START WITH 1 INCREMENT BY 50;
+
+-- Updates bump version and updated_at, which are not indexed: the free space left in
+-- each page lets them be HOT updates, written next to the old row without index changes
+CREATE TABLE students (
+    id         bigint                      NOT NULL,
+    first_name varchar(50)                 NOT NULL,
+    last_name  varchar(50)                 NOT NULL,
+    email      varchar(100)                NOT NULL,
+    version    bigint                      NOT NULL,
+    updated_at timestamp(6) with time zone NOT NULL,
+    CONSTRAINT students_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_students_email UNIQUE (email)
+) WITH (fillfactor = 90);
+
+CREATE TABLE courses (
+    id          bigint GENERATED BY DEFAULT AS IDENTITY,
+    name        varchar(100)                NOT NULL,
+    description varchar(1000)               NOT NULL,
+    capacity    integer,
+    version     bigint                      NOT NULL,
+    updated_at  timestamp(6) with time zone NOT NULL,
+    CONSTRAINT courses_pkey PRIMARY KEY (id)
+) WITH (fillfactor = 90);
+
+-- The unique constraint's index, led by student_id, serves the lookups by student
+CREATE TABLE student_courses (
+    id         bigint NOT NULL,
+    student_id bigint NOT NULL,
+    course_id  bigint NOT NULL,
+    CONSTRAINT student_courses_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_student_courses_student_course UNIQUE (student_id, course_id),
+    CONSTRAINT fk_student_courses_student FOREIGN KEY (student_id) REFERENCES students (id),
+    CONSTRAINT fk_student_courses_course FOREIGN KEY (course_id) REFERENCES courses (id)
+);
+
+-- Every enrollment updates the taken count of one stripe: half of each page is kept
+-- free so that these updates stay HOT and do not bloat the primary key index.
+-- The key is led by course_id, as every statement reads the stripes of one course
+CREATE TABLE course_seat_stripes (
+    course_id bigint  NOT NULL,
+    stripe    integer NOT NULL,
+    capacity  integer,
+    taken     integer NOT NULL,
+    CONSTRAINT course_seat_stripes_pkey PRIMARY KEY (course_id, stripe),
+    CONSTRAINT fk_course_seat_stripes_course FOREIGN KEY (course_id) REFERENCES courses (id) ON DELETE CASCADE
+) WITH (fillfactor = 50);
+
+CREATE TABLE enrollment_idempotency_keys (
+    idempotency_key varchar(100)                NOT NULL,
+    student_id      bigint                      NOT NULL,
+    course_id       bigint                      NOT NULL,
+    enrollment_id   bigint,
+    created_at      timestamp(6) with time zone NOT NULL,
+    CONSTRAINT enrollment_idempotency_keys_pkey PRIMARY KEY (idempotency_key)
+);
@@ -0,0 +1,36 @@
+-- Secondary indexes, one per query pattern of the repositories.
+-- SchemaIndexTest explains the statements of every endpoint and fails on a table scan.
+
+-- Keyset paginated listings: ORDER BY (sort, id) with a (sort, id) > (?, ?) seek predicate
+CREATE INDEX idx_students_last_name_id ON students (last_name, id);
+CREATE INDEX idx_students_first_name_id ON students (first_name, id);
+CREATE INDEX idx_courses_name_id ON courses (name, id);
+
+-- Case-sensitive prefix filters of the listings (LIKE 'prefix%'). The indexes above only
+-- serve them under the C collation; pattern_ops indexes do under any collation
+CREATE INDEX idx_students_last_name_pattern ON students (last_name varchar_pattern_ops);
+CREATE INDEX idx_courses_name_pattern ON courses (name varchar_pattern_ops);
+
+-- Student lookup: exact email and name prefixes, ignoring case
+CREATE INDEX idx_students_lower_email ON students (lower(email));
+CREATE INDEX idx_students_lower_last_name ON students (lower(last_name) text_pattern_ops);
+CREATE INDEX idx_students_lower_first_name ON students (lower(first_name) text_pattern_ops);
+
+-- Student lookup by substring of the names or email, and the email domain filter of the
+-- listing (LIKE '%@domain'), served by trigrams
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX idx_students_trigram ON students USING GIN (
+    lower(first_name) gin_trgm_ops, lower(last_name) gin_trgm_ops, lower(email) gin_trgm_ops);
+
+-- Course full-text search: English text search vector, name words weighted above description words
+ALTER TABLE courses ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('english', coalesce(name, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(description, '')), 'B')) STORED;
+CREATE INDEX idx_courses_search_vector ON courses USING GIN (search_vector);
+
+-- Rosters, enrolled counts and course deletes look enrollments up by course. Led by
+-- course_id, this index also serves the lookups by course_id alone, so no separate one
+CREATE INDEX idx_student_courses_course_student ON student_courses (course_id, student_id);
+
+-- Purge of expired idempotency keys (created_at < ?)
+CREATE INDEX idx_enrollment_idempotency_keys_created_at ON enrollment_idempotency_keys (created_at);
@@ -0,0 +1,189 @@
+package com.mindera.mindswap.education_manager;
+
+import com.mindera.mindswap.education_manager.dto.CourseDTO;
+import com.mindera.mindswap.education_manager.dto.CreateCourseDTO;
+import com.mindera.mindswap.education_manager.dto.CreateStudentDTO;
+import com.mindera.mindswap.education_manager.dto.StudentDTO;
+import com.mindera.mindswap.education_manager.repository.CourseRepository;
+import com.mindera.mindswap.education_manager.repository.StudentCourseRepository;
+import com.mindera.mindswap.education_manager.repository.StudentRepository;
+import com.mindera.mindswap.education_manager.service.CourseService;
+import com.mindera.mindswap.education_manager.service.StudentService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Load comparison of request handling on platform threads, on virtual threads
+ * and on the reactive (WebFlux and R2DBC) read path.
+ *
+ * The application is started once per model and CONNECTIONS clients read
+ * student schedules at the same time, each over its own connection. On platform
+ * threads, concurrency is capped by the Tomcat worker pool; on virtual threads,
+ * every request gets a thread and waits for a pooled database connection instead,
+ * so HikariCP becomes the bottleneck; on the reactive stack, a few event-loop
+ * threads multiplex every request over the R2DBC pool. The throughput, p99
+ * latency and peak number of requests waiting for a JDBC connection are printed
+ * for every model.
+ *
+ * The virtual thread run needs Java 21 (see the java21 Maven profile) and is
+ * skipped on older runtimes. Tagged "load", so it only runs with the load Maven
+ * profile (mvn -Pload test).
+ */
+@Tag("load")
+class ThreadModelLoadTest {
+
+    private static final int CONNECTIONS = 1000;
+    private static final int REQUESTS_PER_CONNECTION = 3;
+    private static final int STUDENTS = 50;
+    private static final int COURSES = 3;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(30))
+            .build();
+
+    /**
+     * Runs the same load against every model.
+     * Verifies:
+     * - Every request succeeds (200 OK) under 1000 concurrent connections
+     * - No model leaves requests waiting for a connection once the load is over
+     */
+    @Test
+    void studentSchedules_under1000Connections_shouldBeServedByEveryModel() throws Exception {
+        runLoad("Platform threads", "--spring.threads.virtual.enabled=false");
+        if (JRE.currentVersion().compareTo(JRE.JAVA_21) >= 0) {
+            runLoad("Virtual threads", "--spring.threads.virtual.enabled=true");
+        } else {
+            System.out.printf("Virtual threads: skipped, running on Java %s%n", Runtime.version().feature());
+        }
+        runLoad("Reactive", "--spring.main.web-application-type=reactive");
+    }
+
+    /**
+     * Starts the application with the given settings, seeds students enrolled
+     * in a few courses and reads their schedules from CONNECTIONS clients at once.
+     */
+    private void runLoad(String model, String setting) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(EducationManagerApplication.class)
+                .run("--server.port=0",
+                        "--spring.jpa.show-sql=false",
+                        setting)) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            List<Long> studentIds = seed(context);
+            HikariDataSource dataSource = context.getBean(DataSource.class).unwrap(HikariDataSource.class);
+
+            AtomicInteger peakAwaiting = new AtomicInteger();
+            ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+            sampler.scheduleAtFixedRate(() -> peakAwaiting.accumulateAndGet(
+                    dataSource.getHikariPoolMXBean().getThreadsAwaitingConnection(), Math::max),
+                    0, 10, TimeUnit.MILLISECONDS);
+
+            Map<Integer, AtomicInteger> statuses = new ConcurrentHashMap<>();
+            long[] latencies = new long[CONNECTIONS * REQUESTS_PER_CONNECTION];
+            long begin = System.nanoTime();
+            try {
+                List<CompletableFuture<Void>> clients = new ArrayList<>();
+                for (int c = 0; c < CONNECTIONS; c++) {
+                    clients.add(readSchedules(port, c, studentIds, latencies, statuses));
+                }
+                CompletableFuture.allOf(clients.toArray(new CompletableFuture[0])).get(5, TimeUnit.MINUTES);
+            } finally {
+                sampler.shutdownNow();
+            }
+            long elapsed = (System.nanoTime() - begin) / 1_000_000;
+
+            Arrays.sort(latencies);
+            long p99 = latencies[(int) Math.ceil(latencies.length * 0.99) - 1];
+            System.out.printf("%s: %d requests over %d connections in %d ms (%.0f req/s), p99 %.1f ms, "
+                            + "peak %d requests waiting for one of %d connections%n",
+                    model, latencies.length, CONNECTIONS, elapsed,
+                    latencies.length * 1000.0 / Math.max(elapsed, 1), p99 / 1_000_000.0,
+                    peakAwaiting.get(), dataSource.getMaximumPoolSize());
+
+            assertEquals(Set.of(200), statuses.keySet());
+            assertEquals(latencies.length, statuses.get(200).get());
+            assertEquals(0, dataSource.getHikariPoolMXBean().getThreadsAwaitingConnection());
+
+            context.getBean(StudentCourseRepository.class).deleteAll();
+            context.getBean(StudentRepository.class).deleteAll();
+            context.getBean(CourseRepository.class).deleteAll();
+        }
+    }
+
+    /**
+     * Sends REQUESTS_PER_CONNECTION schedule reads one after another, as a client
+     * holding a single keep-alive connection would.
+     */
+    private CompletableFuture<Void> readSchedules(int port, int client, List<Long> studentIds, long[] latencies,
+                                                  Map<Integer, AtomicInteger> statuses) {
+        CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+        for (int r = 0; r < REQUESTS_PER_CONNECTION; r++) {
+            int index = client * REQUESTS_PER_CONNECTION + r;
+            Long studentId = studentIds.get(index % studentIds.size());
+            HttpRequest request = HttpRequest.newBuilder(URI.create(
+                            "http://localhost:" + port + "/api/v1/students/" + studentId + "/courses"))
+                    .timeout(Duration.ofMinutes(1))
+                    .GET()
+                    .build();
+            chain = chain.thenCompose(previous -> {
+                long begin = System.nanoTime();
+                return httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                        .handle((response, failure) -> {
+                            latencies[index] = System.nanoTime() - begin;
+                            int status = failure == null ? response.statusCode() : -1;
+                            statuses.computeIfAbsent(status, s -> new AtomicInteger()).incrementAndGet();
+                            return null;
+                        });
+            });
+        }
+        return chain;
+    }
+
+    private List<Long> seed(ConfigurableApplicationContext context) {
+        CourseService courseService = context.getBean(CourseService.class);
+        StudentService studentService = context.getBean(StudentService.class);
+
+        List<CourseDTO> courses = new ArrayList<>();
+        for (int i = 0; i < COURSES; i++) {
+            CreateCourseDTO dto = new CreateCourseDTO();
+            dto.setName("Loaded Course " + i);
+            dto.setDescription("Loaded Course Description " + i);
+            courses.add(courseService.createCourse(dto));
+        }
+        List<Long> studentIds = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            CreateStudentDTO dto = new CreateStudentDTO();
+            dto.setFirstName("Student" + i);
+            dto.setLastName("Loaded");
+            dto.setEmail("loaded" + i + "@example.com");
+            StudentDTO student = studentService.createStudent(dto);
+            courses.forEach(course -> studentService.enrollStudentInCourse(student.getId(), course.getId()));
+            studentIds.add(student.getId());
+        }
+        return studentIds;
+    }
+}
@@ -0,0 +1,76 @@
+package com.mindera.mindswap.education_manager.config;
+
+import com.mindera.mindswap.education_manager.dto.CreateStudentDTO;
+import com.mindera.mindswap.education_manager.dto.StudentDTO;
+import com.mindera.mindswap.education_manager.dto.StudentQueryDTO;
+import com.mindera.mindswap.education_manager.validation.UniqueEmailValidator;
+import net.ttddyy.dsproxy.proxy.ProxyJdbcObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the hints the native image is built with.
+ *
+ * These tests verify:
+ * - Every DTO, including query parameter objects, can be bound, serialised and validated
+ * - The unique email validator can be created by reflection
+ * - The JDBC proxies of the SQL accounting can be created
+ * - The second-level cache configuration is included
+ */
+class NativeImageHintsTest {
+
+    private RuntimeHints hints;
+
+    /**
+     * Registers the hints before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new NativeImageHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    /**
+     * Tests the reflection hints of the DTOs.
+     * Verifies:
+     * - Fields of request, response and query parameter DTOs are reflectively accessible
+     * - Accessors are invocable and constructors of select new projections are registered
+     */
+    @Test
+    void registerHints_shouldCoverDtos() throws NoSuchMethodException {
+        for (Class<?> dto : new Class<?>[] {CreateStudentDTO.class, StudentDTO.class, StudentQueryDTO.class}) {
+            assertTrue(RuntimeHintsPredicates.reflection().onType(dto)
+                    .withMemberCategories(MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)
+                    .test(hints), dto::getName);
+        }
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(StudentQueryDTO.class, "setLastName").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onConstructor(StudentDTO.class.getConstructor(Long.class, String.class, String.class, String.class))
+                .test(hints));
+    }
+
+    /**
+     * Tests the remaining hints.
+     * Verifies:
+     * - UniqueEmailValidator constructors are invocable
+     * - Connection and prepared statement proxies are registered
+     * - caffeine.conf is included
+     */
+    @Test
+    void registerHints_shouldCoverValidatorProxiesAndCacheConfiguration() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(UniqueEmailValidator.class)
+                .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+        assertTrue(RuntimeHintsPredicates.proxies().forInterfaces(ProxyJdbcObject.class, Connection.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.proxies().forInterfaces(ProxyJdbcObject.class, PreparedStatement.class)
+                .test(hints));
+        assertTrue(RuntimeHintsPredicates.resource().forResource("caffeine.conf").test(hints));
+    }
+}
@@ -1,29 +1,39 @@
 package com.mindera.mindswap.education_manager.controller;
 
+import com.mindera.mindswap.education_manager.dto.CacheRegionStatisticsDTO;
 import com.mindera.mindswap.education_manager.dto.CourseDTO;
 import com.mindera.mindswap.education_manager.dto.CreateCourseDTO;
 import com.mindera.mindswap.education_manager.dto.CreateStudentDTO;
+import com.mindera.mindswap.education_manager.dto.CursorPageDTO;
 import com.mindera.mindswap.education_manager.dto.StudentDTO;
 import com.mindera.mindswap.education_manager.dto.UpdateCourseDTO;
+import com.mindera.mindswap.education_manager.model.Course;
 import com.mindera.mindswap.education_manager.repository.CourseRepository;
+import com.mindera.mindswap.education_manager.repository.EnrollmentIdempotencyKeyRepository;
 import com.mindera.mindswap.education_manager.repository.StudentCourseRepository;
 import com.mindera.mindswap.education_manager.repository.StudentRepository;
 import com.mindera.mindswap.education_manager.service.CourseService;
 import com.mindera.mindswap.education_manager.service.StudentService;
 import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.http.HttpStatus;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -35,9 +45,10 @@ import static org.junit.jupiter.api.Assertions.*;
  * - Error handling for various scenarios
  * 
  * Each test uses RestAssured for API testing and includes proper setup and cleanup
- * to ensure test isolation.
+ * to ensure test isolation. Metrics export is enabled to test the Prometheus endpoint.
  */
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability
 class CourseControllerTest {
 
     @LocalServerPort
@@ -58,6 +69,9 @@ class CourseControllerTest {
     @Autowired
     private StudentCourseRepository studentCourseRepository;
 
+    @Autowired
+    private EnrollmentIdempotencyKeyRepository idempotencyKeyRepository;
+
     /**
      * Sets up the test environment before each test.
      * Configures RestAssured with the dynamic port and base path.
@@ -74,6 +88,7 @@ class CourseControllerTest {
      */
     @AfterEach
     void tearDown() {
+        idempotencyKeyRepository.deleteAll();
         studentCourseRepository.deleteAll();
         studentRepository.deleteAll();
         courseRepository.deleteAll();
@@ -161,6 +176,126 @@ class CourseControllerTest {
         assertEquals(2, response.size());
     }
 
+    /**
+     * Tests walking the course listing in descending name order with the keyset cursor.
+     * Verifies:
+     * - Each page holds at most the requested number of courses
+     * - The X-Next-Cursor header leads to the next page and is absent on the last one
+     * - Every course is returned exactly once, in the requested order
+     */
+    @Test
+    void getAllCourses_withLimit_shouldWalkAllPagesWithCursor() {
+        for (String name : List.of("Biology", "Algebra", "Chemistry")) {
+            CreateCourseDTO dto = new CreateCourseDTO();
+            dto.setName(name);
+            dto.setDescription(name + " Description");
+            courseService.createCourse(dto);
+        }
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            RequestSpecification request = given()
+                    .queryParam("sort", "name")
+                    .queryParam("direction", "desc")
+                    .queryParam("limit", 2);
+            if (cursor != null) {
+                request.queryParam("after", cursor);
+            }
+            Response response = request
+                    .when()
+                    .get()
+                    .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .extract()
+                    .response();
+
+            response.jsonPath().getList(".", CourseDTO.class).forEach(course -> seen.add(course.getName()));
+            cursor = response.getHeader(CursorPageDTO.NEXT_CURSOR_HEADER);
+        } while (cursor != null);
+
+        assertEquals(List.of("Chemistry", "Biology", "Algebra"), seen);
+    }
+
+    /**
+     * Tests the course listing with an out of range page size.
+     * Verifies:
+     * - Correct HTTP status code (400 Bad Request)
+     */
+    @Test
+    void getAllCourses_withInvalidLimit_shouldReturn400() {
+        given()
+                .queryParam("limit", 0)
+                .when()
+                .get()
+                .then()
+                .statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+
+    /**
+     * Tests walking the roster of a course with the keyset cursor.
+     * Verifies:
+     * - Only the students enrolled in the course are returned, ordered by id
+     * - The X-Next-Cursor header leads to the next page and is absent on the last one
+     * - Every page carries the total number of enrolled students in X-Total-Count
+     */
+    @Test
+    void getCourseStudents_withLimit_shouldWalkRosterWithCursor() {
+        CreateCourseDTO courseDto = new CreateCourseDTO();
+        courseDto.setName("Roster Course");
+        courseDto.setDescription("Roster Description");
+        CourseDTO course = courseService.createCourse(courseDto);
+
+        List<Long> enrolledIds = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            CreateStudentDTO studentDto = new CreateStudentDTO();
+            studentDto.setFirstName("Student");
+            studentDto.setLastName("Number" + i);
+            studentDto.setEmail("roster" + i + "@example.com");
+            StudentDTO student = studentService.createStudent(studentDto);
+            if (i != 3) {
+                studentService.enrollStudentInCourse(student.getId(), course.getId());
+                enrolledIds.add(student.getId());
+            }
+        }
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            RequestSpecification request = given().queryParam("limit", 2);
+            if (cursor != null) {
+                request.queryParam("after", cursor);
+            }
+            Response response = request
+                    .when()
+                    .get("/{id}/students", course.getId())
+                    .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .header(CursorPageDTO.TOTAL_COUNT_HEADER, "5")
+                    .extract()
+                    .response();
+
+            response.jsonPath().getList(".", StudentDTO.class).forEach(student -> seen.add(student.getId()));
+            cursor = response.getHeader(CursorPageDTO.NEXT_CURSOR_HEADER);
+        } while (cursor != null);
+
+        assertEquals(enrolledIds, seen);
+    }
+
+    /**
+     * Tests the roster of a non-existent course.
+     * Verifies:
+     * - Correct HTTP status code (404 Not Found)
+     */
+    @Test
+    void getCourseStudents_withInvalidCourseId_shouldReturn404() {
+        given()
+                .when()
+                .get("/{id}/students", 999L)
+                .then()
+                .statusCode(HttpStatus.NOT_FOUND.value());
+    }
+
     /**
      * Tests retrieval of a specific course by ID.
      * Verifies:
@@ -220,6 +355,118 @@ class CourseControllerTest {
         assertEquals(updateDto.getDescription(), response.getDescription());
     }
 
+    /**
+     * Tests partial course updates guarded by If-Match.
+     * Verifies:
+     * - PATCH with the current ETag changes only the given fields, including the capacity
+     * - The cached course is refreshed, and reads return the new ETag
+     * - A stale ETag gets 409 Conflict, and an unknown course gets 404
+     */
+    @Test
+    void patchCourse_withIfMatch_shouldRejectStaleVersions() {
+        CreateCourseDTO createDto = new CreateCourseDTO();
+        createDto.setName("Original Course");
+        createDto.setDescription("Original Description");
+        CourseDTO createdCourse = courseService.createCourse(createDto);
+        String etag = given().when().get("/{id}", createdCourse.getId()).then().extract().header("ETag");
+
+        UpdateCourseDTO updateDto = new UpdateCourseDTO();
+        updateDto.setName("Patched Course");
+        updateDto.setCapacity(10);
+        String newEtag = given()
+                .contentType(ContentType.JSON)
+                .header("If-Match", etag)
+                .body(updateDto)
+                .when()
+                .patch("/{id}", createdCourse.getId())
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("name", equalTo("Patched Course"))
+                .body("description", equalTo("Original Description"))
+                .body("capacity", equalTo(10))
+                .extract().header("ETag");
+        assertNotEquals(etag, newEtag);
+
+        given()
+                .when()
+                .get("/{id}", createdCourse.getId())
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .header("ETag", newEtag)
+                .body("name", equalTo("Patched Course"));
+
+        given()
+                .contentType(ContentType.JSON)
+                .header("If-Match", etag)
+                .body(updateDto)
+                .when()
+                .patch("/{id}", createdCourse.getId())
+                .then()
+                .statusCode(HttpStatus.CONFLICT.value());
+        given()
+                .contentType(ContentType.JSON)
+                .header("If-Match", newEtag)
+                .body(updateDto)
+                .when()
+                .patch("/{id}", 999999L)
+                .then()
+                .statusCode(HttpStatus.NOT_FOUND.value());
+    }
+
+    /**
+     * Tests the ranked full-text course search.
+     * Verifies:
+     * - Courses are found by words of their name or description, in any form ("physics" finds "physic")
+     * - Name matches rank above description matches, ties broken by id
+     * - Excluded words filter out their courses
+     * - Pages of one result can be walked with the cursor, in the same order
+     * - A blank query gets 400 Bad Request
+     */
+    @Test
+    void searchCourses_shouldRankAndPaginateMatches() {
+        CourseDTO linear = createCourse("Linear Algebra", "Vectors, matrices and linear maps");
+        CourseDTO physical = createCourse("Algebra for Physics", "Mathematical methods");
+        CourseDTO mechanics = createCourse("Classical Mechanics", "Newtonian physics with some algebra");
+        createCourse("Organic Chemistry", "Carbon compounds");
+
+        given()
+                .queryParam("q", "algebra")
+                .when()
+                .get("/search")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("id", contains(linear.getId().intValue(), physical.getId().intValue(),
+                        mechanics.getId().intValue()));
+        given()
+                .queryParam("q", "algebra -physics")
+                .when()
+                .get("/search")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("name", contains("Linear Algebra"));
+
+        List<Long> walked = new ArrayList<>();
+        String cursor = null;
+        do {
+            RequestSpecification request = given().queryParam("q", "algebra").queryParam("limit", 1);
+            if (cursor != null) {
+                request.queryParam("after", cursor);
+            }
+            Response response = request.when().get("/search");
+            assertEquals(HttpStatus.OK.value(), response.statusCode());
+            walked.addAll(response.jsonPath().getList("id", Long.class));
+            cursor = response.header("X-Next-Cursor");
+        } while (cursor != null);
+        assertEquals(List.of(linear.getId(), physical.getId(), mechanics.getId()), walked);
+
+        given()
+                .queryParam("q", " ")
+                .when()
+                .get("/search")
+                .then()
+                .statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+
     /**
      * Tests course deletion.
      * Verifies:
@@ -243,6 +490,52 @@ class CourseControllerTest {
         assertFalse(courseRepository.existsById(createdCourse.getId()));
     }
 
+    /**
+     * Tests bulk deletion of courses with enrollments.
+     * Verifies:
+     * - Existing courses are deleted with their enrollments, unknown IDs are reported
+     * - Enrolled students are preserved
+     * - The courses are gone from the cache as well
+     */
+    @Test
+    void deleteCourses_withEnrollments_shouldDeleteCoursesAndEnrollments() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            CreateCourseDTO dto = new CreateCourseDTO();
+            dto.setName("Bulk Course " + i);
+            dto.setDescription("Bulk Course Description " + i);
+            ids.add(courseService.createCourse(dto).getId());
+        }
+        CreateCourseDTO keptDto = new CreateCourseDTO();
+        keptDto.setName("Kept Course");
+        keptDto.setDescription("Kept Course Description");
+        CourseDTO kept = courseService.createCourse(keptDto);
+        CreateStudentDTO studentDto = new CreateStudentDTO();
+        studentDto.setFirstName("Test");
+        studentDto.setLastName("Student");
+        studentDto.setEmail("test.student@example.com");
+        StudentDTO student = studentService.createStudent(studentDto);
+        ids.forEach(id -> studentService.enrollStudentInCourse(student.getId(), id));
+        studentService.enrollStudentInCourse(student.getId(), kept.getId());
+        ids.forEach(id -> given().when().get("/{id}", id).then().statusCode(HttpStatus.OK.value()));
+        ids.add(999999L);
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(ids)
+                .when()
+                .delete("/bulk")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("deleted", equalTo(3))
+                .body("notFound[0]", equalTo(999999));
+
+        assertEquals(1, courseRepository.count());
+        assertEquals(1, studentCourseRepository.count());
+        assertTrue(studentRepository.existsById(student.getId()));
+        given().when().get("/{id}", ids.get(0)).then().statusCode(HttpStatus.NOT_FOUND.value());
+    }
+
     /**
      * Tests course retrieval with non-existent ID.
      * Verifies:
@@ -313,4 +606,207 @@ class CourseControllerTest {
         assertTrue(studentCourseRepository.findAll().isEmpty());
         assertFalse(studentRepository.findById(createdStudent.getId()).isEmpty());
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests that course lookups are served from the second-level cache and stay fresh.
+     * Verifies:
+     * - Repeated lookups by id hit the entity cache region
+     * - Repeated listings hit the query cache region
+     * - Updates are visible on the next lookup and new courses on the next listing
+     * - Deleted courses are no longer served from the cache
+     */
+    @Test
+    void courseLookups_shouldBeCachedAndInvalidatedOnWrite() {
+        CreateCourseDTO dto = new CreateCourseDTO();
+        dto.setName("Cached Course");
+        dto.setDescription("Cached Description");
+        CourseDTO createdCourse = courseService.createCourse(dto);
+
+        long entityHits = cacheHits(Course.CACHE_REGION);
+        given().when().get("/{id}", createdCourse.getId()).then().statusCode(HttpStatus.OK.value());
+        given().when().get("/{id}", createdCourse.getId()).then().statusCode(HttpStatus.OK.value());
+        assertTrue(cacheHits(Course.CACHE_REGION) > entityHits);
+
+        long queryHits = cacheHits(Course.QUERY_CACHE_REGION);
+        given().when().get().then().statusCode(HttpStatus.OK.value());
+        given().when().get().then().statusCode(HttpStatus.OK.value());
+        assertTrue(cacheHits(Course.QUERY_CACHE_REGION) > queryHits);
+
+        UpdateCourseDTO updateDto = new UpdateCourseDTO();
+        updateDto.setName("Renamed Course");
+        courseService.updateCourse(createdCourse.getId(), updateDto);
+        given()
+                .when()
+                .get("/{id}", createdCourse.getId())
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("name", equalTo("Renamed Course"));
+
+        CreateCourseDTO otherDto = new CreateCourseDTO();
+        otherDto.setName("Other Course");
+        otherDto.setDescription("Other Description");
+        courseService.createCourse(otherDto);
+        List<CourseDTO> courses = given()
+                .when()
+                .get()
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .body()
+                .jsonPath()
+                .getList(".", CourseDTO.class);
+        assertEquals(2, courses.size());
+
+        courseService.deleteCourse(createdCourse.getId());
+        given().when().get("/{id}", createdCourse.getId()).then().statusCode(HttpStatus.NOT_FOUND.value());
+    }
+
+    /**
+     * Tests that enrollments keep the rest of the course cache warm.
+     * Verifies:
+     * - A course and the listing are still served from the cache after an
+     *   enrollment in another course under an Idempotency-Key
+     */
+    @Test
+    void courseLookups_afterKeyedEnrollment_shouldStillHitCache() {
+        CourseDTO cachedCourse = createCourse("Cached Course", "Cached Description");
+        CourseDTO enrolledCourse = createCourse("Enrolled Course", "Enrolled Description");
+        CreateStudentDTO studentDto = new CreateStudentDTO();
+        studentDto.setFirstName("John");
+        studentDto.setLastName("Doe");
+        studentDto.setEmail("john.doe@example.com");
+        StudentDTO student = studentService.createStudent(studentDto);
+        given().when().get("/{id}", cachedCourse.getId()).then().statusCode(HttpStatus.OK.value());
+        given().when().get().then().statusCode(HttpStatus.OK.value());
+
+        studentService.enrollStudentInCourse(student.getId(), enrolledCourse.getId(), "cached-course-enrollment");
+
+        long entityHits = cacheHits(Course.CACHE_REGION);
+        long queryHits = cacheHits(Course.QUERY_CACHE_REGION);
+        given().when().get("/{id}", cachedCourse.getId()).then().statusCode(HttpStatus.OK.value());
+        given().when().get().then().statusCode(HttpStatus.OK.value());
+        assertTrue(cacheHits(Course.CACHE_REGION) > entityHits);
+        assertTrue(cacheHits(Course.QUERY_CACHE_REGION) > queryHits);
+    }
+
+    /**
+     * Tests conditional retrieval of a course listing page with its ETag.
+     * Verifies:
+     * - The page is returned with an ETag header
+     * - A matching If-None-Match gets 304 Not Modified without a body
+     * - Updating or adding a course changes the ETag of the page
+     */
+    @Test
+    void getAllCourses_withIfNoneMatch_shouldReturn304UntilModified() {
+        CreateCourseDTO dto = new CreateCourseDTO();
+        dto.setName("Polled Course");
+        dto.setDescription("Polled Description");
+        CourseDTO createdCourse = courseService.createCourse(dto);
+
+        String etag = given()
+                .when()
+                .get()
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .header("ETag");
+        assertNotNull(etag);
+
+        String body = given()
+                .header("If-None-Match", etag)
+                .when()
+                .get()
+                .then()
+                .statusCode(HttpStatus.NOT_MODIFIED.value())
+                .extract()
+                .asString();
+        assertTrue(body.isEmpty());
+
+        UpdateCourseDTO updateDto = new UpdateCourseDTO();
+        updateDto.setDescription("Updated Description");
+        courseService.updateCourse(createdCourse.getId(), updateDto);
+        String updatedEtag = given()
+                .header("If-None-Match", etag)
+                .when()
+                .get()
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .header("ETag");
+        assertNotEquals(etag, updatedEtag);
+
+        CreateCourseDTO otherDto = new CreateCourseDTO();
+        otherDto.setName("Other Course");
+        otherDto.setDescription("Other Description");
+        courseService.createCourse(otherDto);
+        given()
+                .header("If-None-Match", updatedEtag)
+                .when()
+                .get()
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("size()", equalTo(2));
+    }
+
+    /**
+     * Tests the Prometheus metrics endpoint.
+     * Verifies:
+     * - Service calls are timed per method, and failed ones are counted with their exception
+     * - Repository invocations, Hibernate statistics and HikariCP pool metrics are exported
+     */
+    @Test
+    void getPrometheusMetrics_shouldExposeServiceDatabaseAndPoolMetrics() {
+        CreateCourseDTO dto = new CreateCourseDTO();
+        dto.setName("Measured Course");
+        dto.setDescription("Measured Description");
+        CourseDTO createdCourse = courseService.createCourse(dto);
+        given().when().get("/{id}", createdCourse.getId()).then().statusCode(HttpStatus.OK.value());
+        given().when().get("/{id}", 999999).then().statusCode(HttpStatus.NOT_FOUND.value());
+
+        String metrics = given()
+                .basePath("/actuator")
+                .when()
+                .get("/prometheus")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .asString();
+
+        assertTrue(metrics.lines().anyMatch(line -> line.startsWith("education_manager_service_seconds_count{")
+                && line.contains("class=\"com.mindera.mindswap.education_manager.service.CourseService\"")
+                && line.contains("method=\"createCourse\"")));
+        assertTrue(metrics.lines().anyMatch(line -> line.startsWith("education_manager_service_errors_total{")
+                && line.contains("exception=\"ResourceNotFoundException\"")
+                && line.contains("method=\"findCourseById\"")));
+        assertTrue(metrics.contains("spring_data_repository_invocations_seconds_count{"));
+        assertTrue(metrics.contains("hibernate_query_executions_total{"));
+        assertTrue(metrics.contains("hibernate_second_level_cache_requests_total{"));
+        assertTrue(metrics.contains("hibernate_flushes_total{"));
+        assertTrue(metrics.contains("hikaricp_connections_usage_seconds_count{"));
+        assertTrue(metrics.contains("hikaricp_connections_acquire_seconds_count{"));
+    }
+
+    private long cacheHits(String region) {
+        return given()
+                .basePath("/api/v1/cache")
+                .when()
+                .get("/statistics")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .body()
+                .jsonPath()
+                .getList(".", CacheRegionStatisticsDTO.class)
+                .stream()
+                .filter(statistics -> statistics.getRegion().equals(region))
+                .mapToLong(CacheRegionStatisticsDTO::getHitCount)
+                .sum();
+    }
+
+    private CourseDTO createCourse(String name, String description) {
+        CreateCourseDTO dto = new CreateCourseDTO();
+        dto.setName(name);
+        dto.setDescription(description);
+        return courseService.createCourse(dto);
+    }
+}
@@ -0,0 +1,171 @@
+package com.mindera.mindswap.education_manager.controller;
+
+import com.mindera.mindswap.education_manager.dto.CourseDTO;
+import com.mindera.mindswap.education_manager.dto.CreateCourseDTO;
+import com.mindera.mindswap.education_manager.dto.UpdateCourseDTO;
+import com.mindera.mindswap.education_manager.repository.CourseRepository;
+import com.mindera.mindswap.education_manager.service.CourseSearchIndex;
+import com.mindera.mindswap.education_manager.service.CourseService;
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the course search answered by the in-memory inverted index.
+ *
+ * The application is started with education-manager.course-search.mode=memory,
+ * as it falls back to when the database has no search vector. It keeps a small
+ * connection pool, as its context stays cached next to the ones of the other
+ * test classes.
+ *
+ * These tests verify:
+ * - Ranking, exclusion and pagination behave as with the database index
+ * - Course creations, updates and deletions are reflected in the index
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "education-manager.course-search.mode=memory",
+                "spring.datasource.hikari.maximum-pool-size=4"
+        })
+class CourseSearchFallbackTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseSearchIndex courseSearchIndex;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    /**
+     * Sets up the test environment before each test.
+     * Configures RestAssured with the dynamic port and base path.
+     */
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        RestAssured.basePath = "/api/v1/courses";
+    }
+
+    /**
+     * Cleans up the test environment after each test.
+     * Ensures database is clean for the next test by removing all test data.
+     */
+    @AfterEach
+    void tearDown() {
+        courseRepository.deleteAll();
+    }
+
+    /**
+     * Tests searching with the in-memory index.
+     * Verifies:
+     * - The database index is not in use
+     * - Name matches rank above description matches, ties broken by id
+     * - Excluded words filter out their courses, and stop words are ignored
+     * - The cursor of a one result page leads to the next result
+     */
+    @Test
+    void searchCourses_shouldRankAndPaginateMatches() {
+        CourseDTO linear = createCourse("Linear Algebra", "Vectors, matrices and linear maps");
+        CourseDTO physical = createCourse("Algebra for Physics", "Mathematical methods");
+        CourseDTO mechanics = createCourse("Classical Mechanics", "Newtonian physics with some algebra");
+        createCourse("Organic Chemistry", "Carbon compounds");
+
+        assertFalse(courseSearchIndex.isDatabaseBacked());
+        given()
+                .queryParam("q", "the Algebra")
+                .when()
+                .get("/search")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("id", contains(linear.getId().intValue(), physical.getId().intValue(),
+                        mechanics.getId().intValue()));
+        given()
+                .queryParam("q", "algebra -physics")
+                .when()
+                .get("/search")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("name", contains("Linear Algebra"));
+
+        String cursor = given()
+                .queryParam("q", "algebra")
+                .queryParam("limit", 1)
+                .when()
+                .get("/search")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("id", contains(linear.getId().intValue()))
+                .extract().header("X-Next-Cursor");
+        given()
+                .queryParam("q", "algebra")
+                .queryParam("limit", 1)
+                .queryParam("after", cursor)
+                .when()
+                .get("/search")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("id", contains(physical.getId().intValue()));
+    }
+
+    /**
+     * Tests that course writes keep the in-memory index current.
+     * Verifies:
+     * - A renamed course is found by its new name only
+     * - A deleted course is no longer found
+     */
+    @Test
+    void courseWrites_shouldUpdateIndex() {
+        CourseDTO course = createCourse("Organic Chemistry", "Carbon compounds");
+        UpdateCourseDTO update = new UpdateCourseDTO();
+        update.setName("Inorganic Chemistry");
+        courseService.updateCourse(course.getId(), update);
+
+        given()
+                .queryParam("q", "inorganic")
+                .when()
+                .get("/search")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("[0].name", equalTo("Inorganic Chemistry"));
+        given()
+                .queryParam("q", "organic")
+                .when()
+                .get("/search")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("size()", equalTo(0));
+
+        courseService.deleteCourses(List.of(course.getId()));
+        given()
+                .queryParam("q", "chemistry")
+                .when()
+                .get("/search")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("size()", equalTo(0));
+    }
+
+    private CourseDTO createCourse(String name, String description) {
+        CreateCourseDTO dto = new CreateCourseDTO();
+        dto.setName(name);
+        dto.setDescription(description);
+        return courseService.createCourse(dto);
+    }
+}
@@ -0,0 +1,231 @@
+package com.mindera.mindswap.education_manager.controller;
+
+import com.mindera.mindswap.education_manager.dto.CourseDTO;
+import com.mindera.mindswap.education_manager.dto.CreateCourseDTO;
+import com.mindera.mindswap.education_manager.dto.CreateStudentDTO;
+import com.mindera.mindswap.education_manager.dto.StudentDTO;
+import com.mindera.mindswap.education_manager.repository.CourseRepository;
+import com.mindera.mindswap.education_manager.repository.StudentCourseRepository;
+import com.mindera.mindswap.education_manager.repository.StudentRepository;
+import com.mindera.mindswap.education_manager.service.CourseService;
+import com.mindera.mindswap.education_manager.service.StudentService;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the reactive read path.
+ *
+ * The application is started as a reactive web application, so the requests are
+ * served by ReactiveCourseController and ReactiveStudentController over R2DBC.
+ * Data is set up through the regular JPA services.
+ *
+ * These tests verify:
+ * - Course and student lists are streamed as JSON arrays and as NDJSON
+ * - Single courses and students are returned, or 404 Not Found
+ * - Rosters and schedules are streamed in order, with the existing DTO shapes
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.main.web-application-type=reactive")
+class ReactiveControllerTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private StudentCourseRepository studentCourseRepository;
+
+    /**
+     * Sets up the test environment before each test.
+     * Configures RestAssured with the dynamic port.
+     */
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        RestAssured.basePath = "/api/v1";
+    }
+
+    /**
+     * Cleans up the test environment after each test.
+     * Ensures database is clean for the next test by removing all test data.
+     */
+    @AfterEach
+    void tearDown() {
+        studentCourseRepository.deleteAll();
+        studentRepository.deleteAll();
+        courseRepository.deleteAll();
+    }
+
+    /**
+     * Tests streaming and retrieving courses.
+     * Verifies:
+     * - All courses are streamed in id order, with their enrolled count
+     * - The name filter is applied
+     * - NDJSON is written one course per line
+     * - A single course is returned, and an unknown one gets 404
+     */
+    @Test
+    void getCourses_shouldStreamCatalog() {
+        CourseDTO algebra = createCourse("Algebra", 2);
+        CourseDTO physics = createCourse("Physics", null);
+        StudentDTO student = createStudent(0);
+        studentService.enrollStudentInCourse(student.getId(), algebra.getId());
+
+        given()
+                .when()
+                .get("/courses")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .contentType(ContentType.JSON)
+                .body("name", contains("Algebra", "Physics"))
+                .body("enrolledCount", contains(1, 0))
+                .body("capacity", contains(2, null));
+        given()
+                .queryParam("name", "Phy")
+                .when()
+                .get("/courses")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("id", contains(physics.getId().intValue()));
+
+        String ndjson = given()
+                .accept(MediaType.APPLICATION_NDJSON_VALUE)
+                .when()
+                .get("/courses")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract().asString();
+        assertEquals(2, ndjson.lines().count());
+        assertTrue(ndjson.lines().findFirst().orElseThrow().contains("\"name\":\"Algebra\""));
+
+        given()
+                .when()
+                .get("/courses/{id}", algebra.getId())
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("name", equalTo("Algebra"))
+                .body("enrolledCount", equalTo(1));
+        given()
+                .when()
+                .get("/courses/{id}", 999999)
+                .then()
+                .statusCode(HttpStatus.NOT_FOUND.value())
+                .body("message", equalTo("Course not found with id: 999999"));
+    }
+
+    /**
+     * Tests streaming rosters and schedules.
+     * Verifies:
+     * - A course roster lists its students in id order
+     * - A student schedule lists their courses by name, optionally without descriptions
+     * - Unknown courses and students get 404, while empty lists get 200
+     */
+    @Test
+    void getRostersAndSchedules_shouldStreamEnrollments() {
+        CourseDTO physics = createCourse("Physics", null);
+        CourseDTO algebra = createCourse("Algebra", null);
+        List<StudentDTO> students = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            students.add(createStudent(i));
+            studentService.enrollStudentInCourse(students.get(i).getId(), physics.getId());
+        }
+        studentService.enrollStudentInCourse(students.get(0).getId(), algebra.getId());
+        StudentDTO idle = createStudent(3);
+
+        given()
+                .when()
+                .get("/courses/{id}/students", physics.getId())
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("email", contains("reactive0@example.com", "reactive1@example.com", "reactive2@example.com"));
+        given()
+                .when()
+                .get("/courses/{id}/students", 999999)
+                .then()
+                .statusCode(HttpStatus.NOT_FOUND.value());
+
+        given()
+                .when()
+                .get("/students/{id}/courses", students.get(0).getId())
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("name", contains("Algebra", "Physics"))
+                .body("description[0]", equalTo("Algebra Description"));
+        given()
+                .queryParam("includeDescription", false)
+                .when()
+                .get("/students/{id}/courses", students.get(0).getId())
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("[0]", not(hasKey("description")));
+        given()
+                .when()
+                .get("/students/{id}/courses", idle.getId())
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("size()", equalTo(0));
+        given()
+                .when()
+                .get("/students/{id}/courses", 999999)
+                .then()
+                .statusCode(HttpStatus.NOT_FOUND.value());
+
+        given()
+                .when()
+                .get("/students")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("size()", equalTo(4));
+        given()
+                .when()
+                .get("/students/{id}", idle.getId())
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("email", equalTo("reactive3@example.com"));
+    }
+
+    private CourseDTO createCourse(String name, Integer capacity) {
+        CreateCourseDTO dto = new CreateCourseDTO();
+        dto.setName(name);
+        dto.setDescription(name + " Description");
+        dto.setCapacity(capacity);
+        return courseService.createCourse(dto);
+    }
+
+    private StudentDTO createStudent(int i) {
+        CreateStudentDTO dto = new CreateStudentDTO();
+        dto.setFirstName("Student" + i);
+        dto.setLastName("Reactive");
+        dto.setEmail("reactive" + i + "@example.com");
+        return studentService.createStudent(dto);
+    }
+}
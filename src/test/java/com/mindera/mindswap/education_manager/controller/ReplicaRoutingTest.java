@@ -0,0 +1,199 @@
+package com.mindera.mindswap.education_manager.controller;
+
+import com.mindera.mindswap.education_manager.config.PrimaryPinningInterceptor;
+import com.mindera.mindswap.education_manager.dto.CreateStudentDTO;
+import com.mindera.mindswap.education_manager.repository.StudentRepository;
+import com.mindera.mindswap.education_manager.service.StudentService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the routing of read-only transactions to read replicas.
+ *
+ * Two schemas of the test database stand in for two replicas, each with its own
+ * copy of the students table, next to a third replica that cannot be reached.
+ * A student copied to one replica only is found or not depending on where a
+ * read is routed. The application keeps small connection pools, as its context
+ * stays cached next to the ones of the other test classes.
+ *
+ * These tests verify:
+ * - Reads alternate between the healthy replicas and skip the unreachable one
+ * - Writes go to the primary
+ * - Reads of a client that just wrote are pinned to the primary
+ * - Requests that cannot get a primary connection in time get 503 Service Unavailable
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "education-manager.replicas.urls="
+                        + "jdbc:postgresql://localhost:5432/education_manager?currentSchema=replica_a,"
+                        + "jdbc:postgresql://localhost:1/education_manager,"
+                        + "jdbc:postgresql://localhost:5432/education_manager?currentSchema=replica_b",
+                "education-manager.replicas.pin-after-write=PT1M",
+                "spring.datasource.hikari.maximum-pool-size=2",
+                "spring.datasource.hikari.connection-timeout=1000"
+        })
+class ReplicaRoutingTest {
+
+    private static final List<String> REPLICA_SCHEMAS = List.of("replica_a", "replica_b");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    /**
+     * Sets up the test environment before each test.
+     * Configures RestAssured and creates the empty replica schemas.
+     */
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        RestAssured.basePath = "/api/v1/students";
+        for (String schema : REPLICA_SCHEMAS) {
+            jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + schema);
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + schema + ".students (LIKE public.students INCLUDING ALL)");
+        }
+    }
+
+    /**
+     * Cleans up the test environment after each test.
+     * Drops the replica schemas and removes the students of the primary.
+     */
+    @AfterEach
+    void tearDown() {
+        for (String schema : REPLICA_SCHEMAS) {
+            jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + schema + " CASCADE");
+        }
+        studentRepository.deleteAll();
+    }
+
+    /**
+     * Tests that reads are spread over the healthy replicas.
+     * Verifies:
+     * - A student present on one replica only is found by every other read
+     * - The unreachable replica is skipped instead of failing reads
+     */
+    @Test
+    void getStudent_shouldAlternateBetweenHealthyReplicas() {
+        Long id = studentService.createStudent(student("replica.reader@example.com")).getId();
+        jdbcTemplate.update("INSERT INTO replica_a.students SELECT * FROM public.students WHERE id = ?", id);
+
+        List<Integer> statuses = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            statuses.add(given().when().get("/{id}", id).then().extract().statusCode());
+        }
+
+        assertEquals(2, statuses.stream().filter(status -> status == HttpStatus.OK.value()).count(), statuses::toString);
+        assertEquals(2, statuses.stream().filter(status -> status == HttpStatus.NOT_FOUND.value()).count(), statuses::toString);
+        for (int i = 1; i < statuses.size(); i++) {
+            assertNotEquals(statuses.get(i - 1), statuses.get(i), statuses::toString);
+        }
+    }
+
+    /**
+     * Tests read-your-writes pinning.
+     * Verifies:
+     * - A created student is written to the primary only
+     * - The write response sets the pinning cookie
+     * - Reads sending the cookie back are served by the primary, others by the replicas
+     */
+    @Test
+    void getStudent_afterWrite_shouldBePinnedToPrimary() {
+        Response created = given()
+                .contentType(ContentType.JSON)
+                .body(student("replica.writer@example.com"))
+                .when()
+                .post()
+                .then()
+                .statusCode(HttpStatus.CREATED.value())
+                .extract()
+                .response();
+        Long id = created.jsonPath().getLong("id");
+        String pinnedUntil = created.getCookie(PrimaryPinningInterceptor.COOKIE);
+        assertNotNull(pinnedUntil);
+
+        for (int i = 0; i < 2; i++) {
+            given().cookie(PrimaryPinningInterceptor.COOKIE, pinnedUntil)
+                    .when().get("/{id}", id)
+                    .then().statusCode(HttpStatus.OK.value());
+            given().when().get("/{id}", id)
+                    .then().statusCode(HttpStatus.NOT_FOUND.value());
+        }
+    }
+
+    /**
+     * Tests a write while every primary connection is in use. With replicas configured,
+     * the connection is only acquired at the first statement, after the transaction began.
+     * Verifies:
+     * - The request gets 503 Service Unavailable with a Retry-After header, not 500
+     * - The same request succeeds once the connections are given back
+     */
+    @Test
+    void createStudent_withPrimaryPoolExhausted_shouldReturnServiceUnavailable() throws SQLException {
+        HikariDataSource primary = dataSource.unwrap(HikariDataSource.class);
+        List<Connection> held = new ArrayList<>();
+        try {
+            for (int i = 0; i < primary.getMaximumPoolSize(); i++) {
+                held.add(primary.getConnection());
+            }
+            given()
+                    .contentType(ContentType.JSON)
+                    .body(student("replica.busy@example.com"))
+                    .when()
+                    .post()
+                    .then()
+                    .statusCode(HttpStatus.SERVICE_UNAVAILABLE.value())
+                    .header(HttpHeaders.RETRY_AFTER, "1");
+        } finally {
+            for (Connection connection : held) {
+                connection.close();
+            }
+        }
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(student("replica.busy@example.com"))
+                .when()
+                .post()
+                .then()
+                .statusCode(HttpStatus.CREATED.value());
+    }
+
+    private static CreateStudentDTO student(String email) {
+        CreateStudentDTO dto = new CreateStudentDTO();
+        dto.setFirstName("Replica");
+        dto.setLastName("Reader");
+        dto.setEmail(email);
+        return dto;
+    }
+}
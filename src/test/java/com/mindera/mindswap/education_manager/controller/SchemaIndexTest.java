@@ -0,0 +1,299 @@
+package com.mindera.mindswap.education_manager.controller;
+
+import com.mindera.mindswap.education_manager.dto.CreateCourseDTO;
+import com.mindera.mindswap.education_manager.dto.CreateStudentDTO;
+import com.mindera.mindswap.education_manager.repository.CourseRepository;
+import com.mindera.mindswap.education_manager.repository.EnrollmentIdempotencyKeyRepository;
+import com.mindera.mindswap.education_manager.repository.StudentCourseRepository;
+import com.mindera.mindswap.education_manager.repository.StudentRepository;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration test checking that the migrated schema indexes every query the API runs.
+ *
+ * The statements run while exercising the endpoints are recorded with their bind
+ * parameters, then each query, update and delete is explained on the test database
+ * with sequential scans disabled. PostgreSQL still plans a sequential scan when no
+ * index can answer a statement, so one showing up in a plan means an index is missing
+ * from the migrations (the tables are too small for the planner to pick one otherwise).
+ * Keyset pages must also start their index scan at the cursor: a cursor comparison on
+ * id left in a Filter means the scan reads every row before the position.
+ *
+ * These tests verify:
+ * - Lookups, filters, keyset pages and searches of students and courses use an index
+ * - Keyset cursors are index conditions, not filters
+ * - Rosters, enrollments, unenrollments and deletes use an index
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class SchemaIndexTest {
+
+    /**
+     * Statements reading a whole table on purpose, which no index can help.
+     */
+    private static final List<Pattern> FULL_SCANS = List.of(
+            // EmailMembershipFilter rebuild, streaming every email
+            Pattern.compile("^select \\w+\\.email from students \\w+$")
+    );
+
+    private static final Pattern EXPLAINED = Pattern.compile("^(select|update|delete|with)\\b");
+
+    /**
+     * Filter on a keyset cursor, either expanded or as a row value. Ranked search cursors compare a
+     * rank computed per match, which no index holds, and are left out.
+     */
+    private static final Pattern CURSOR_FILTER = Pattern.compile("^\\s*Filter: (?!.*ts_rank).*\\bid\\)? [<>]");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentCourseRepository studentCourseRepository;
+
+    @Autowired
+    private EnrollmentIdempotencyKeyRepository idempotencyKeyRepository;
+
+    private final StatementRecorder recorder = new StatementRecorder();
+
+    /**
+     * Sets up the test environment before each test.
+     * Configures RestAssured and starts recording the statements run.
+     */
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        RestAssured.basePath = "/api/v1";
+        ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener().addListener(recorder);
+    }
+
+    /**
+     * Cleans up the test environment after each test.
+     * Stops recording and removes all test data.
+     */
+    @AfterEach
+    void tearDown() {
+        ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener().getListeners().remove(recorder);
+        idempotencyKeyRepository.deleteAll();
+        studentCourseRepository.deleteAll();
+        studentRepository.deleteAll();
+        courseRepository.deleteAll();
+    }
+
+    /**
+     * Tests that the statements of every endpoint are answered through indexes.
+     * Verifies:
+     * - No plan of a recorded statement contains a sequential scan, apart from the
+     *   full scans listed in FULL_SCANS
+     * - No plan filters rows on a keyset cursor
+     */
+    @Test
+    void endpointStatements_shouldUseIndexes() throws Exception {
+        long courseId = createCourse("Indexed Databases", "B-tree, GIN and the planner");
+        long otherCourseId = createCourse("Query Planning", "Reading plans");
+        long studentId = createStudent("Ada", "Lovelace", "ada.lovelace@example.com");
+        long otherStudentId = createStudent("Alan", "Turing", "alan.turing@example.org");
+
+        exerciseStudents(studentId, otherStudentId, courseId, otherCourseId);
+        exerciseCourses(courseId, otherCourseId);
+
+        given().when().delete("/students/{id}", otherStudentId).then().statusCode(HttpStatus.NO_CONTENT.value());
+        given().when().delete("/courses/{id}", otherCourseId).then().statusCode(HttpStatus.NO_CONTENT.value());
+        given().contentType(ContentType.JSON).body(List.of(studentId)).when().delete("/students/bulk")
+                .then().statusCode(HttpStatus.OK.value());
+        given().contentType(ContentType.JSON).body(List.of(courseId)).when().delete("/courses/bulk")
+                .then().statusCode(HttpStatus.OK.value());
+
+        Map<String, List<ParameterSetOperation>> statements = recorder.statements();
+        assertFalse(statements.isEmpty());
+        List<String> failures = new ArrayList<>();
+        try (Connection connection = ((ProxyDataSource) dataSource).getDataSource().getConnection()) {
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET LOCAL enable_seqscan = off");
+            }
+            for (Map.Entry<String, List<ParameterSetOperation>> entry : statements.entrySet()) {
+                String plan = explain(connection, entry.getKey(), entry.getValue());
+                if (plan.contains("Seq Scan") || filtersOnCursor(plan)) {
+                    failures.add(entry.getKey() + "\n" + plan);
+                }
+            }
+            connection.rollback();
+        }
+        assertTrue(failures.isEmpty(),
+                () -> "Sequential scans or cursor filters in:\n\n" + String.join("\n\n", failures));
+    }
+
+    private void exerciseStudents(long studentId, long otherStudentId, long courseId, long otherCourseId) {
+        given().queryParam("lastName", "Love").queryParam("sort", "lastName").when().get("/students")
+                .then().statusCode(HttpStatus.OK.value());
+        given().queryParam("emailDomain", "example.com").queryParam("limit", 1).when().get("/students")
+                .then().statusCode(HttpStatus.OK.value());
+        for (String sort : List.of("id", "lastName", "firstName", "email")) {
+            String cursor = given().queryParam("sort", sort).queryParam("direction", "desc").queryParam("limit", 1)
+                    .when().get("/students").then().statusCode(HttpStatus.OK.value())
+                    .extract().header("X-Next-Cursor");
+            given().queryParam("sort", sort).queryParam("direction", "desc").queryParam("after", cursor)
+                    .when().get("/students").then().statusCode(HttpStatus.OK.value());
+        }
+        given().queryParam("email", "ADA.LOVELACE@example.com").when().get("/students/search")
+                .then().statusCode(HttpStatus.OK.value());
+        given().queryParam("lastName", "tur").queryParam("firstName", "al").when().get("/students/search")
+                .then().statusCode(HttpStatus.OK.value());
+        given().queryParam("contains", "velace").when().get("/students/search")
+                .then().statusCode(HttpStatus.OK.value());
+        given().when().get("/students/{id}", studentId).then().statusCode(HttpStatus.OK.value());
+
+        given().header("Idempotency-Key", "schema-index-test").when()
+                .post("/students/{studentId}/courses/{courseId}", studentId, courseId)
+                .then().statusCode(HttpStatus.OK.value());
+        given().header("Idempotency-Key", "schema-index-test").when()
+                .post("/students/{studentId}/courses/{courseId}", studentId, courseId)
+                .then().statusCode(HttpStatus.OK.value());
+        given().contentType(ContentType.JSON)
+                .body(List.of(Map.of("studentId", otherStudentId, "courseId", courseId),
+                        Map.of("studentId", studentId, "courseId", otherCourseId)))
+                .when().post("/students/enrollments/bulk").then().statusCode(HttpStatus.OK.value());
+        given().when().get("/students/{id}/courses", studentId).then().statusCode(HttpStatus.OK.value());
+        given().when().delete("/students/{studentId}/courses/{courseId}", studentId, otherCourseId)
+                .then().statusCode(HttpStatus.NO_CONTENT.value());
+
+        given().contentType(ContentType.JSON).body(Map.of("lastName", "Byron")).when()
+                .patch("/students/{id}", studentId).then().statusCode(HttpStatus.OK.value());
+    }
+
+    private void exerciseCourses(long courseId, long otherCourseId) {
+        given().queryParam("name", "Index").queryParam("sort", "name").when().get("/courses")
+                .then().statusCode(HttpStatus.OK.value());
+        String cursor = given().queryParam("sort", "name").queryParam("limit", 1).when().get("/courses")
+                .then().statusCode(HttpStatus.OK.value()).extract().header("X-Next-Cursor");
+        given().queryParam("sort", "name").queryParam("after", cursor).when().get("/courses")
+                .then().statusCode(HttpStatus.OK.value());
+        given().when().get("/courses/{id}", otherCourseId).then().statusCode(HttpStatus.OK.value());
+        given().queryParam("q", "planner").when().get("/courses/search").then().statusCode(HttpStatus.OK.value());
+
+        String rosterCursor = given().queryParam("limit", 1).when().get("/courses/{id}/students", courseId)
+                .then().statusCode(HttpStatus.OK.value()).extract().header("X-Next-Cursor");
+        given().queryParam("after", rosterCursor).when().get("/courses/{id}/students", courseId)
+                .then().statusCode(HttpStatus.OK.value());
+
+        given().contentType(ContentType.JSON).body(Map.of("capacity", 40)).when()
+                .patch("/courses/{id}", courseId).then().statusCode(HttpStatus.OK.value());
+    }
+
+    private long createStudent(String firstName, String lastName, String email) {
+        CreateStudentDTO dto = new CreateStudentDTO();
+        dto.setFirstName(firstName);
+        dto.setLastName(lastName);
+        dto.setEmail(email);
+        return given().contentType(ContentType.JSON).body(dto).when().post("/students")
+                .then().statusCode(HttpStatus.CREATED.value()).extract().jsonPath().getLong("id");
+    }
+
+    private long createCourse(String name, String description) {
+        CreateCourseDTO dto = new CreateCourseDTO();
+        dto.setName(name);
+        dto.setDescription(description);
+        dto.setCapacity(30);
+        return given().contentType(ContentType.JSON).body(dto).when().post("/courses")
+                .then().statusCode(HttpStatus.CREATED.value()).extract().jsonPath().getLong("id");
+    }
+
+    /**
+     * Whether a scan filters on a keyset cursor without an index condition bounding it. A filter
+     * right below an index condition only trims the rows sharing the cursor's sort value, e.g.
+     * on a unique column whose index does not include id.
+     */
+    private static boolean filtersOnCursor(String plan) {
+        String[] lines = plan.split("\n");
+        for (int i = 0; i < lines.length; i++) {
+            if (CURSOR_FILTER.matcher(lines[i]).find() && (i == 0 || !lines[i - 1].contains("Index Cond:"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String explain(Connection connection, String sql, List<ParameterSetOperation> parameters)
+            throws Exception {
+        StringBuilder plan = new StringBuilder();
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+            for (ParameterSetOperation parameter : parameters) {
+                parameter.getMethod().invoke(statement, parameter.getArgs());
+            }
+            try (ResultSet result = statement.executeQuery()) {
+                while (result.next()) {
+                    plan.append(result.getString(1)).append('\n');
+                }
+            }
+        }
+        return plan.toString();
+    }
+
+    /**
+     * Keeps the first bind parameters of every distinct statement explainable
+     * against the application tables.
+     */
+    private static final class StatementRecorder implements QueryExecutionListener {
+
+        private final Map<String, List<ParameterSetOperation>> statements = new ConcurrentHashMap<>();
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            for (QueryInfo query : queryInfoList) {
+                String sql = query.getQuery().strip().replaceAll("\\s+", " ");
+                String normalized = sql.toLowerCase(Locale.ROOT);
+                if (!EXPLAINED.matcher(normalized).find()
+                        || FULL_SCANS.stream().anyMatch(pattern -> pattern.matcher(normalized).find())) {
+                    continue;
+                }
+                List<ParameterSetOperation> parameters = query.getParametersList().isEmpty()
+                        ? List.of() : List.copyOf(query.getParametersList().get(0));
+                statements.putIfAbsent(sql, parameters);
+            }
+        }
+
+        private Map<String, List<ParameterSetOperation>> statements() {
+            return Map.copyOf(statements);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.mindera.mindswap.education_manager.controller;
+
+import com.mindera.mindswap.education_manager.config.RequestSqlStatistics;
+import com.mindera.mindswap.education_manager.config.SqlStatementAccounting;
+import com.mindera.mindswap.education_manager.dto.CreateCourseDTO;
+import com.mindera.mindswap.education_manager.repository.CourseRepository;
+import com.mindera.mindswap.education_manager.repository.StudentCourseRepository;
+import com.mindera.mindswap.education_manager.repository.StudentRepository;
+import com.mindera.mindswap.education_manager.service.CourseService;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the SQL statement budget in fail mode.
+ *
+ * The application is started with education-manager.sql-budget.mode=fail and
+ * bulk chunks of a few items, so a bulk request of a few dozen items runs more
+ * statements than the budget allows. Its context is closed after the tests,
+ * so its connections do not add up with the ones of the cached contexts of the
+ * other test classes.
+ *
+ * These tests verify:
+ * - The bulk endpoints, exempt from the budget, succeed whatever the size of their request
+ * - Other endpoints stay within their budget
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "education-manager.sql-budget.mode=fail",
+                "education-manager.bulk.chunk-size=5",
+                "spring.datasource.hikari.maximum-pool-size=2"
+        })
+@DirtiesContext
+class SqlBudgetTest {
+
+    private static final int STUDENTS = 30;
+    private static final int COURSES = 3;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentCourseRepository studentCourseRepository;
+
+    @Autowired
+    private SqlStatementAccounting sqlStatementAccounting;
+
+    /**
+     * Sets up the test environment before each test.
+     * Configures RestAssured with the dynamic port and base path.
+     */
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        RestAssured.basePath = "/api/v1";
+    }
+
+    /**
+     * Cleans up the test environment after each test.
+     * Ensures database is clean for the next test by removing all test data.
+     */
+    @AfterEach
+    void tearDown() {
+        studentCourseRepository.deleteAll();
+        studentRepository.deleteAll();
+        courseRepository.deleteAll();
+    }
+
+    /**
+     * Tests bulk requests of several chunks in fail mode.
+     * Verifies:
+     * - Bulk creating students, enrolling them in several courses, and deleting the
+     *   students and courses all succeed (200 OK) with every item processed
+     * - Each of these requests runs more statements, or repeats a statement more
+     *   often, than the budget of the other endpoints allows
+     * - Reading a student's courses afterwards stays within its budget
+     */
+    @Test
+    void bulkRequests_inFailMode_shouldBeExemptFromBudget() throws InterruptedException {
+        List<Map<String, String>> students = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            students.add(Map.of("firstName", "Student" + i, "lastName", "Budget",
+                    "email", "budget" + i + "@example.com"));
+        }
+        List<Long> courseIds = new ArrayList<>();
+        for (int i = 0; i < COURSES; i++) {
+            CreateCourseDTO dto = new CreateCourseDTO();
+            dto.setName("Budget Course " + i);
+            dto.setDescription("Budget Course Description");
+            courseIds.add(courseService.createCourse(dto).getId());
+        }
+
+        try (SqlStatementAccounting.Capture capture = sqlStatementAccounting.capture()) {
+            List<Long> studentIds = given()
+                    .contentType(ContentType.JSON)
+                    .body(students)
+                    .when()
+                    .post("/students/bulk")
+                    .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .body("created", equalTo(STUDENTS))
+                    .extract().jsonPath().getList("items.id", Long.class);
+
+            List<Map<String, Long>> pairs = new ArrayList<>();
+            for (int i = 0; i < STUDENTS; i++) {
+                pairs.add(Map.of("studentId", studentIds.get(i), "courseId", courseIds.get(i % COURSES)));
+            }
+            given()
+                    .contentType(ContentType.JSON)
+                    .body(pairs)
+                    .when()
+                    .post("/students/enrollments/bulk")
+                    .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .body("created", equalTo(STUDENTS));
+
+            given()
+                    .when()
+                    .get("/students/" + studentIds.get(0) + "/courses")
+                    .then()
+                    .statusCode(HttpStatus.OK.value());
+
+            given()
+                    .contentType(ContentType.JSON)
+                    .body(studentIds)
+                    .when()
+                    .delete("/students/bulk")
+                    .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .body("deleted", equalTo(STUDENTS))
+                    .body("notFound", empty());
+            given()
+                    .contentType(ContentType.JSON)
+                    .body(courseIds)
+                    .when()
+                    .delete("/courses/bulk")
+                    .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .body("deleted", equalTo(COURSES));
+
+            for (String endpoint : List.of("POST /api/v1/students/bulk", "POST /api/v1/students/enrollments/bulk",
+                    "DELETE /api/v1/students/bulk")) {
+                RequestSqlStatistics statistics = capture.await(endpoint, Duration.ofSeconds(5));
+                assertTrue(statistics.getStatements() > 20 || statistics.getMaxRepeats() > 5,
+                        endpoint + " ran " + statistics.getStatements() + " statements");
+            }
+            assertTrue(capture.await("GET /api/v1/students/{id}/courses", Duration.ofSeconds(5))
+                    .getStatements() <= 2);
+        }
+        assertEquals(0, studentRepository.count());
+        assertEquals(0, courseRepository.count());
+    }
+}
@@ -1,18 +1,30 @@
 package com.mindera.mindswap.education_manager.controller;
 
+import com.mindera.mindswap.education_manager.config.RequestSqlStatistics;
+import com.mindera.mindswap.education_manager.config.SqlStatementAccounting;
+import com.mindera.mindswap.education_manager.dto.BulkItemResultDTO;
+import com.mindera.mindswap.education_manager.dto.BulkResultDTO;
 import com.mindera.mindswap.education_manager.dto.CourseDTO;
 import com.mindera.mindswap.education_manager.dto.CreateCourseDTO;
 import com.mindera.mindswap.education_manager.dto.CreateStudentDTO;
+import com.mindera.mindswap.education_manager.dto.CursorPageDTO;
+import com.mindera.mindswap.education_manager.dto.EnrollmentRequestDTO;
 import com.mindera.mindswap.education_manager.dto.StudentCourseDTO;
 import com.mindera.mindswap.education_manager.dto.StudentDTO;
 import com.mindera.mindswap.education_manager.dto.UpdateStudentDTO;
+import com.mindera.mindswap.education_manager.model.Student;
 import com.mindera.mindswap.education_manager.repository.CourseRepository;
+import com.mindera.mindswap.education_manager.repository.EnrollmentIdempotencyKeyRepository;
 import com.mindera.mindswap.education_manager.repository.StudentCourseRepository;
 import com.mindera.mindswap.education_manager.repository.StudentRepository;
 import com.mindera.mindswap.education_manager.service.CourseService;
+import com.mindera.mindswap.education_manager.service.EnrollmentCounter;
 import com.mindera.mindswap.education_manager.service.StudentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
 
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -22,11 +34,16 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.http.HttpStatus;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 
 import static io.restassured.RestAssured.given;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
 
 /**
  * Integration tests for the StudentController REST endpoints.
@@ -61,6 +78,15 @@ class StudentControllerTest {
     @Autowired
     private StudentCourseRepository studentCourseRepository;
 
+    @Autowired
+    private EnrollmentIdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private EnrollmentCounter enrollmentCounter;
+
+    @Autowired
+    private SqlStatementAccounting sqlStatementAccounting;
+
     /**
      * Sets up the test environment before each test.
      * Configures RestAssured with the dynamic port and base path.
@@ -77,6 +103,7 @@ class StudentControllerTest {
      */
     @AfterEach
     void tearDown() {
+        idempotencyKeyRepository.deleteAll();
         studentCourseRepository.deleteAll();
         studentRepository.deleteAll();
         courseRepository.deleteAll();
@@ -112,6 +139,124 @@ class StudentControllerTest {
         assertEquals(dto.getEmail(), response.getEmail());
     }
 
+    /**
+     * Tests bulk student creation from a JSON array.
+     * Verifies:
+     * - Correct HTTP status code (200 OK)
+     * - Valid students are created and get an id
+     * - Invalid items, emails already registered and emails repeated in the request are rejected
+     * - Every item outcome is reported in request order
+     */
+    @Test
+    void createStudents_withMixedItems_shouldReportPerItemResults() {
+        CreateStudentDTO existing = new CreateStudentDTO();
+        existing.setFirstName("John");
+        existing.setLastName("Doe");
+        existing.setEmail("john.doe@example.com");
+        studentService.createStudent(existing);
+
+        List<CreateStudentDTO> students = new ArrayList<>();
+        for (String email : List.of("bulk0@example.com", "john.doe@example.com", "invalid-email",
+                "bulk1@example.com", "bulk0@example.com")) {
+            CreateStudentDTO dto = new CreateStudentDTO();
+            dto.setFirstName("Bulk");
+            dto.setLastName("Student");
+            dto.setEmail(email);
+            students.add(dto);
+        }
+
+        BulkResultDTO result = given()
+                .contentType(ContentType.JSON)
+                .body(students)
+                .when()
+                .post("/bulk")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .as(BulkResultDTO.class);
+
+        assertEquals(2, result.getCreated());
+        assertEquals(3, result.getRejected());
+        assertEquals(List.of(BulkItemResultDTO.Status.CREATED, BulkItemResultDTO.Status.DUPLICATE,
+                        BulkItemResultDTO.Status.INVALID, BulkItemResultDTO.Status.CREATED,
+                        BulkItemResultDTO.Status.DUPLICATE),
+                result.getItems().stream().map(BulkItemResultDTO::getStatus).toList());
+        assertNotNull(result.getItems().get(0).getId());
+        assertTrue(result.getItems().get(2).getMessage().contains("Invalid email format"));
+        assertEquals(3, studentRepository.count());
+    }
+
+    /**
+     * Tests bulk student creation when an email is registered after the uniqueness check,
+     * as by a concurrent request. The student is saved past the service, so neither the
+     * email membership filter nor the chunk lookup knows about it.
+     * Verifies:
+     * - Correct HTTP status code (200 OK), the other students are still created
+     * - The item whose email was taken is reported as a duplicate
+     */
+    @Test
+    void createStudents_withEmailRegisteredConcurrently_shouldReportDuplicate() {
+        Student registered = new Student();
+        registered.setFirstName("Late");
+        registered.setLastName("Registrant");
+        registered.setEmail("registered.late@example.com");
+        studentRepository.saveAndFlush(registered);
+
+        List<CreateStudentDTO> students = new ArrayList<>();
+        for (String email : List.of("early0@example.com", "registered.late@example.com", "early1@example.com")) {
+            CreateStudentDTO dto = new CreateStudentDTO();
+            dto.setFirstName("Bulk");
+            dto.setLastName("Student");
+            dto.setEmail(email);
+            students.add(dto);
+        }
+
+        BulkResultDTO result = given()
+                .contentType(ContentType.JSON)
+                .body(students)
+                .when()
+                .post("/bulk")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .as(BulkResultDTO.class);
+
+        assertEquals(List.of(BulkItemResultDTO.Status.CREATED, BulkItemResultDTO.Status.DUPLICATE,
+                        BulkItemResultDTO.Status.CREATED),
+                result.getItems().stream().map(BulkItemResultDTO::getStatus).toList());
+        assertNotNull(result.getItems().get(2).getId());
+        assertEquals(3, studentRepository.count());
+    }
+
+    /**
+     * Tests bulk student creation from an NDJSON stream.
+     * Verifies:
+     * - Correct HTTP status code (200 OK)
+     * - One student is created per line
+     */
+    @Test
+    void createStudents_withNdjsonBody_shouldCreateEveryLine() {
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 5; i++) {
+            body.append("{\"firstName\":\"Stream").append(i)
+                    .append("\",\"lastName\":\"Student\",\"email\":\"stream").append(i)
+                    .append("@example.com\"}\n");
+        }
+
+        BulkResultDTO result = given()
+                .contentType("application/x-ndjson")
+                .body(body.toString().getBytes(StandardCharsets.UTF_8))
+                .when()
+                .post("/bulk")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .as(BulkResultDTO.class);
+
+        assertEquals(5, result.getCreated());
+        assertEquals(5, studentRepository.count());
+    }
+
     /**
      * Tests student creation with invalid data.
      * Verifies:
@@ -210,6 +355,210 @@ class StudentControllerTest {
         assertEquals(2, response.size());
     }
 
+    /**
+     * Tests walking the student listing page by page with the keyset cursor.
+     * Verifies:
+     * - Each page holds at most the requested number of students
+     * - The X-Next-Cursor header leads to the next page and is absent on the last one
+     * - Every student is returned exactly once, in the requested order
+     */
+    @Test
+    void getAllStudents_withLimit_shouldWalkAllPagesWithCursor() {
+        String[] lastNames = {"Evans", "Adams", "Clark", "Adams", "Brown"};
+        for (int i = 0; i < lastNames.length; i++) {
+            CreateStudentDTO dto = new CreateStudentDTO();
+            dto.setFirstName("Student" + i);
+            dto.setLastName(lastNames[i]);
+            dto.setEmail("student" + i + "@example.com");
+            studentService.createStudent(dto);
+        }
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            RequestSpecification request = given()
+                    .queryParam("sort", "lastName")
+                    .queryParam("limit", 2);
+            if (cursor != null) {
+                request.queryParam("after", cursor);
+            }
+            Response response = request
+                    .when()
+                    .get()
+                    .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .extract()
+                    .response();
+
+            List<StudentDTO> page = response.jsonPath().getList(".", StudentDTO.class);
+            assertTrue(page.size() <= 2);
+            page.forEach(student -> seen.add(student.getLastName()));
+            cursor = response.getHeader(CursorPageDTO.NEXT_CURSOR_HEADER);
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(List.of("Adams", "Adams", "Brown", "Clark", "Evans"), seen);
+    }
+
+    /**
+     * Tests filtering the student listing by last name prefix and email domain.
+     * Verifies:
+     * - Only students matching both filters are returned
+     * - No next cursor is returned when everything fits in one page
+     */
+    @Test
+    void getAllStudents_withFilters_shouldReturnMatchingStudents() {
+        CreateStudentDTO dto1 = new CreateStudentDTO();
+        dto1.setFirstName("John");
+        dto1.setLastName("Doe");
+        dto1.setEmail("john.doe@school.org");
+        studentService.createStudent(dto1);
+
+        CreateStudentDTO dto2 = new CreateStudentDTO();
+        dto2.setFirstName("Jane");
+        dto2.setLastName("Doe");
+        dto2.setEmail("jane.doe@example.com");
+        studentService.createStudent(dto2);
+
+        CreateStudentDTO dto3 = new CreateStudentDTO();
+        dto3.setFirstName("Mark");
+        dto3.setLastName("Smith");
+        dto3.setEmail("mark.smith@school.org");
+        studentService.createStudent(dto3);
+
+        Response response = given()
+                .queryParam("lastName", "Do")
+                .queryParam("emailDomain", "school.org")
+                .when()
+                .get()
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .response();
+
+        List<StudentDTO> students = response.jsonPath().getList(".", StudentDTO.class);
+        assertEquals(1, students.size());
+        assertEquals(dto1.getEmail(), students.get(0).getEmail());
+        assertNull(response.getHeader(CursorPageDTO.NEXT_CURSOR_HEADER));
+    }
+
+    /**
+     * Tests the student listing with a malformed cursor.
+     * Verifies:
+     * - Correct HTTP status code (400 Bad Request)
+     */
+    @Test
+    void getAllStudents_withInvalidCursor_shouldReturn400() {
+        given()
+                .queryParam("after", "not-a-cursor")
+                .when()
+                .get()
+                .then()
+                .statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+
+    /**
+     * Tests looking students up by email, name prefix and substring.
+     * Verifies:
+     * - Email matches exactly, ignoring case
+     * - Last name and first name prefixes ignore case and combine with AND
+     * - Substrings match first name, last name or email, and LIKE wildcards are literal
+     * - Results are ordered by id and paginated with a cursor
+     * - A lookup without any criterion gets 400 Bad Request
+     */
+    @Test
+    void searchStudents_shouldMatchIgnoringCase() {
+        List<Long> ids = new ArrayList<>();
+        String[][] people = {
+                {"Anna", "McKenzie", "anna.mckenzie@school.org"},
+                {"Andrew", "Mack", "andrew_mack@example.com"},
+                {"Maria", "Santos", "maria@mackintosh.net"},
+                {"Mark", "Smith", "mark.smith@school.org"}
+        };
+        for (String[] person : people) {
+            CreateStudentDTO dto = new CreateStudentDTO();
+            dto.setFirstName(person[0]);
+            dto.setLastName(person[1]);
+            dto.setEmail(person[2]);
+            ids.add(studentService.createStudent(dto).getId());
+        }
+
+        given().queryParam("email", "Anna.McKenzie@SCHOOL.org")
+                .when().get("/search")
+                .then().statusCode(HttpStatus.OK.value())
+                .body("id", contains(ids.get(0).intValue()));
+
+        given().queryParam("lastName", "mac").queryParam("firstName", "AN")
+                .when().get("/search")
+                .then().statusCode(HttpStatus.OK.value())
+                .body("id", contains(ids.get(1).intValue()));
+
+        Response firstPage = given().queryParam("contains", "MACK").queryParam("limit", 1)
+                .when().get("/search")
+                .then().statusCode(HttpStatus.OK.value())
+                .body("id", contains(ids.get(1).intValue()))
+                .extract().response();
+        String cursor = firstPage.getHeader(CursorPageDTO.NEXT_CURSOR_HEADER);
+        assertNotNull(cursor);
+        Response lastPage = given().queryParam("contains", "MACK").queryParam("limit", 1).queryParam("after", cursor)
+                .when().get("/search")
+                .then().statusCode(HttpStatus.OK.value())
+                .body("id", contains(ids.get(2).intValue()))
+                .extract().response();
+        assertNull(lastPage.getHeader(CursorPageDTO.NEXT_CURSOR_HEADER));
+
+        given().queryParam("contains", "w_m")
+                .when().get("/search")
+                .then().statusCode(HttpStatus.OK.value())
+                .body("id", contains(ids.get(1).intValue()));
+
+        given().queryParam("contains", "mckenzie")
+                .when().get("/search")
+                .then().statusCode(HttpStatus.OK.value())
+                .body("id", contains(ids.get(0).intValue()));
+
+        given().queryParam("limit", 10)
+                .when().get("/search")
+                .then().statusCode(HttpStatus.BAD_REQUEST.value());
+    }
+
+    /**
+     * Tests the NDJSON export of all students.
+     * Verifies:
+     * - Correct HTTP status code (200 OK) and content type
+     * - One JSON document per line, one line per student, ordered by id
+     */
+    @Test
+    void exportStudents_shouldStreamOneLinePerStudent() throws Exception {
+        List<StudentDTO> created = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            CreateStudentDTO dto = new CreateStudentDTO();
+            dto.setFirstName("Export" + i);
+            dto.setLastName("Student");
+            dto.setEmail("export" + i + "@example.com");
+            created.add(studentService.createStudent(dto));
+        }
+
+        String body = given()
+                .when()
+                .get("/export")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .contentType(containsString("application/x-ndjson"))
+                .extract()
+                .asString();
+
+        String[] lines = body.split("\n");
+        assertEquals(created.size(), lines.length);
+        ObjectMapper objectMapper = new ObjectMapper();
+        for (int i = 0; i < lines.length; i++) {
+            StudentDTO exported = objectMapper.readValue(lines[i], StudentDTO.class);
+            assertEquals(created.get(i), exported);
+        }
+    }
+
     /**
      * Tests successful student update with valid data.
      * Verifies:
@@ -264,6 +613,68 @@ class StudentControllerTest {
                 .statusCode(HttpStatus.NOT_FOUND.value());
     }
 
+    /**
+     * Tests partial updates guarded by If-Match.
+     * Verifies:
+     * - PATCH with the current ETag updates the given field in one UPDATE and one SELECT
+     * - The new ETag is returned and differs from the previous one
+     * - A stale ETag gets 409 Conflict and leaves the student unchanged
+     * - A malformed If-Match header gets 400 Bad Request
+     */
+    @Test
+    void patchStudent_withIfMatch_shouldRejectStaleVersions() throws InterruptedException {
+        CreateStudentDTO createDto = new CreateStudentDTO();
+        createDto.setFirstName("Original");
+        createDto.setLastName("Name");
+        createDto.setEmail("original@example.com");
+        StudentDTO created = studentService.createStudent(createDto);
+        String etag = given().when().get("/{id}", created.getId()).then().extract().header("ETag");
+
+        UpdateStudentDTO firstEdit = new UpdateStudentDTO();
+        firstEdit.setFirstName("First");
+        String newEtag;
+        try (SqlStatementAccounting.Capture capture = sqlStatementAccounting.capture()) {
+            newEtag = given()
+                    .contentType(ContentType.JSON)
+                    .header("If-Match", etag)
+                    .body(firstEdit)
+                    .when()
+                    .patch("/{id}", created.getId())
+                    .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .body("firstName", equalTo("First"))
+                    .body("lastName", equalTo("Name"))
+                    .extract().header("ETag");
+
+            RequestSqlStatistics patch = capture.await("PATCH /api/v1/students/{id}", Duration.ofSeconds(5));
+            assertEquals(2, patch.getStatements(), patch.toString());
+        }
+        assertNotEquals(etag, newEtag);
+
+        UpdateStudentDTO concurrentEdit = new UpdateStudentDTO();
+        concurrentEdit.setLastName("Concurrent");
+        given()
+                .contentType(ContentType.JSON)
+                .header("If-Match", etag)
+                .body(concurrentEdit)
+                .when()
+                .patch("/{id}", created.getId())
+                .then()
+                .statusCode(HttpStatus.CONFLICT.value());
+        given()
+                .contentType(ContentType.JSON)
+                .header("If-Match", "not-an-etag")
+                .body(concurrentEdit)
+                .when()
+                .patch("/{id}", created.getId())
+                .then()
+                .statusCode(HttpStatus.BAD_REQUEST.value());
+
+        StudentDTO current = studentService.findStudentById(created.getId());
+        assertEquals("First", current.getFirstName());
+        assertEquals("Name", current.getLastName());
+    }
+
     /**
      * Tests successful student deletion.
      * Verifies:
@@ -338,6 +749,67 @@ class StudentControllerTest {
         assertEquals(course.getId(), response.getCourse().getId());
     }
 
+    /**
+     * Tests duplicate enrollment with and without an Idempotency-Key.
+     * Verifies:
+     * - A retry carrying the same Idempotency-Key returns the original enrollment (200 OK)
+     * - A repeated enrollment without a key is rejected (409 Conflict)
+     * - Reusing a key for another course is rejected (409 Conflict)
+     */
+    @Test
+    void enrollStudentInCourse_withIdempotencyKey_shouldReplayOriginalEnrollment() {
+        CreateStudentDTO studentDto = new CreateStudentDTO();
+        studentDto.setFirstName("John");
+        studentDto.setLastName("Doe");
+        studentDto.setEmail("john.doe@example.com");
+        StudentDTO student = studentService.createStudent(studentDto);
+
+        CreateCourseDTO courseDto = new CreateCourseDTO();
+        courseDto.setName("Test Course");
+        courseDto.setDescription("Test Description");
+        CourseDTO course = courseService.createCourse(courseDto);
+
+        CreateCourseDTO otherCourseDto = new CreateCourseDTO();
+        otherCourseDto.setName("Other Course");
+        otherCourseDto.setDescription("Other Description");
+        CourseDTO otherCourse = courseService.createCourse(otherCourseDto);
+
+        StudentCourseDTO first = given()
+                .header("Idempotency-Key", "enroll-john")
+                .when()
+                .post("/{studentId}/courses/{courseId}", student.getId(), course.getId())
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .as(StudentCourseDTO.class);
+
+        StudentCourseDTO retry = given()
+                .header("Idempotency-Key", "enroll-john")
+                .when()
+                .post("/{studentId}/courses/{courseId}", student.getId(), course.getId())
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .as(StudentCourseDTO.class);
+
+        assertEquals(first, retry);
+
+        given()
+                .when()
+                .post("/{studentId}/courses/{courseId}", student.getId(), course.getId())
+                .then()
+                .statusCode(HttpStatus.CONFLICT.value());
+
+        given()
+                .header("Idempotency-Key", "enroll-john")
+                .when()
+                .post("/{studentId}/courses/{courseId}", student.getId(), otherCourse.getId())
+                .then()
+                .statusCode(HttpStatus.CONFLICT.value());
+
+        assertEquals(1, studentCourseRepository.count());
+    }
+
     /**
      * Tests enrollment attempt with an invalid student ID.
      * Verifies:
@@ -360,6 +832,59 @@ class StudentControllerTest {
                 .statusCode(HttpStatus.NOT_FOUND.value());
     }
 
+    /**
+     * Tests bulk enrollment of (student, course) pairs.
+     * Verifies:
+     * - Correct HTTP status code (200 OK)
+     * - New pairs are created, existing and repeated pairs are reported as duplicates
+     * - Pairs referencing unknown students or courses are reported as missing
+     * - Only the new enrollments are stored
+     */
+    @Test
+    void enrollStudentsInCourses_withMixedPairs_shouldReportPerPairResults() {
+        CreateStudentDTO studentDto = new CreateStudentDTO();
+        studentDto.setFirstName("John");
+        studentDto.setLastName("Doe");
+        studentDto.setEmail("john.doe@example.com");
+        StudentDTO student = studentService.createStudent(studentDto);
+
+        CreateCourseDTO courseDto1 = new CreateCourseDTO();
+        courseDto1.setName("Bulk Course 1");
+        courseDto1.setDescription("Bulk Course 1 Description");
+        CourseDTO course1 = courseService.createCourse(courseDto1);
+
+        CreateCourseDTO courseDto2 = new CreateCourseDTO();
+        courseDto2.setName("Bulk Course 2");
+        courseDto2.setDescription("Bulk Course 2 Description");
+        CourseDTO course2 = courseService.createCourse(courseDto2);
+
+        studentService.enrollStudentInCourse(student.getId(), course1.getId());
+
+        List<EnrollmentRequestDTO> pairs = List.of(
+                new EnrollmentRequestDTO(student.getId(), course2.getId()),
+                new EnrollmentRequestDTO(student.getId(), course1.getId()),
+                new EnrollmentRequestDTO(999L, course2.getId()),
+                new EnrollmentRequestDTO(student.getId(), 999L),
+                new EnrollmentRequestDTO(student.getId(), course2.getId()));
+
+        BulkResultDTO result = given()
+                .contentType(ContentType.JSON)
+                .body(pairs)
+                .when()
+                .post("/enrollments/bulk")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .as(BulkResultDTO.class);
+
+        assertEquals(List.of(BulkItemResultDTO.Status.CREATED, BulkItemResultDTO.Status.DUPLICATE,
+                        BulkItemResultDTO.Status.MISSING_STUDENT, BulkItemResultDTO.Status.MISSING_COURSE,
+                        BulkItemResultDTO.Status.DUPLICATE),
+                result.getItems().stream().map(BulkItemResultDTO::getStatus).toList());
+        assertEquals(1, result.getCreated());
+        assertEquals(2, studentCourseRepository.count());
+    }
+
     /**
      * Tests cascade deletion of student enrollments.
      * Verifies:
@@ -497,6 +1022,63 @@ class StudentControllerTest {
         assertTrue(studentCourseRepository.findAll().isEmpty());
     }
 
+    /**
+     * Tests bulk deletion of students with enrollments.
+     * Verifies:
+     * - Existing students are deleted with their enrollments, unknown and repeated IDs are not
+     * - The seats of the deleted enrollments are given back to every course
+     * - The statement count depends on the number of courses, not of students or enrollments
+     */
+    @Test
+    void deleteStudents_withEnrollments_shouldDeleteInFewStatements() throws InterruptedException {
+        List<CourseDTO> courses = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            CreateCourseDTO courseDto = new CreateCourseDTO();
+            courseDto.setName("Course " + i);
+            courseDto.setDescription("Course Description " + i);
+            courses.add(courseService.createCourse(courseDto));
+        }
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            CreateStudentDTO studentDto = new CreateStudentDTO();
+            studentDto.setFirstName("Student" + i);
+            studentDto.setLastName("Bulk");
+            studentDto.setEmail("bulk" + i + "@example.com");
+            StudentDTO student = studentService.createStudent(studentDto);
+            courses.forEach(course -> studentService.enrollStudentInCourse(student.getId(), course.getId()));
+            ids.add(student.getId());
+        }
+        CreateStudentDTO keptDto = new CreateStudentDTO();
+        keptDto.setFirstName("Kept");
+        keptDto.setLastName("Student");
+        keptDto.setEmail("kept@example.com");
+        StudentDTO kept = studentService.createStudent(keptDto);
+        studentService.enrollStudentInCourse(kept.getId(), courses.get(0).getId());
+        ids.add(999999L);
+        ids.add(ids.get(0));
+
+        try (SqlStatementAccounting.Capture capture = sqlStatementAccounting.capture()) {
+            given()
+                    .contentType(ContentType.JSON)
+                    .body(ids)
+                    .when()
+                    .delete("/bulk")
+                    .then()
+                    .statusCode(HttpStatus.OK.value())
+                    .body("deleted", equalTo(20))
+                    .body("notFound", contains(999999));
+
+            RequestSqlStatistics delete = capture.await("DELETE /api/v1/students/bulk", Duration.ofSeconds(5));
+            assertTrue(delete.getStatements() <= 3 + courses.size(), delete.toString());
+        }
+
+        assertEquals(1, studentRepository.count());
+        assertEquals(1, studentCourseRepository.count());
+        assertEquals(1L, courseService.findCourseById(courses.get(0).getId()).getEnrolledCount());
+        assertEquals(0L, courseService.findCourseById(courses.get(1).getId()).getEnrolledCount());
+        assertEquals(0L, courseService.findCourseById(courses.get(2).getId()).getEnrolledCount());
+    }
+
     /**
      * Tests student creation with duplicate email.
      * Verifies:
@@ -529,6 +1111,36 @@ class StudentControllerTest {
                 .body("message", containsString("is already in use"));
     }
 
+    /**
+     * Tests student creation when the email was registered behind the in-memory filter's back,
+     * as happens when another instance creates the student.
+     * Verifies:
+     * - The database unique constraint rejects the insert
+     * - Correct HTTP status code (409 Conflict) with a clean error message
+     */
+    @Test
+    void createStudent_withEmailUnknownToFilter_shouldReturn409() {
+        Student registeredElsewhere = new Student();
+        registeredElsewhere.setFirstName("John");
+        registeredElsewhere.setLastName("Doe");
+        registeredElsewhere.setEmail("registered.elsewhere@example.com");
+        studentRepository.save(registeredElsewhere);
+
+        CreateStudentDTO dto = new CreateStudentDTO();
+        dto.setFirstName("Jane");
+        dto.setLastName("Doe");
+        dto.setEmail("registered.elsewhere@example.com");
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(dto)
+                .when()
+                .post()
+                .then()
+                .statusCode(HttpStatus.CONFLICT.value())
+                .body("message", containsString("already in use"));
+    }
+
     /**
      * Tests student creation with invalid email format.
      * Verifies:
@@ -589,4 +1201,357 @@ class StudentControllerTest {
                 .statusCode(HttpStatus.BAD_REQUEST.value())
                 .body("message", containsString("is already in use"));
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests conditional retrieval of a student with ETag and Last-Modified.
+     * Verifies:
+     * - The student is returned with ETag and Last-Modified headers
+     * - A matching If-None-Match or If-Modified-Since gets 304 Not Modified without a body
+     * - After an update the old ETag no longer matches and a new one is returned
+     */
+    @Test
+    void getStudentById_withConditionalHeaders_shouldReturn304UntilModified() {
+        CreateStudentDTO dto = new CreateStudentDTO();
+        dto.setFirstName("John");
+        dto.setLastName("Doe");
+        dto.setEmail("john.doe@example.com");
+        StudentDTO createdStudent = studentService.createStudent(dto);
+
+        Response response = given()
+                .when()
+                .get("/{id}", createdStudent.getId())
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .response();
+        String etag = response.getHeader("ETag");
+        String lastModified = response.getHeader("Last-Modified");
+        assertNotNull(etag);
+        assertNotNull(lastModified);
+
+        String body = given()
+                .header("If-None-Match", etag)
+                .when()
+                .get("/{id}", createdStudent.getId())
+                .then()
+                .statusCode(HttpStatus.NOT_MODIFIED.value())
+                .extract()
+                .asString();
+        assertTrue(body.isEmpty());
+
+        given()
+                .header("If-Modified-Since", lastModified)
+                .when()
+                .get("/{id}", createdStudent.getId())
+                .then()
+                .statusCode(HttpStatus.NOT_MODIFIED.value());
+
+        UpdateStudentDTO updateDto = new UpdateStudentDTO();
+        updateDto.setFirstName("Johnny");
+        studentService.updateStudent(createdStudent.getId(), updateDto);
+
+        String newEtag = given()
+                .header("If-None-Match", etag)
+                .when()
+                .get("/{id}", createdStudent.getId())
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("firstName", equalTo("Johnny"))
+                .extract()
+                .header("ETag");
+        assertNotEquals(etag, newEtag);
+    }
+
+    /**
+     * Tests retrieval of the courses a student is enrolled in.
+     * Verifies:
+     * - Only the student's courses are returned, ordered by name, with their descriptions
+     * - With includeDescription=false the description is left out of the response
+     * - A student without enrollments gets an empty list and an unknown student 404
+     */
+    @Test
+    void getStudentCourses_shouldReturnEnrolledCourses() {
+        CreateStudentDTO studentDto = new CreateStudentDTO();
+        studentDto.setFirstName("John");
+        studentDto.setLastName("Doe");
+        studentDto.setEmail("john.doe@example.com");
+        StudentDTO student = studentService.createStudent(studentDto);
+
+        CreateStudentDTO idleDto = new CreateStudentDTO();
+        idleDto.setFirstName("Jane");
+        idleDto.setLastName("Doe");
+        idleDto.setEmail("jane.doe@example.com");
+        StudentDTO idleStudent = studentService.createStudent(idleDto);
+
+        for (String name : List.of("Physics", "Algebra", "Chemistry")) {
+            CreateCourseDTO courseDto = new CreateCourseDTO();
+            courseDto.setName(name);
+            courseDto.setDescription(name + " Description");
+            CourseDTO course = courseService.createCourse(courseDto);
+            if (!name.equals("Chemistry")) {
+                studentService.enrollStudentInCourse(student.getId(), course.getId());
+            }
+        }
+
+        List<CourseDTO> courses = given()
+                .when()
+                .get("/{id}/courses", student.getId())
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract()
+                .body()
+                .jsonPath()
+                .getList(".", CourseDTO.class);
+        assertEquals(List.of("Algebra", "Physics"), courses.stream().map(CourseDTO::getName).toList());
+        assertEquals("Algebra Description", courses.get(0).getDescription());
+
+        String summaries = given()
+                .queryParam("includeDescription", false)
+                .when()
+                .get("/{id}/courses", student.getId())
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("name", contains("Algebra", "Physics"))
+                .extract()
+                .asString();
+        assertFalse(summaries.contains("description"));
+
+        given()
+                .when()
+                .get("/{id}/courses", idleStudent.getId())
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("size()", equalTo(0));
+
+        given()
+                .when()
+                .get("/{id}/courses", 999L)
+                .then()
+                .statusCode(HttpStatus.NOT_FOUND.value());
+    }
+
+    /**
+     * Tests the SQL statement budget of student reads.
+     * Verifies:
+     * - A schedule of ten courses is read with at most 2 statements, none repeated (no N+1)
+     * - A single student is read with 1 statement, and a page of students with 1 statement
+     */
+    @Test
+    void getStudentReads_shouldStayWithinStatementBudget() throws InterruptedException {
+        CreateStudentDTO studentDto = new CreateStudentDTO();
+        studentDto.setFirstName("John");
+        studentDto.setLastName("Doe");
+        studentDto.setEmail("john.doe@example.com");
+        StudentDTO student = studentService.createStudent(studentDto);
+        for (int i = 0; i < 10; i++) {
+            CreateCourseDTO courseDto = new CreateCourseDTO();
+            courseDto.setName("Course " + i);
+            courseDto.setDescription("Course Description " + i);
+            studentService.enrollStudentInCourse(student.getId(), courseService.createCourse(courseDto).getId());
+        }
+
+        try (SqlStatementAccounting.Capture capture = sqlStatementAccounting.capture()) {
+            given().when().get("/{id}/courses", student.getId())
+                    .then().statusCode(HttpStatus.OK.value()).body("size()", equalTo(10));
+            given().when().get("/{id}", student.getId()).then().statusCode(HttpStatus.OK.value());
+            given().when().get().then().statusCode(HttpStatus.OK.value());
+
+            RequestSqlStatistics schedule = capture.await("GET /api/v1/students/{id}/courses", Duration.ofSeconds(5));
+            assertTrue(schedule.getStatements() <= 2, schedule.toString());
+            assertEquals(1, schedule.getMaxRepeats());
+            assertEquals(1, capture.await("GET /api/v1/students/{id}", Duration.ofSeconds(5)).getStatements());
+            assertEquals(1, capture.await("GET /api/v1/students", Duration.ofSeconds(5)).getStatements());
+        }
+    }
+
+    /**
+     * Tests that the enrolled count of a course follows enrollments and is reconciled.
+     * Verifies:
+     * - Single and bulk enrollments increment the count
+     * - Unenrolling and deleting a student decrement it, unenrolling twice gives 404
+     * - The reconciliation job fixes a drifted count and reports it
+     */
+    @Test
+    void enrolledCount_shouldFollowEnrollmentsAndBeReconciled() {
+        CreateCourseDTO courseDto = new CreateCourseDTO();
+        courseDto.setName("Counted Course");
+        courseDto.setDescription("Counted Description");
+        CourseDTO course = courseService.createCourse(courseDto);
+
+        List<Long> studentIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            CreateStudentDTO studentDto = new CreateStudentDTO();
+            studentDto.setFirstName("Student");
+            studentDto.setLastName("Number" + i);
+            studentDto.setEmail("counted" + i + "@example.com");
+            studentIds.add(studentService.createStudent(studentDto).getId());
+        }
+
+        given()
+                .when()
+                .post("/{studentId}/courses/{courseId}", studentIds.get(0), course.getId())
+                .then()
+                .statusCode(HttpStatus.OK.value());
+        given()
+                .contentType(ContentType.JSON)
+                .body(List.of(
+                        new EnrollmentRequestDTO(studentIds.get(1), course.getId()),
+                        new EnrollmentRequestDTO(studentIds.get(2), course.getId())))
+                .when()
+                .post("/enrollments/bulk")
+                .then()
+                .statusCode(HttpStatus.OK.value());
+        assertEquals(3L, courseService.findCourseById(course.getId()).getEnrolledCount());
+
+        given()
+                .when()
+                .delete("/{studentId}/courses/{courseId}", studentIds.get(0), course.getId())
+                .then()
+                .statusCode(HttpStatus.NO_CONTENT.value());
+        given()
+                .when()
+                .delete("/{studentId}/courses/{courseId}", studentIds.get(0), course.getId())
+                .then()
+                .statusCode(HttpStatus.NOT_FOUND.value());
+        assertEquals(2L, courseService.findCourseById(course.getId()).getEnrolledCount());
+
+        given()
+                .when()
+                .delete("/{id}", studentIds.get(1))
+                .then()
+                .statusCode(HttpStatus.NO_CONTENT.value());
+        assertEquals(1L, courseService.findCourseById(course.getId()).getEnrolledCount());
+
+        // Simulate drift left by a write made outside the application
+        assertEquals(5, enrollmentCounter.takeSeats(course.getId(), 5));
+        assertEquals(1, enrollmentCounter.reconcile());
+        assertEquals(1L, courseService.findCourseById(course.getId()).getEnrolledCount());
+        assertEquals(0, enrollmentCounter.reconcile());
+    }
+
+    /**
+     * Tests enrollment in a course with limited seats.
+     * Verifies:
+     * - Enrollments beyond the capacity get 409 Conflict, bulk ones are rejected as COURSE_FULL
+     * - The capacity cannot be lowered below the number of enrolled students
+     * - Raising the capacity frees seats for new enrollments
+     */
+    @Test
+    void enrollStudentInCourse_whenCourseIsFull_shouldReturn409() {
+        CreateCourseDTO courseDto = new CreateCourseDTO();
+        courseDto.setName("Small Course");
+        courseDto.setDescription("Small Description");
+        courseDto.setCapacity(2);
+        CourseDTO course = courseService.createCourse(courseDto);
+
+        List<Long> studentIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            CreateStudentDTO studentDto = new CreateStudentDTO();
+            studentDto.setFirstName("Student");
+            studentDto.setLastName("Number" + i);
+            studentDto.setEmail("seated" + i + "@example.com");
+            studentIds.add(studentService.createStudent(studentDto).getId());
+        }
+
+        given()
+                .when()
+                .post("/{studentId}/courses/{courseId}", studentIds.get(0), course.getId())
+                .then()
+                .statusCode(HttpStatus.OK.value());
+        BulkResultDTO result = given()
+                .contentType(ContentType.JSON)
+                .body(List.of(
+                        new EnrollmentRequestDTO(studentIds.get(1), course.getId()),
+                        new EnrollmentRequestDTO(studentIds.get(2), course.getId())))
+                .when()
+                .post("/enrollments/bulk")
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .extract().as(BulkResultDTO.class);
+        assertEquals(1, result.getCreated());
+        assertEquals(BulkItemResultDTO.Status.COURSE_FULL, result.getItems().get(1).getStatus());
+        given()
+                .when()
+                .post("/{studentId}/courses/{courseId}", studentIds.get(2), course.getId())
+                .then()
+                .statusCode(HttpStatus.CONFLICT.value())
+                .body("message", equalTo("Course is full"));
+        assertEquals(2L, courseService.findCourseById(course.getId()).getEnrolledCount());
+
+        given()
+                .basePath("/api/v1/courses")
+                .contentType(ContentType.JSON)
+                .body("{\"capacity\": 1}")
+                .when()
+                .put("/{id}", course.getId())
+                .then()
+                .statusCode(HttpStatus.CONFLICT.value());
+        given()
+                .basePath("/api/v1/courses")
+                .contentType(ContentType.JSON)
+                .body("{\"capacity\": 3}")
+                .when()
+                .put("/{id}", course.getId())
+                .then()
+                .statusCode(HttpStatus.OK.value())
+                .body("capacity", equalTo(3));
+        given()
+                .when()
+                .post("/{studentId}/courses/{courseId}", studentIds.get(2), course.getId())
+                .then()
+                .statusCode(HttpStatus.OK.value());
+        assertEquals(3L, courseService.findCourseById(course.getId()).getEnrolledCount());
+    }
+
+    /**
+     * Tests that reconciling missing seats keeps the capacity of a striped course.
+     * Verifies:
+     * - The reconciliation job fixes a count lower than the enrollments
+     * - Afterwards only the seats left under the capacity can be taken
+     */
+    @Test
+    void reconcile_withMissingSeats_shouldNotOversubscribe() {
+        CreateCourseDTO courseDto = new CreateCourseDTO();
+        courseDto.setName("Drifted Course");
+        courseDto.setDescription("Drifted Description");
+        courseDto.setCapacity(16);
+        CourseDTO course = courseService.createCourse(courseDto);
+        enrollmentCounter.initialize(course.getId(), 16, 16);
+
+        List<Long> studentIds = new ArrayList<>();
+        for (int i = 0; i < 19; i++) {
+            CreateStudentDTO studentDto = new CreateStudentDTO();
+            studentDto.setFirstName("Student");
+            studentDto.setLastName("Number" + i);
+            studentDto.setEmail("drifted" + i + "@example.com");
+            studentIds.add(studentService.createStudent(studentDto).getId());
+        }
+        for (Long studentId : studentIds.subList(0, 3)) {
+            studentService.enrollStudentInCourse(studentId, course.getId());
+        }
+
+        // Simulate seats given back by a write made outside the application
+        enrollmentCounter.releaseSeats(List.of(course.getId(), course.getId(), course.getId()));
+        assertEquals(0L, courseService.findCourseById(course.getId()).getEnrolledCount());
+        assertEquals(1, enrollmentCounter.reconcile());
+        assertEquals(3L, courseService.findCourseById(course.getId()).getEnrolledCount());
+
+        int enrolled = 0;
+        for (Long studentId : studentIds.subList(3, studentIds.size())) {
+            int status = given()
+                    .when()
+                    .post("/{studentId}/courses/{courseId}", studentId, course.getId())
+                    .then()
+                    .extract()
+                    .statusCode();
+            if (status == HttpStatus.OK.value()) {
+                enrolled++;
+            } else {
+                assertEquals(HttpStatus.CONFLICT.value(), status);
+            }
+        }
+        assertEquals(13, enrolled);
+        assertEquals(16L, courseService.findCourseById(course.getId()).getEnrolledCount());
+        assertEquals(16L, studentCourseRepository.count());
+    }
+}
@@ -0,0 +1,315 @@
+package com.mindera.mindswap.education_manager.service;
+
+import com.mindera.mindswap.education_manager.dto.CourseDTO;
+import com.mindera.mindswap.education_manager.dto.CreateCourseDTO;
+import com.mindera.mindswap.education_manager.dto.CreateStudentDTO;
+import com.mindera.mindswap.education_manager.dto.StudentDTO;
+import com.mindera.mindswap.education_manager.repository.CourseRepository;
+import com.mindera.mindswap.education_manager.repository.EnrollmentIdempotencyKeyRepository;
+import com.mindera.mindswap.education_manager.repository.StudentCourseRepository;
+import com.mindera.mindswap.education_manager.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Concurrency stress tests for the single-statement enrollment path.
+ * 
+ * These tests fire the same enrollments from many threads at once and verify that:
+ * - Every (student, course) pair is enrolled exactly once
+ * - Losing requests get a clean 409 Conflict, never a 500
+ * - Requests sharing an Idempotency-Key all get the same enrollment back
+ * - A course with limited seats is never oversubscribed, whatever its striping
+ * - Bulk enrollments and bulk deletes in the same striped course do not deadlock
+ * 
+ * The throughput and latency of a hot course are measured by the
+ * SeatContentionBenchmark of the benchmarks module.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class EnrollmentConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int STUDENTS = 25;
+    private static final int HOT_COURSE_STUDENTS = 20;
+    private static final int HOT_COURSE_CAPACITY = 250;
+    private static final int BULK_SIZE = 50;
+    private static final int BULK_STRIPES = 24;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentCourseRepository studentCourseRepository;
+
+    @Autowired
+    private EnrollmentIdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private EnrollmentCounter enrollmentCounter;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    /**
+     * Cleans up the test environment after each test.
+     * Ensures database is clean for the next test by removing all test data.
+     */
+    @AfterEach
+    void tearDown() {
+        idempotencyKeyRepository.deleteAll();
+        studentCourseRepository.deleteAll();
+        studentRepository.deleteAll();
+        courseRepository.deleteAll();
+    }
+
+    /**
+     * Tests many threads racing to enroll the same students in the same course.
+     * Verifies:
+     * - Exactly one request per pair succeeds (200 OK)
+     * - Every other request gets 409 Conflict, and no request fails with another status
+     * - Exactly one enrollment row exists per pair
+     */
+    @Test
+    void enrollStudentInCourse_underContention_shouldEnrollEachPairOnce() throws Exception {
+        CourseDTO course = createCourse();
+        List<StudentDTO> students = createStudents();
+
+        Map<Integer, AtomicInteger> statuses = new ConcurrentHashMap<>();
+        runConcurrently(thread -> {
+            for (StudentDTO student : students) {
+                int status = enroll(student.getId(), course.getId(), null).statusCode();
+                statuses.computeIfAbsent(status, s -> new AtomicInteger()).incrementAndGet();
+            }
+        });
+
+        int requests = THREADS * STUDENTS;
+        assertEquals(Set.of(200, 409), statuses.keySet());
+        assertEquals(STUDENTS, statuses.get(200).get());
+        assertEquals(requests - STUDENTS, statuses.get(409).get());
+        assertEquals(STUDENTS, studentCourseRepository.count());
+    }
+
+    /**
+     * Tests many threads retrying the same enrollment with the same Idempotency-Key.
+     * Verifies:
+     * - Every request succeeds (200 OK)
+     * - All responses carry the same enrollment
+     * - Only one enrollment row is created
+     */
+    @Test
+    void enrollStudentInCourse_withSameIdempotencyKey_shouldReturnOriginalEnrollment() throws Exception {
+        CourseDTO course = createCourse();
+        StudentDTO student = createStudents().get(0);
+
+        Set<String> bodies = ConcurrentHashMap.newKeySet();
+        AtomicInteger failures = new AtomicInteger();
+        runConcurrently(thread -> {
+            HttpResponse<String> response = enroll(student.getId(), course.getId(), "retry-key");
+            if (response.statusCode() != 200) {
+                failures.incrementAndGet();
+            }
+            bodies.add(response.body());
+        });
+
+        assertEquals(0, failures.get());
+        assertEquals(1, bodies.size());
+        assertEquals(1, studentCourseRepository.count());
+    }
+
+    /**
+     * Tests many threads enrolling different students in one hot course with
+     * limited seats, first with all seats in a single row, then split over stripes.
+     * Verifies, for both layouts:
+     * - Exactly as many enrollments as seats succeed, the others get 409 Conflict
+     * - The enrolled count of the course equals its capacity
+     */
+    @Test
+    void enrollStudentInCourse_inHotCourse_shouldNeverOversubscribe() throws Exception {
+        CreateCourseDTO dto = new CreateCourseDTO();
+        dto.setName("Hot Course");
+        dto.setDescription("Hot Course Description");
+        dto.setCapacity(HOT_COURSE_CAPACITY);
+        CourseDTO course = courseService.createCourse(dto);
+        List<StudentDTO> students = createStudents(THREADS * HOT_COURSE_STUDENTS);
+
+        for (int stripes : new int[] {1, 16}) {
+            studentCourseRepository.deleteAll();
+            enrollmentCounter.initialize(course.getId(), HOT_COURSE_CAPACITY, stripes);
+
+            Map<Integer, AtomicInteger> statuses = new ConcurrentHashMap<>();
+            runConcurrently(thread -> {
+                for (int i = 0; i < HOT_COURSE_STUDENTS; i++) {
+                    StudentDTO student = students.get(thread * HOT_COURSE_STUDENTS + i);
+                    int status = enroll(student.getId(), course.getId(), null).statusCode();
+                    statuses.computeIfAbsent(status, s -> new AtomicInteger()).incrementAndGet();
+                }
+            });
+
+            assertEquals(Set.of(200, 409), statuses.keySet());
+            assertEquals(HOT_COURSE_CAPACITY, statuses.get(200).get());
+            assertEquals(HOT_COURSE_CAPACITY, studentCourseRepository.count());
+            assertEquals(HOT_COURSE_CAPACITY, courseService.findCourseById(course.getId()).getEnrolledCount());
+        }
+    }
+
+    /**
+     * Tests many threads enrolling and deleting students in bulk in the same course,
+     * its seats split over stripes and each request taking or giving back the seats
+     * of several stripes. The course is first filled by concurrent bulk enrollments,
+     * then half of the threads delete their students while the other half enroll new
+     * ones, taking the seats being given back.
+     * Verifies:
+     * - Every bulk enrollment and bulk delete succeeds (200 OK), none fails on a deadlock
+     * - The enrolled count of the course matches its enrollments and never exceeds its capacity
+     */
+    @Test
+    void bulkEnrollmentsAndDeletes_inSameStripedCourse_shouldNotDeadlock() throws Exception {
+        int capacity = THREADS * BULK_SIZE;
+        CreateCourseDTO dto = new CreateCourseDTO();
+        dto.setName("Bulk Course");
+        dto.setDescription("Bulk Course Description");
+        dto.setCapacity(capacity);
+        CourseDTO course = courseService.createCourse(dto);
+        enrollmentCounter.initialize(course.getId(), capacity, BULK_STRIPES);
+        List<StudentDTO> students = createStudents(2 * capacity);
+
+        Map<Integer, AtomicInteger> statuses = new ConcurrentHashMap<>();
+        runConcurrently(thread -> {
+            int status = bulkEnroll(bulkOf(students, thread), course.getId()).statusCode();
+            statuses.computeIfAbsent(status, s -> new AtomicInteger()).incrementAndGet();
+        });
+
+        assertEquals(Set.of(200), statuses.keySet());
+        assertEquals(capacity, courseService.findCourseById(course.getId()).getEnrolledCount());
+
+        statuses.clear();
+        runConcurrently(thread -> {
+            List<StudentDTO> bulk = bulkOf(students, thread % 2 == 0 ? thread : THREADS + thread);
+            int status = thread % 2 == 0
+                    ? send("DELETE", "/api/v1/students/bulk",
+                            bulk.stream().map(student -> student.getId().toString()).toList()).statusCode()
+                    : bulkEnroll(bulk, course.getId()).statusCode();
+            statuses.computeIfAbsent(status, s -> new AtomicInteger()).incrementAndGet();
+        });
+
+        assertEquals(Set.of(200), statuses.keySet());
+        long enrolled = courseService.findCourseById(course.getId()).getEnrolledCount();
+        assertEquals(studentCourseRepository.count(), enrolled);
+        assertTrue(enrolled <= capacity);
+    }
+
+    /**
+     * Returns the students of the given bulk request.
+     */
+    private static List<StudentDTO> bulkOf(List<StudentDTO> students, int bulk) {
+        return students.subList(bulk * BULK_SIZE, (bulk + 1) * BULK_SIZE);
+    }
+
+    private HttpResponse<String> bulkEnroll(List<StudentDTO> students, Long courseId) throws Exception {
+        List<String> pairs = students.stream()
+                .map(student -> "{\"studentId\":" + student.getId() + ",\"courseId\":" + courseId + "}")
+                .toList();
+        return send("POST", "/api/v1/students/enrollments/bulk", pairs);
+    }
+
+    private CourseDTO createCourse() {
+        CreateCourseDTO dto = new CreateCourseDTO();
+        dto.setName("Contended Course");
+        dto.setDescription("Contended Course Description");
+        return courseService.createCourse(dto);
+    }
+
+    private List<StudentDTO> createStudents() {
+        return createStudents(STUDENTS);
+    }
+
+    private List<StudentDTO> createStudents(int count) {
+        List<StudentDTO> students = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            CreateStudentDTO dto = new CreateStudentDTO();
+            dto.setFirstName("Student" + i);
+            dto.setLastName("Contended");
+            dto.setEmail("contended" + i + "@example.com");
+            students.add(studentService.createStudent(dto));
+        }
+        return students;
+    }
+
+    private HttpResponse<String> enroll(Long studentId, Long courseId, String idempotencyKey) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(
+                        "http://localhost:" + port + "/api/v1/students/" + studentId + "/courses/" + courseId))
+                .POST(HttpRequest.BodyPublishers.noBody());
+        if (idempotencyKey != null) {
+            request.header("Idempotency-Key", idempotencyKey);
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> send(String method, String path, List<String> items) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString("[" + String.join(",", items) + "]"))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Runs the task on THREADS threads released at the same time and waits for all of them.
+     */
+    private void runConcurrently(ThrowingTask task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run(thread);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThrowingTask {
+        void run(int thread) throws Exception;
+    }
+}